@@ -1,6 +1,7 @@
 package fibonacciHeap;
 
 import fibonacciHeap.controller.Controller;
+import fibonacciHeap.model.algorithms.HeapEngine;
 import fibonacciHeap.model.algorithms.Model;
 import fibonacciHeap.view.View;
 
@@ -11,8 +12,16 @@ import fibonacciHeap.view.View;
  */
 public class Main {
 
+	/**
+	 * Starts the application
+	 * @param args optional heap engine name (fibonacci, pairing, rank_pairing, dary or radix)
+	 */
 	public static void main(String[] args) {
-		new Controller(new Model(), new View());
+		HeapEngine engine = HeapEngine.FIBONACCI;
+		if (args.length > 0) {
+			engine = HeapEngine.valueOf(args[0].toUpperCase());
+		}
+		new Controller(new Model(engine.create()), new View());
 		
 	}
 }
@@ -1,15 +1,26 @@
 package fibonacciHeap;
 
+import java.io.BufferedWriter;
+import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 
+import fibonacciHeap.benchmark.LatencyHistogram;
 import fibonacciHeap.model.algorithms.FibonacciHeap;
 import fibonacciHeap.model.algorithms.FibonacciHeap.FibonacciNode;
 
 /**
  * Generador de archivos .dat para grficas
  * 
+ * <p>
+ * Con el argumento latency [N] se ejecuta el modo de latencias: cada operacin
+ * se mide por separado en un histograma, se muestran los percentiles p50, p99,
+ * p99.9 y el mximo de cada tipo de operacin y se escribe su distribucin en
+ * Files/insertLatencyN.dat, Files/removeminLatencyN.dat y
+ * Files/decreaseKeyLatencyN.dat
+ * </p>
+ * 
  * @author Javier Corts Tejada
  *
  */
@@ -17,7 +28,16 @@ public class Plots {
 
 	public static final int N = 100000;
 
+	/**
+	 * Carpeta de los archivos de latencias
+	 */
+	public static final String FILES = "Files";
+
 	public static void main(String[] args) {
+		if (args.length > 0 && args[0].equals("latency")) {
+			Plots.latencyPlots(args.length > 1 ? Integer.parseInt(args[1]) : N);
+			return;
+		}
 		Plots.insertPlot();
 		Plots.removeMinPlot();
 		Plots.decresaseKeyPlot();
@@ -88,4 +108,91 @@ public class Plots {
 		}
 	}
 
+	/**
+	 * Mide la latencia de cada operacin sobre un montculo de n elementos.
+	 * Las claves y los nodos se crean antes de medir y los resultados se
+	 * escriben al terminar, de modo que ni la generacin de claves ni la
+	 * escritura en disco afectan a las medidas
+	 * 
+	 * @param n
+	 *            nmero de elementos
+	 */
+	private static void latencyPlots(int n) {
+		LatencyHistogram insert = new LatencyHistogram();
+		LatencyHistogram removeMin = new LatencyHistogram();
+		LatencyHistogram decreaseKey = new LatencyHistogram();
+
+		/*
+		 * La primera pasada sirve de calentamiento y se descarta
+		 */
+		recordLatencies(n, insert, removeMin, decreaseKey);
+		insert.reset();
+		removeMin.reset();
+		decreaseKey.reset();
+		recordLatencies(n, insert, removeMin, decreaseKey);
+
+		System.out.println("insert      " + insert);
+		System.out.println("removeMin   " + removeMin);
+		System.out.println("decreaseKey " + decreaseKey);
+		try {
+			new File(FILES).mkdirs();
+			writeLatencies(insert, FILES + "/insertLatency" + n + ".dat");
+			writeLatencies(removeMin, FILES + "/removeminLatency" + n + ".dat");
+			writeLatencies(decreaseKey, FILES + "/decreaseKeyLatency" + n + ".dat");
+		} catch (IOException e1) {
+			e1.printStackTrace();
+		}
+	}
+
+	private static void recordLatencies(int n, LatencyHistogram insert, LatencyHistogram removeMin,
+			LatencyHistogram decreaseKey) {
+		FibonacciNode[] nodes = new FibonacciNode[n];
+		for (int i = 0; i < n; i++) {
+			nodes[i] = new FibonacciNode((int) (Math.random() * (2 * n)));
+		}
+		long xs, ys;
+
+		FibonacciHeap heap = new FibonacciHeap();
+		for (int i = 0; i < n; i++) {
+			xs = System.nanoTime();
+			heap.insert(nodes[i]);
+			ys = System.nanoTime();
+			insert.record(ys - xs);
+		}
+
+		/*
+		 * Extraemos un mnimo para que decreaseKey trabaje sobre rboles y no
+		 * solo sobre la lista de raices. Esta extraccin consolida las n raices,
+		 * el pico que se quiere ver, as que tambin se mide
+		 */
+		xs = System.nanoTime();
+		FibonacciNode removed = heap.removeMin();
+		ys = System.nanoTime();
+		removeMin.record(ys - xs);
+		for (int i = 0; i < n; i++) {
+			if (nodes[i] != removed) {
+				xs = System.nanoTime();
+				heap.decreaseKey(nodes[i], nodes[i].getKey() - 2 * n);
+				ys = System.nanoTime();
+				decreaseKey.record(ys - xs);
+			}
+		}
+
+		while (!heap.isEmpty()) {
+			xs = System.nanoTime();
+			heap.removeMin();
+			ys = System.nanoTime();
+			removeMin.record(ys - xs);
+		}
+	}
+
+	private static void writeLatencies(LatencyHistogram histogram, String file) throws IOException {
+		BufferedWriter fichero = new BufferedWriter(new FileWriter(file));
+		try {
+			histogram.writePercentiles(fichero);
+		} finally {
+			fichero.close();
+		}
+	}
+
 }
@@ -0,0 +1,145 @@
+package fibonacciHeap.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import fibonacciHeap.model.algorithms.FibonacciHeap;
+import fibonacciHeap.model.algorithms.FibonacciNodePool;
+
+/**
+ * Mide la memoria reservada por operacin de {@link FibonacciHeap} creando
+ * siempre nodos nuevos y reutilizndolos con {@link FibonacciNodePool}. Cada
+ * hilo trabaja con varios montculos de n claves y en cada ronda extrae una
+ * rfaga de mnimos de uno de ellos e inserta el mismo nmero de claves, de
+ * modo que el tamao se mantiene constante
+ *
+ * <p>
+ * Modos: none crea nodos nuevos, pool usa una reserva por montculo y local
+ * la reserva de cada hilo, compartida por todos sus montculos
+ * </p>
+ *
+ * <p>
+ * Uso: AllocationBenchmark [N [montculos [hilos]]]
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class AllocationBenchmark {
+
+	/**
+	 * Claves extradas e insertadas por ronda
+	 */
+	private static final int BURST = 256;
+
+	/**
+	 * Rondas de cada medida por hilo
+	 */
+	private static final int ROUNDS = 20000;
+
+	/**
+	 * Repeticiones de calentamiento antes de medir
+	 */
+	private static final int WARMUP = 2;
+
+	public static void main(String[] args) throws Exception {
+		int n = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+		int heaps = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+		int threads = (args.length > 2) ? Integer.parseInt(args[2]) : 1;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			System.out.println("mode   heaps  threads  ops/s        B/op");
+			for (String mode : new String[] { "none", "pool", "local" }) {
+				for (int i = 0; i < WARMUP; i++) {
+					measure(executor, mode, n, heaps, threads);
+				}
+				long[] result = measure(executor, mode, n, heaps, threads);
+				long ops = 2L * BURST * ROUNDS * threads;
+				System.out.println(String.format("%-6s %-6d %-8d %-12.0f %.2f", mode, heaps, threads,
+						Measurements.opsPerSecond(ops, result[0]), (double) result[1] / ops));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Ejecuta una medida en todos los hilos a la vez
+	 *
+	 * @return tiempo del hilo ms lento en nanosegundos y memoria reservada
+	 *         por todos los hilos en bytes
+	 */
+	private static long[] measure(ExecutorService executor, final String mode, final int n, final int heaps,
+			int threads) throws Exception {
+		Future<?>[] futures = new Future<?>[threads];
+		for (int t = 0; t < threads; t++) {
+			final long seed = t;
+			futures[t] = executor.submit(new Callable<long[]>() {
+				@Override
+				public long[] call() {
+					return run(mode, n, heaps, seed);
+				}
+			});
+		}
+		long[] total = new long[2];
+		for (Future<?> future : futures) {
+			long[] result = (long[]) future.get();
+			total[0] = Math.max(total[0], result[0]);
+			total[1] += result[1];
+		}
+		return total;
+	}
+
+	/**
+	 * Llena los montculos y mide las rondas de extraccin e insercin en el
+	 * hilo actual
+	 *
+	 * @param mode
+	 *            none, pool o local
+	 * @param n
+	 *            claves de cada montculo
+	 * @param heaps
+	 *            nmero de montculos
+	 * @param seed
+	 *            semilla de las claves
+	 * @return nanosegundos empleados y bytes reservados por el hilo
+	 */
+	private static long[] run(String mode, int n, int heaps, long seed) {
+		Random random = new Random(seed);
+		FibonacciHeap[] all = new FibonacciHeap[heaps];
+		for (int h = 0; h < heaps; h++) {
+			all[h] = new FibonacciHeap();
+			if (mode.equals("pool")) {
+				all[h].setNodePool(new FibonacciNodePool(BURST));
+			} else if (mode.equals("local")) {
+				all[h].setNodePool(FibonacciNodePool.local());
+			}
+			for (int i = 0; i < n; i++) {
+				all[h].insert(random.nextInt(n));
+			}
+			all[h].removeMin();
+		}
+		long thread = Thread.currentThread().getId();
+		long sum = 0;
+		long bytes = Measurements.allocatedBytes(thread);
+		long start = System.nanoTime();
+		for (int round = 0; round < ROUNDS; round++) {
+			FibonacciHeap heap = all[round % heaps];
+			int last = 0;
+			for (int i = 0; i < BURST; i++) {
+				last = heap.removeMin().getKey();
+			}
+			for (int i = 0; i < BURST; i++) {
+				heap.insert(last + random.nextInt(n));
+			}
+			sum += last;
+		}
+		long nanos = System.nanoTime() - start;
+		bytes = Measurements.allocatedBytes(thread) - bytes;
+		Measurements.sink += sum;
+		return new long[] { nanos, bytes };
+	}
+}
@@ -0,0 +1,96 @@
+package fibonacciHeap.benchmark;
+
+import java.util.Arrays;
+
+import fibonacciHeap.model.algorithms.FibonacciHeap;
+
+/**
+ * Compara la extraccin de lotes de k mnimos con k llamadas a removeMin y con
+ * una llamada a drainTo. En cada ronda se insertan k claves nuevas en un
+ * montculo con n claves y se extraen k, como al repartir trabajos por lotes
+ *
+ * <p>
+ * Uso: BatchRemoveMinBenchmark [N [k...]]
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class BatchRemoveMinBenchmark {
+
+	/**
+	 * Tamaos de lote por defecto
+	 */
+	public static final int[] BATCHES = { 1, 16, 256, 4096 };
+
+	/**
+	 * Claves extradas en cada medida
+	 */
+	private static final int EXTRACTED = 2000000;
+
+	/**
+	 * Repeticiones de calentamiento antes de medir
+	 */
+	private static final int WARMUP = 2;
+
+	public static void main(String[] args) {
+		int n = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+		int[] batches = BATCHES;
+		if (args.length > 1) {
+			batches = new int[args.length - 1];
+			for (int i = 1; i < args.length; i++) {
+				batches[i - 1] = Integer.parseInt(args[i]);
+			}
+		}
+		int[] keys = IndexedHeapBenchmark.randomKeys(n + EXTRACTED, 42);
+		System.out.println("N          k      removeMin(ns/elem)  drainTo(ns/elem)");
+		for (int k : batches) {
+			for (int i = 0; i < WARMUP; i++) {
+				run(keys, n, k, false);
+				run(keys, n, k, true);
+			}
+			long single = run(keys, n, k, false);
+			long batch = run(keys, n, k, true);
+			System.out.println(String.format("%-10d %-6d %-19.1f %.1f", n, k, (double) single / EXTRACTED,
+					(double) batch / EXTRACTED));
+		}
+	}
+
+	/**
+	 * Llena un montculo con n claves y mide las rondas de insercin y
+	 * extraccin de k claves
+	 *
+	 * @param keys
+	 *            claves, las n primeras forman el montculo inicial
+	 * @param n
+	 *            tamao del montculo
+	 * @param k
+	 *            tamao de lote
+	 * @param drain
+	 *            true para extraer con drainTo, false con removeMin
+	 * @return nanosegundos empleados
+	 */
+	private static long run(int[] keys, int n, int k, boolean drain) {
+		FibonacciHeap heap = FibonacciHeap.build(Arrays.copyOf(keys, n));
+		heap.removeMin();
+		int[] out = new int[k];
+		long sum = 0;
+		long start = System.nanoTime();
+		for (int next = n; next + k <= keys.length; next += k) {
+			for (int i = next; i < next + k; i++) {
+				heap.insert(keys[i]);
+			}
+			if (drain) {
+				heap.drainTo(out, k);
+				sum += out[k - 1];
+			} else {
+				for (int i = 0; i < k; i++) {
+					sum += heap.removeMin().getKey();
+				}
+			}
+		}
+		long nanos = System.nanoTime() - start;
+		Measurements.sink += sum;
+		return nanos;
+	}
+}
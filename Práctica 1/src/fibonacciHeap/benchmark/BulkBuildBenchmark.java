@@ -0,0 +1,80 @@
+package fibonacciHeap.benchmark;
+
+import java.util.concurrent.ForkJoinPool;
+
+import fibonacciHeap.model.algorithms.FibonacciHeap;
+import fibonacciHeap.model.algorithms.FibonacciHeap.FibonacciNode;
+
+/**
+ * Compara la carga de claves mediante inserciones sucesivas con la
+ * construccin paralela de {@link FibonacciHeap#build(int[], FibonacciNode[])}
+ *
+ * <p>
+ * Uso: BulkBuildBenchmark [N...]
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class BulkBuildBenchmark {
+
+	/**
+	 * Tamaos por defecto
+	 */
+	public static final int[] SIZES = { 1000000, 10000000, 30000000 };
+
+	/**
+	 * Repeticiones de calentamiento antes de medir
+	 */
+	private static final int WARMUP = 3;
+
+	public static void main(String[] args) {
+		int[] sizes = SIZES;
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				sizes[i] = Integer.parseInt(args[i]);
+			}
+		}
+		System.out.println("parallelism = " + ForkJoinPool.getCommonPoolParallelism());
+		System.out.println("N          insert(ms)  build(ms)  speedup");
+		for (int n : sizes) {
+			int[] keys = IndexedHeapBenchmark.randomKeys(n, 42);
+			FibonacciNode[] nodes = new FibonacciNode[n];
+			for (int i = 0; i < WARMUP; i++) {
+				sequential(keys, nodes);
+				parallel(keys, nodes);
+			}
+			long sequential = sequential(keys, nodes);
+			long parallel = parallel(keys, nodes);
+			System.out.println(String.format("%-10d %-11.1f %-10.1f %.2f", n, sequential / 1e6, parallel / 1e6,
+					(double) sequential / parallel));
+		}
+	}
+
+	private static long sequential(int[] keys, FibonacciNode[] nodes) {
+		long start = System.nanoTime();
+		FibonacciHeap heap = new FibonacciHeap();
+		for (int i = 0; i < keys.length; i++) {
+			nodes[i] = new FibonacciNode(keys[i]);
+			heap.insert(nodes[i]);
+		}
+		long nanos = System.nanoTime() - start;
+		check(heap, keys.length);
+		return nanos;
+	}
+
+	private static long parallel(int[] keys, FibonacciNode[] nodes) {
+		long start = System.nanoTime();
+		FibonacciHeap heap = FibonacciHeap.build(keys, nodes);
+		long nanos = System.nanoTime() - start;
+		check(heap, keys.length);
+		return nanos;
+	}
+
+	private static void check(FibonacciHeap heap, int n) {
+		if (heap.size() != n) {
+			throw new IllegalStateException("Expected " + n + " nodes but found " + heap.size());
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package fibonacciHeap.benchmark;
+
+import java.util.Random;
+
+import fibonacciHeap.model.algorithms.FibonacciHeap;
+import fibonacciHeap.model.algorithms.FibonacciHeap.FibonacciNode;
+
+/**
+ * Carga de trabajo con muchas cancelaciones y cambios de prioridad. Compara la
+ * cancelacin con delete frente a decrecer la clave a un centinela y extraer
+ * el mnimo, y mide increaseKey
+ *
+ * <p>
+ * Uso: CancellationBenchmark [N...]
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class CancellationBenchmark {
+
+	/**
+	 * Tamaos por defecto
+	 */
+	public static final int[] SIZES = { 10000, 100000, 1000000 };
+
+	/**
+	 * Repeticiones de calentamiento antes de medir
+	 */
+	private static final int WARMUP = 3;
+
+	public static void main(String[] args) {
+		int[] sizes = SIZES;
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				sizes[i] = Integer.parseInt(args[i]);
+			}
+		}
+		System.out.println("N          delete(ops/s)  sentinel(ops/s)  increaseKey(ops/s)");
+		for (int n : sizes) {
+			int[] keys = IndexedHeapBenchmark.randomKeys(n, 42);
+			int[] order = permutation(n, 7);
+			for (int i = 0; i < WARMUP; i++) {
+				cancelWithDelete(keys, order);
+				cancelWithSentinel(keys, order);
+				reprioritize(keys, order);
+			}
+			System.out.println(String.format("%-10d %-14.0f %-16.0f %.0f", n,
+					IndexedHeapBenchmark.opsPerSecond(n / 2, cancelWithDelete(keys, order)),
+					IndexedHeapBenchmark.opsPerSecond(n / 2, cancelWithSentinel(keys, order)),
+					IndexedHeapBenchmark.opsPerSecond(n / 2, reprioritize(keys, order))));
+		}
+	}
+
+	/**
+	 * Permutacin aleatoria de [0, n)
+	 *
+	 * @param n
+	 *            tamao de la permutacin
+	 * @param seed
+	 *            semilla del generador
+	 * @return permutacin
+	 */
+	private static int[] permutation(int n, long seed) {
+		Random random = new Random(seed);
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		for (int i = n - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			int aux = order[i];
+			order[i] = order[j];
+			order[j] = aux;
+		}
+		return order;
+	}
+
+	/**
+	 * Crea un montculo con todas las claves y extrae una vez el mnimo para
+	 * que los nodos formen rboles
+	 */
+	private static FibonacciHeap prepare(int[] keys, FibonacciNode[] nodes) {
+		FibonacciHeap heap = new FibonacciHeap();
+		for (int i = 0; i < keys.length; i++) {
+			nodes[i] = new FibonacciNode(keys[i]);
+			heap.insert(nodes[i]);
+		}
+		FibonacciNode removed = heap.removeMin();
+		for (int i = 0; i < nodes.length; i++) {
+			if (nodes[i] == removed) {
+				nodes[i] = null;
+			}
+		}
+		return heap;
+	}
+
+	private static long cancelWithDelete(int[] keys, int[] order) {
+		FibonacciNode[] nodes = new FibonacciNode[keys.length];
+		FibonacciHeap heap = prepare(keys, nodes);
+		long start = System.nanoTime();
+		for (int i = 0; i < order.length / 2; i++) {
+			FibonacciNode node = nodes[order[i]];
+			if (node != null) {
+				heap.delete(node);
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static long cancelWithSentinel(int[] keys, int[] order) {
+		FibonacciNode[] nodes = new FibonacciNode[keys.length];
+		FibonacciHeap heap = prepare(keys, nodes);
+		long start = System.nanoTime();
+		for (int i = 0; i < order.length / 2; i++) {
+			FibonacciNode node = nodes[order[i]];
+			if (node != null) {
+				heap.decreaseKey(node, Integer.MIN_VALUE);
+				heap.removeMin();
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static long reprioritize(int[] keys, int[] order) {
+		FibonacciNode[] nodes = new FibonacciNode[keys.length];
+		FibonacciHeap heap = prepare(keys, nodes);
+		long start = System.nanoTime();
+		for (int i = 0; i < order.length / 2; i++) {
+			FibonacciNode node = nodes[order[i]];
+			if (node != null) {
+				heap.increaseKey(node, node.getKey() + keys.length);
+			}
+		}
+		return System.nanoTime() - start;
+	}
+}
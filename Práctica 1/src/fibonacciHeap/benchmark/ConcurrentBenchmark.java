@@ -0,0 +1,185 @@
+package fibonacciHeap.benchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+import fibonacciHeap.model.algorithms.FibonacciHeap;
+import fibonacciHeap.model.algorithms.FibonacciMultiQueue;
+
+/**
+ * Compara {@link FibonacciMultiQueue} con una {@link PriorityBlockingQueue} y
+ * con un {@link FibonacciHeap} protegido por un nico cerrojo. Cada hilo
+ * alterna inserciones de claves al azar y extracciones del mnimo sobre una
+ * cola con n claves iniciales
+ *
+ * <p>
+ * Uso: ConcurrentBenchmark [N [hilos...]]
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class ConcurrentBenchmark {
+
+	/**
+	 * Nmero de hilos por defecto
+	 */
+	public static final int[] THREADS = { 1, 2, 4, 8 };
+
+	/**
+	 * Factores de relajacin medidos
+	 */
+	private static final int[] RELAXATIONS = { 2, 4 };
+
+	/**
+	 * Operaciones de cada hilo por medida
+	 */
+	private static final int OPS = 2000000;
+
+	/**
+	 * Repeticiones de calentamiento antes de medir
+	 */
+	private static final int WARMUP = 2;
+
+	public static void main(String[] args) throws InterruptedException {
+		int n = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+		int[] threads = THREADS;
+		if (args.length > 1) {
+			threads = new int[args.length - 1];
+			for (int i = 1; i < args.length; i++) {
+				threads[i - 1] = Integer.parseInt(args[i]);
+			}
+		}
+		System.out.println("queue          threads  ops/s");
+		for (int t : threads) {
+			for (int relaxation : RELAXATIONS) {
+				run("multiqueue-" + relaxation, new MultiQueueTarget(t, relaxation), n, t);
+			}
+			run("locked", new LockedTarget(), n, t);
+			run("blocking", new BlockingTarget(), n, t);
+		}
+	}
+
+	/**
+	 * Calienta y mide una cola
+	 *
+	 * @param name
+	 *            nombre de la cola
+	 * @param target
+	 *            cola a medir, que se vaca antes de cada medida
+	 * @param n
+	 *            claves iniciales
+	 * @param threads
+	 *            nmero de hilos
+	 */
+	private static void run(String name, Target target, int n, int threads) throws InterruptedException {
+		int[] keys = IndexedHeapBenchmark.randomKeys(n, 42);
+		for (int i = 0; i < WARMUP; i++) {
+			measure(target, keys, threads);
+		}
+		long nanos = measure(target, keys, threads);
+		System.out.println(String.format("%-14s %-8d %.0f", name, threads,
+				Measurements.opsPerSecond((long) OPS * threads, nanos)));
+	}
+
+	/**
+	 * Llena la cola y lanza todos los hilos a la vez
+	 *
+	 * @return nanosegundos hasta que termina el ltimo hilo
+	 */
+	private static long measure(final Target target, int[] keys, int threads) throws InterruptedException {
+		while (target.removeMin()) {
+		}
+		for (int key : keys) {
+			target.insert(key);
+		}
+		final int range = keys.length;
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch done = new CountDownLatch(threads);
+		for (int t = 0; t < threads; t++) {
+			new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					for (int i = 0; i < OPS; i += 2) {
+						target.insert(random.nextInt(range));
+						target.removeMin();
+					}
+					done.countDown();
+				}
+			}.start();
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+		done.await();
+		return System.nanoTime() - begin;
+	}
+
+	/**
+	 * Cola medida
+	 */
+	private static abstract class Target {
+
+		abstract void insert(int key);
+
+		/**
+		 * @return false si la cola estaba vaca
+		 */
+		abstract boolean removeMin();
+	}
+
+	private static class MultiQueueTarget extends Target {
+
+		private final FibonacciMultiQueue queue;
+
+		MultiQueueTarget(int threads, int relaxation) {
+			this.queue = new FibonacciMultiQueue(threads, relaxation);
+		}
+
+		@Override
+		void insert(int key) {
+			this.queue.insert(key);
+		}
+
+		@Override
+		boolean removeMin() {
+			return this.queue.removeMin() != null;
+		}
+	}
+
+	private static class LockedTarget extends Target {
+
+		private final FibonacciHeap heap = new FibonacciHeap();
+
+		@Override
+		synchronized void insert(int key) {
+			this.heap.insert(key);
+		}
+
+		@Override
+		synchronized boolean removeMin() {
+			return this.heap.removeMin() != null;
+		}
+	}
+
+	private static class BlockingTarget extends Target {
+
+		private final PriorityBlockingQueue<Integer> queue = new PriorityBlockingQueue<Integer>();
+
+		@Override
+		void insert(int key) {
+			this.queue.add(key);
+		}
+
+		@Override
+		boolean removeMin() {
+			return this.queue.poll() != null;
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package fibonacciHeap.benchmark;
+
+import java.util.Random;
+
+import fibonacciHeap.model.algorithms.FibonacciHeap;
+import fibonacciHeap.model.algorithms.FibonacciHeap.FibonacciNode;
+
+/**
+ * Mide la latencia de cada operacin con consolidacin de golpe y con trabajo
+ * acotado ({@link FibonacciHeap#setLinkBudget(int)}). Cada ronda inserta una
+ * rfaga de claves y despus mezcla extracciones del mnimo, decrementos de
+ * clave e inserciones, de modo que con consolidacin de golpe el primer
+ * removeMin de cada ronda, que se mide aparte como afterBurst, enlaza toda la
+ * rfaga
+ *
+ * <p>
+ * Uso: ConsolidationLatencyBenchmark [N [presupuesto...]], con N operaciones
+ * por ronda y presupuesto 0 para consolidar de golpe
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class ConsolidationLatencyBenchmark {
+
+	/**
+	 * Presupuestos de enlaces por defecto
+	 */
+	public static final int[] BUDGETS = { 0, 16, 64 };
+
+	/**
+	 * Rondas de cada medida
+	 */
+	private static final int ROUNDS = 20;
+
+	/**
+	 * Repeticiones de calentamiento antes de medir
+	 */
+	private static final int WARMUP = 2;
+
+	public static void main(String[] args) {
+		int n = (args.length > 0) ? Integer.parseInt(args[0]) : 200000;
+		int[] budgets = BUDGETS;
+		if (args.length > 1) {
+			budgets = new int[args.length - 1];
+			for (int i = 1; i < args.length; i++) {
+				budgets[i - 1] = Integer.parseInt(args[i]);
+			}
+		}
+		System.out.println("budget  ops/s       operation    latency (ns)");
+		System.out.println("# max is left out since it is dominated by garbage collection pauses");
+		for (int budget : budgets) {
+			LatencyHistogram[] latencies = { new LatencyHistogram(), new LatencyHistogram(), new LatencyHistogram(),
+					new LatencyHistogram() };
+			for (int i = 0; i < WARMUP; i++) {
+				run(n, budget, latencies);
+			}
+			for (LatencyHistogram histogram : latencies) {
+				histogram.reset();
+			}
+			long nanos = run(n, budget, latencies);
+			long ops = 0;
+			for (LatencyHistogram histogram : latencies) {
+				ops += histogram.getTotalCount();
+			}
+			String[] names = { "insert", "removeMin", "decreaseKey", "afterBurst" };
+			for (int op = 0; op < names.length; op++) {
+				LatencyHistogram histogram = latencies[op];
+				System.out.println(String.format("%-7d %-11.0f %-12s p50 = %d, p99.9 = %d, p99.99 = %d, p99.999 = %d",
+						budget, Measurements.opsPerSecond(ops, nanos), names[op],
+						histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99.9),
+						histogram.getValueAtPercentile(99.99), histogram.getValueAtPercentile(99.999)));
+			}
+		}
+	}
+
+	/**
+	 * Ejecuta todas las rondas registrando la latencia de cada operacin. Cada
+	 * nodo ocupa una posicin de un array y su clave es congruente con esa
+	 * posicin mdulo n, ya que los decrementos son mltiplos de n, de modo
+	 * que al extraerlo se sabe qu posicin liberar
+	 *
+	 * @param n
+	 *            operaciones por ronda
+	 * @param budget
+	 *            presupuesto de enlaces, 0 para consolidar de golpe
+	 * @param latencies
+	 *            histogramas de insert, removeMin, decreaseKey y del primer
+	 *            removeMin tras cada rfaga
+	 * @return nanosegundos empleados, incluida la medida de cada operacin
+	 */
+	private static long run(int n, int budget, LatencyHistogram[] latencies) {
+		Random random = new Random(42);
+		FibonacciHeap heap = new FibonacciHeap();
+		heap.setLinkBudget(budget);
+		FibonacciNode[] nodes = new FibonacciNode[n];
+		int values = Integer.MAX_VALUE / n / 2;
+		int next = 0;
+		long sum = 0;
+		long start = System.nanoTime();
+		for (int round = 0; round < ROUNDS; round++) {
+			for (int i = 0; i < n; i++) {
+				/*
+				 * La primera mitad de la ronda es una rfaga de inserciones
+				 */
+				int op = (i < n / 2) ? 0 : random.nextInt(3);
+				if (i == n / 2) {
+					long t = System.nanoTime();
+					FibonacciNode node = heap.removeMin();
+					latencies[3].record(System.nanoTime() - t);
+					sum += forget(nodes, node, n);
+				} else if (op == 2 && nodes[i % n] != null && nodes[i % n].getKey() > Integer.MIN_VALUE / 2) {
+					FibonacciNode node = nodes[i % n];
+					int key = node.getKey() - n * (1 + random.nextInt(8));
+					long t = System.nanoTime();
+					heap.decreaseKey(node, key);
+					latencies[2].record(System.nanoTime() - t);
+				} else if (op == 1 && !heap.isEmpty()) {
+					long t = System.nanoTime();
+					FibonacciNode node = heap.removeMin();
+					latencies[1].record(System.nanoTime() - t);
+					sum += forget(nodes, node, n);
+				} else {
+					int slot = next;
+					next = (next + 1) % n;
+					int key = random.nextInt(values) * n + slot;
+					long t = System.nanoTime();
+					nodes[slot] = heap.insert(key);
+					latencies[0].record(System.nanoTime() - t);
+				}
+			}
+			/*
+			 * Se vaca hasta un cuarto para que la siguiente rfaga sea la
+			 * que pese en la ronda siguiente
+			 */
+			while (heap.size() > n / 4) {
+				long t = System.nanoTime();
+				FibonacciNode node = heap.removeMin();
+				latencies[1].record(System.nanoTime() - t);
+				sum += forget(nodes, node, n);
+			}
+		}
+		long nanos = System.nanoTime() - start;
+		Measurements.sink += sum;
+		return nanos;
+	}
+
+	/**
+	 * Libera la posicin de un nodo extrado
+	 *
+	 * @return clave del nodo
+	 */
+	private static int forget(FibonacciNode[] nodes, FibonacciNode node, int n) {
+		int slot = Math.floorMod(node.getKey(), n);
+		if (nodes[slot] == node) {
+			nodes[slot] = null;
+		}
+		return node.getKey();
+	}
+}
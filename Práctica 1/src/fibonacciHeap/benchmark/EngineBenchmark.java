@@ -0,0 +1,78 @@
+package fibonacciHeap.benchmark;
+
+import fibonacciHeap.model.algorithms.AddressableHeap;
+import fibonacciHeap.model.algorithms.AddressableHeap.Handle;
+import fibonacciHeap.model.algorithms.HeapEngine;
+
+/**
+ * Compara las implementaciones de {@link AddressableHeap} con la misma carga de
+ * inserciones, decrementos de clave y extracciones del mnimo
+ *
+ * <p>
+ * Uso: EngineBenchmark [N...]
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class EngineBenchmark {
+
+	/**
+	 * Repeticiones de calentamiento antes de medir
+	 */
+	private static final int WARMUP = 3;
+
+	public static void main(String[] args) {
+		int[] sizes = IndexedHeapBenchmark.SIZES;
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				sizes[i] = Integer.parseInt(args[i]);
+			}
+		}
+		System.out.println("engine        N          insert(ops/s)  decreaseKey(ops/s)  removeMin(ops/s)");
+		for (int n : sizes) {
+			int[] keys = IndexedHeapBenchmark.randomKeys(n, 42);
+			for (HeapEngine engine : HeapEngine.values()) {
+				if (engine.isMonotone()) {
+					continue;
+				}
+				for (int i = 0; i < WARMUP; i++) {
+					run(engine, keys, false);
+				}
+				run(engine, keys, true);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static void run(HeapEngine engine, int[] keys, boolean print) {
+		int n = keys.length;
+		AddressableHeap<Handle> heap = (AddressableHeap<Handle>) engine.create();
+		Handle[] handles = new Handle[n];
+
+		long t0 = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			handles[i] = heap.insert(keys[i]);
+		}
+		long t1 = System.nanoTime();
+		Handle removed = heap.removeMin();
+		long t2 = System.nanoTime();
+		for (int i = 0; i < n; i += 2) {
+			if (handles[i] != removed) {
+				heap.decreaseKey(handles[i], handles[i].getKey() - n);
+			}
+		}
+		long t3 = System.nanoTime();
+		while (!heap.isEmpty()) {
+			heap.removeMin();
+		}
+		long t4 = System.nanoTime();
+
+		if (print) {
+			System.out.println(String.format("%-13s %-10d %-14.0f %-19.0f %.0f", engine.name().toLowerCase(), n,
+					IndexedHeapBenchmark.opsPerSecond(n, t1 - t0), IndexedHeapBenchmark.opsPerSecond(n / 2, t3 - t2),
+					IndexedHeapBenchmark.opsPerSecond(n - 1, t4 - t3)));
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package fibonacciHeap.benchmark;
+
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import fibonacciHeap.model.algorithms.AddressableHeap;
+import fibonacciHeap.model.algorithms.AddressableHeap.Handle;
+import fibonacciHeap.model.algorithms.HeapEngine;
+import fibonacciHeap.model.algorithms.IndexedFibonacciHeap;
+import fibonacciHeap.model.graph.Graph;
+import fibonacciHeap.model.graph.GraphAlgorithms;
+
+/**
+ * Mide el algoritmo de Dijkstra y el algoritmo de Prim con cada implementacin
+ * de montculo sobre un grafo ledo de un fichero o generado al azar, y
+ * comprueba que todas obtienen el mismo resultado
+ *
+ * <p>
+ * Uso: GraphBenchmark [fichero | -random N M] [-directed] [-source S]
+ * </p>
+ *
+ * <p>
+ * Por defecto se genera un grafo aleatorio no dirigido con un milln de
+ * vrtices y cuatro millones de aristas. Con -directed el grafo se carga
+ * dirigido y solo se mide Dijkstra. Los montculos montonos solo se usan con
+ * Dijkstra, porque Prim extrae pesos de aristas en cualquier orden
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class GraphBenchmark {
+
+	/**
+	 * Repeticiones de calentamiento antes de medir
+	 */
+	private static final int WARMUP = 2;
+
+	/**
+	 * Peso mximo de las aristas de los grafos aleatorios
+	 */
+	private static final int MAX_WEIGHT = 1000;
+
+	public static void main(String[] args) throws Exception {
+		String file = null;
+		int vertices = 1000000;
+		int edges = 4000000;
+		boolean directed = false;
+		int source = 0;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-random") && i + 2 < args.length) {
+				vertices = Integer.parseInt(args[++i]);
+				edges = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-directed")) {
+				directed = true;
+			} else if (args[i].equals("-source") && i + 1 < args.length) {
+				source = Integer.parseInt(args[++i]);
+			} else if (!args[i].startsWith("-")) {
+				file = args[i];
+			} else {
+				throw new IllegalArgumentException("Unknown option " + args[i]);
+			}
+		}
+
+		long start = System.nanoTime();
+		Graph graph = (file != null) ? Graph.read(Paths.get(file), !directed)
+				: Graph.random(vertices, edges, MAX_WEIGHT, !directed, 42);
+		System.out.println(String.format("# %s: %d vertices, %d arcs, loaded in %.0f ms",
+				(file != null) ? file : "random", graph.vertices(), graph.edges(), (System.nanoTime() - start) / 1e6));
+		System.out.println("algorithm  engine        time(ms)  checksum");
+		run(graph, source, true);
+		if (!directed) {
+			run(graph, source, false);
+		}
+	}
+
+	/**
+	 * Mide un algoritmo con todas las implementaciones
+	 *
+	 * @param graph
+	 *            grafo
+	 * @param source
+	 *            vrtice de origen
+	 * @param dijkstra
+	 *            true para medir Dijkstra, false para Prim
+	 */
+	private static void run(Graph graph, int source, boolean dijkstra) {
+		String name = dijkstra ? "dijkstra" : "prim";
+		int[] expected = null;
+		for (HeapEngine engine : HeapEngine.values()) {
+			if (engine.isMonotone() && !dijkstra) {
+				continue;
+			}
+			int[] result = null;
+			long nanos = 0;
+			for (int i = 0; i <= WARMUP; i++) {
+				@SuppressWarnings("unchecked")
+				AddressableHeap<Handle> heap = (AddressableHeap<Handle>) engine.create();
+				long start = System.nanoTime();
+				result = dijkstra ? GraphAlgorithms.dijkstra(graph, source, heap, null)
+						: GraphAlgorithms.prim(graph, source, heap, null);
+				nanos = System.nanoTime() - start;
+			}
+			expected = print(name, engine.name().toLowerCase(), nanos, result, expected);
+		}
+		int[] result = null;
+		long nanos = 0;
+		for (int i = 0; i <= WARMUP; i++) {
+			IndexedFibonacciHeap heap = new IndexedFibonacciHeap(graph.vertices());
+			long start = System.nanoTime();
+			result = dijkstra ? GraphAlgorithms.dijkstra(graph, source, heap, null)
+					: GraphAlgorithms.prim(graph, source, heap, null);
+			nanos = System.nanoTime() - start;
+		}
+		print(name, "indexed", nanos, result, expected);
+	}
+
+	/**
+	 * Escribe una medida y comprueba que el resultado coincide con el de la
+	 * primera implementacin. Las distancias mnimas son nicas, pero con
+	 * aristas del mismo peso el rbol de Prim puede variar, as que en ese
+	 * caso solo se compara el peso total
+	 *
+	 * @return resultado esperado para las siguientes implementaciones
+	 */
+	private static int[] print(String algorithm, String engine, long nanos, int[] result, int[] expected) {
+		long checksum = GraphAlgorithms.totalWeight(result);
+		System.out.println(String.format("%-10s %-13s %-9.0f %d", algorithm, engine, nanos / 1e6, checksum));
+		if (expected == null) {
+			return result;
+		}
+		boolean same = (algorithm.equals("dijkstra")) ? Arrays.equals(expected, result)
+				: checksum == GraphAlgorithms.totalWeight(expected);
+		if (!same) {
+			throw new IllegalStateException(engine + " differs from " + HeapEngine.values()[0].name().toLowerCase());
+		}
+		return result;
+	}
+}
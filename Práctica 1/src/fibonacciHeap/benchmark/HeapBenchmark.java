@@ -0,0 +1,266 @@
+package fibonacciHeap.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import fibonacciHeap.model.algorithms.AddressableHeap;
+import fibonacciHeap.model.algorithms.AddressableHeap.Handle;
+import fibonacciHeap.model.algorithms.HeapEngine;
+
+/**
+ * Banco de pruebas de rendimiento de los montculos. Sigue el esquema de JMH:
+ * cada combinacin de carga, implementacin, distribucin y tamao se ejecuta
+ * en varias JVM independientes, con iteraciones de calentamiento previas a las
+ * iteraciones medidas, y se informa del rendimiento medio con su error y de la
+ * memoria reservada por operacin
+ *
+ * <p>
+ * Las claves se generan antes de cada iteracin y la preparacin del montculo
+ * queda fuera de la medicin. La memoria reservada se obtiene del contador por
+ * hilo de la JVM, igual que el perfilador gc de JMH
+ * </p>
+ *
+ * <p>
+ * Uso: HeapBenchmark [-forks F] [-warmup W] [-iterations I] [-sizes N,...]
+ * [-engines E,...] [-workloads W,...] [-distributions D,...]
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class HeapBenchmark {
+
+	/**
+	 * Prefijo de las lneas de resultados que escriben las JVM hijas
+	 */
+	private static final String RESULT = "RESULT";
+
+	private int forks = 3;
+
+	private int warmup = 5;
+
+	private int iterations = 5;
+
+	private int[] sizes = { 10000, 100000, 1000000, 5000000 };
+
+	private List<HeapEngine> engines = new ArrayList<HeapEngine>();
+
+	private List<Workload> workloads = new ArrayList<Workload>();
+
+	private List<KeyDistribution> distributions = new ArrayList<KeyDistribution>();
+
+	/**
+	 * Indica si esta JVM es una de las hijas que ejecutan las medidas
+	 */
+	private boolean forked;
+
+	/**
+	 * Argumentos originales, que se pasan a las JVM hijas
+	 */
+	private List<String> arguments = new ArrayList<String>();
+
+	public static void main(String[] args) throws Exception {
+		HeapBenchmark benchmark = new HeapBenchmark(args);
+		if (benchmark.forked) {
+			benchmark.measure();
+		} else {
+			benchmark.fork();
+		}
+	}
+
+	/**
+	 * Constructor que interpreta los argumentos de la lnea de comandos
+	 *
+	 * @param args
+	 *            argumentos
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que algn argumento no sea vlido
+	 */
+	public HeapBenchmark(String[] args) throws IllegalArgumentException {
+		for (int i = 0; i < args.length; i++) {
+			String option = args[i];
+			if (option.equals("-forked")) {
+				this.forked = true;
+				continue;
+			}
+			if (i + 1 == args.length) {
+				throw new IllegalArgumentException("Missing value for " + option);
+			}
+			String value = args[++i];
+			this.arguments.add(option);
+			this.arguments.add(value);
+			if (option.equals("-forks")) {
+				this.forks = Integer.parseInt(value);
+			} else if (option.equals("-warmup")) {
+				this.warmup = Integer.parseInt(value);
+			} else if (option.equals("-iterations")) {
+				this.iterations = Integer.parseInt(value);
+			} else if (option.equals("-sizes")) {
+				String[] values = value.split(",");
+				this.sizes = new int[values.length];
+				for (int j = 0; j < values.length; j++) {
+					this.sizes[j] = Integer.parseInt(values[j]);
+				}
+			} else if (option.equals("-engines")) {
+				for (String name : value.split(",")) {
+					this.engines.add(HeapEngine.valueOf(name.toUpperCase()));
+				}
+			} else if (option.equals("-workloads")) {
+				for (String name : value.split(",")) {
+					this.workloads.add(Workload.valueOf(name.toUpperCase()));
+				}
+			} else if (option.equals("-distributions")) {
+				for (String name : value.split(",")) {
+					this.distributions.add(KeyDistribution.valueOf(name.toUpperCase()));
+				}
+			} else {
+				throw new IllegalArgumentException("Unknown option " + option);
+			}
+		}
+		if (this.engines.isEmpty()) {
+			for (HeapEngine engine : HeapEngine.values()) {
+				if (!engine.isMonotone()) {
+					this.engines.add(engine);
+				}
+			}
+		}
+		if (this.workloads.isEmpty()) {
+			for (Workload workload : Workload.values()) {
+				this.workloads.add(workload);
+			}
+		}
+		if (this.distributions.isEmpty()) {
+			for (KeyDistribution distribution : KeyDistribution.values()) {
+				this.distributions.add(distribution);
+			}
+		}
+	}
+
+	/**
+	 * Lanza las JVM hijas, recoge sus resultados y muestra el resumen
+	 *
+	 * @throws IOException
+	 *             error al lanzar o leer una JVM hija
+	 * @throws InterruptedException
+	 *             interrupcin mientras se espera a una JVM hija
+	 */
+	private void fork() throws IOException, InterruptedException {
+		List<String> command = new ArrayList<String>();
+		command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+		command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(HeapBenchmark.class.getName());
+		command.add("-forked");
+		command.addAll(this.arguments);
+
+		Map<String, List<double[]>> results = new LinkedHashMap<String, List<double[]>>();
+		for (int f = 1; f <= this.forks; f++) {
+			System.err.println("# Fork " + f + " of " + this.forks);
+			Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+			BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.startsWith(RESULT)) {
+					System.err.println(line);
+					continue;
+				}
+				String[] fields = line.split(" ");
+				String name = fields[1] + " " + fields[2] + " " + fields[3] + " " + fields[4];
+				List<double[]> samples = results.get(name);
+				if (samples == null) {
+					samples = new ArrayList<double[]>();
+					results.put(name, samples);
+				}
+				samples.add(new double[] { Double.parseDouble(fields[5]), Double.parseDouble(fields[6]),
+						Double.parseDouble(fields[7]) });
+			}
+			if (process.waitFor() != 0) {
+				throw new IOException("Forked JVM exited with code " + process.exitValue());
+			}
+		}
+		report(results);
+	}
+
+	/**
+	 * Muestra la media y el error (desviacin tpica de la media) de cada
+	 * prueba
+	 *
+	 * @param results
+	 *            muestras de cada prueba: operaciones por segundo, bytes por
+	 *            operacin y MB/s reservados
+	 */
+	private static void report(Map<String, List<double[]>> results) {
+		System.out.println(String.format("%-12s %-13s %-11s %-10s %16s %12s %12s %12s", "workload", "engine",
+				"keys", "N", "ops/s", "error", "B/op", "alloc MB/s"));
+		for (Map.Entry<String, List<double[]>> entry : results.entrySet()) {
+			List<double[]> samples = entry.getValue();
+			double[][] columns = new double[3][samples.size()];
+			for (int s = 0; s < samples.size(); s++) {
+				for (int i = 0; i < 3; i++) {
+					columns[i][s] = samples.get(s)[i];
+				}
+			}
+			String[] name = entry.getKey().split(" ");
+			System.out.println(String.format("%-12s %-13s %-11s %-10s %16.0f %12.0f %12.2f %12.1f",
+					name[0].toLowerCase(), name[1].toLowerCase(), name[2].toLowerCase(), name[3],
+					Measurements.mean(columns[0]), Measurements.error(columns[0]), Measurements.mean(columns[1]),
+					Measurements.mean(columns[2])));
+		}
+	}
+
+	/**
+	 * Ejecuta todas las pruebas en esta JVM y escribe una lnea de resultados
+	 * por cada iteracin medida
+	 */
+	private void measure() {
+		for (Workload workload : this.workloads) {
+			for (HeapEngine engine : this.engines) {
+				for (KeyDistribution distribution : this.distributions) {
+					for (int n : this.sizes) {
+						for (int i = 0; i < this.warmup; i++) {
+							iteration(workload, engine, distribution, n, i);
+						}
+						for (int i = 0; i < this.iterations; i++) {
+							double[] result = iteration(workload, engine, distribution, n, this.warmup + i);
+							System.out.println(RESULT + " " + workload + " " + engine + " " + distribution + " " + n
+									+ " " + result[0] + " " + result[1] + " " + result[2]);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Ejecuta una iteracin
+	 *
+	 * @return operaciones por segundo, bytes reservados por operacin y MB/s
+	 *         reservados
+	 */
+	@SuppressWarnings("unchecked")
+	private static double[] iteration(Workload workload, HeapEngine engine, KeyDistribution distribution, int n,
+			int seed) {
+		int[] keys = distribution.keys(n, seed);
+		Handle[] handles = new Handle[n];
+		AddressableHeap<Handle> heap = (AddressableHeap<Handle>) engine.create();
+		workload.setUp(heap, keys, handles);
+
+		long thread = Thread.currentThread().getId();
+		long bytes = Measurements.allocatedBytes(thread);
+		long start = System.nanoTime();
+		long ops = workload.measure(heap, keys, handles);
+		long nanos = System.nanoTime() - start;
+		bytes = Measurements.allocatedBytes(thread) - bytes;
+
+		return new double[] { Measurements.opsPerSecond(ops, nanos), (double) bytes / ops, bytes * 1e3 / nanos };
+	}
+}
@@ -0,0 +1,165 @@
+package fibonacciHeap.benchmark;
+
+import java.util.Random;
+
+import fibonacciHeap.model.algorithms.FibonacciHeap;
+import fibonacciHeap.model.algorithms.FibonacciHeap.FibonacciNode;
+import fibonacciHeap.model.algorithms.IndexedFibonacciHeap;
+
+/**
+ * Comparativa de memoria y rendimiento entre el montculo de Fibonacci basado
+ * en nodos y la versin sobre arrays paralelos
+ *
+ * <p>
+ * Uso: IndexedHeapBenchmark [N...]
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class IndexedHeapBenchmark {
+
+	/**
+	 * Tamaos por defecto, los mismos que los de la carpeta Plots
+	 */
+	public static final int[] SIZES = { 10000, 100000, 1000000, 5000000 };
+
+	/**
+	 * Repeticiones de calentamiento antes de medir
+	 */
+	private static final int WARMUP = 3;
+
+	public static void main(String[] args) {
+		int[] sizes = SIZES;
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				sizes[i] = Integer.parseInt(args[i]);
+			}
+		}
+		System.out.println("engine     N          bytes/node  insert(ops/s)  decreaseKey(ops/s)  removeMin(ops/s)");
+		for (int n : sizes) {
+			int[] keys = randomKeys(n, 42);
+			for (int i = 0; i < WARMUP; i++) {
+				runNodes(keys, false);
+				runIndexed(keys, false);
+			}
+			runNodes(keys, true);
+			runIndexed(keys, true);
+		}
+	}
+
+	/**
+	 * Genera n claves aleatorias en el intervalo [0, 2n)
+	 *
+	 * @param n
+	 *            nmero de claves
+	 * @param seed
+	 *            semilla del generador
+	 * @return array de claves
+	 */
+	static int[] randomKeys(int n, long seed) {
+		Random random = new Random(seed);
+		int[] keys = new int[n];
+		for (int i = 0; i < n; i++) {
+			keys[i] = random.nextInt(2 * n);
+		}
+		return keys;
+	}
+
+	/**
+	 * Memoria ocupada actualmente en el heap de Java, tras forzar la recoleccin
+	 *
+	 * @return bytes ocupados
+	 */
+	static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 4; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static void runNodes(int[] keys, boolean print) {
+		int n = keys.length;
+		long before = print ? usedMemory() : 0;
+		FibonacciHeap heap = new FibonacciHeap();
+		FibonacciNode[] nodes = new FibonacciNode[n];
+
+		long t0 = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			nodes[i] = new FibonacciNode(keys[i]);
+			heap.insert(nodes[i]);
+		}
+		long t1 = System.nanoTime();
+		long bytes = print ? usedMemory() - before : 0;
+
+		FibonacciNode removed = heap.removeMin();
+		long t2 = System.nanoTime();
+		for (int i = 0; i < n; i += 2) {
+			if (nodes[i] != removed) {
+				heap.decreaseKey(nodes[i], nodes[i].getKey() - n);
+			}
+		}
+		long t3 = System.nanoTime();
+		while (!heap.isEmpty()) {
+			heap.removeMin();
+		}
+		long t4 = System.nanoTime();
+
+		if (print) {
+			print("nodes", n, bytes, n, t1 - t0, n / 2, t3 - t2, n - 1, t4 - t3);
+		}
+	}
+
+	private static void runIndexed(int[] keys, boolean print) {
+		int n = keys.length;
+		long before = print ? usedMemory() : 0;
+		IndexedFibonacciHeap heap = new IndexedFibonacciHeap();
+		int[] handles = new int[n];
+
+		long t0 = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			handles[i] = heap.insert(keys[i]);
+		}
+		long t1 = System.nanoTime();
+		long bytes = print ? usedMemory() - before : 0;
+
+		int removed = heap.removeMin();
+		long t2 = System.nanoTime();
+		for (int i = 0; i < n; i += 2) {
+			if (handles[i] != removed) {
+				heap.decreaseKey(handles[i], heap.getKey(handles[i]) - n);
+			}
+		}
+		long t3 = System.nanoTime();
+		while (!heap.isEmpty()) {
+			heap.removeMin();
+		}
+		long t4 = System.nanoTime();
+
+		if (print) {
+			print("indexed", n, bytes, n, t1 - t0, n / 2, t3 - t2, n - 1, t4 - t3);
+		}
+	}
+
+	private static void print(String engine, int n, long bytes, long inserts, long insertNanos, long decreases,
+			long decreaseNanos, long removes, long removeNanos) {
+		System.out.println(String.format("%-10s %-10d %-11.1f %-14.0f %-19.0f %.0f", engine, n, (double) bytes / n,
+				opsPerSecond(inserts, insertNanos), opsPerSecond(decreases, decreaseNanos),
+				opsPerSecond(removes, removeNanos)));
+	}
+
+	/**
+	 * Operaciones por segundo
+	 *
+	 * @param ops
+	 *            nmero de operaciones realizadas
+	 * @param nanos
+	 *            tiempo empleado en nanosegundos
+	 * @return operaciones por segundo
+	 */
+	static double opsPerSecond(long ops, long nanos) {
+		return nanos == 0 ? 0 : ops * 1e9 / nanos;
+	}
+}
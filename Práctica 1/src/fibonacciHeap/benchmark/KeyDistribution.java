@@ -0,0 +1,83 @@
+package fibonacciHeap.benchmark;
+
+import java.util.Random;
+
+/**
+ * Distribuciones de claves usadas en las pruebas de rendimiento
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public enum KeyDistribution {
+
+	/**
+	 * Claves aleatorias en el intervalo [0, 2n), como en Plots
+	 */
+	UNIFORM {
+		@Override
+		int key(Random random, int i, int n) {
+			return random.nextInt(2 * n);
+		}
+	},
+
+	/**
+	 * Claves crecientes, cada insercin es mayor que el mnimo
+	 */
+	ASCENDING {
+		@Override
+		int key(Random random, int i, int n) {
+			return i;
+		}
+	},
+
+	/**
+	 * Claves decrecientes, cada insercin es un nuevo mnimo
+	 */
+	DESCENDING {
+		@Override
+		int key(Random random, int i, int n) {
+			return n - i;
+		}
+	},
+
+	/**
+	 * Pocas claves distintas, con muchas repeticiones
+	 */
+	FEW_UNIQUE {
+		@Override
+		int key(Random random, int i, int n) {
+			return random.nextInt(16);
+		}
+	};
+
+	/**
+	 * Clave en la posicin i de una secuencia de n claves
+	 *
+	 * @param random
+	 *            generador de nmeros aleatorios
+	 * @param i
+	 *            posicin de la clave
+	 * @param n
+	 *            nmero total de claves
+	 * @return clave generada
+	 */
+	abstract int key(Random random, int i, int n);
+
+	/**
+	 * Genera n claves con esta distribucin
+	 *
+	 * @param n
+	 *            nmero de claves
+	 * @param seed
+	 *            semilla del generador
+	 * @return array de claves
+	 */
+	public int[] keys(int n, long seed) {
+		Random random = new Random(seed);
+		int[] keys = new int[n];
+		for (int i = 0; i < n; i++) {
+			keys[i] = key(random, i, n);
+		}
+		return keys;
+	}
+}
@@ -0,0 +1,180 @@
+package fibonacciHeap.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Histograma de latencias con cubetas logartmicas, al estilo de
+ * HdrHistogram. Cada potencia de dos se divide en {@link #SUB_BUCKETS}
+ * cubetas, de modo que el error relativo de cada valor es menor del 3%. El
+ * array de cubetas se reserva al crear el histograma y registrar un valor no
+ * reserva memoria
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class LatencyHistogram {
+
+	/**
+	 * Bits de precisin dentro de cada potencia de dos
+	 */
+	private static final int SUB_BITS = 5;
+
+	/**
+	 * Nmero de cubetas por potencia de dos
+	 */
+	public static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+	/**
+	 * Nmero de cubetas necesario para cualquier valor long no negativo
+	 */
+	private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+	/**
+	 * Nmero de valores registrados en cada cubeta
+	 */
+	private final long[] counts = new long[BUCKETS];
+
+	/**
+	 * Nmero total de valores registrados
+	 */
+	private long total;
+
+	/**
+	 * Mayor valor registrado
+	 */
+	private long max;
+
+	/**
+	 * Registra un valor. Los valores negativos se registran como 0
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param value
+	 *            valor a registrar, normalmente en nanosegundos
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		this.counts[index(value)]++;
+		this.total++;
+		if (value > this.max) {
+			this.max = value;
+		}
+	}
+
+	/**
+	 * Elimina todos los valores registrados
+	 */
+	public void reset() {
+		Arrays.fill(this.counts, 0);
+		this.total = 0;
+		this.max = 0;
+	}
+
+	/**
+	 * Nmero de valores registrados
+	 *
+	 * @return nmero de valores
+	 */
+	public long getTotalCount() {
+		return this.total;
+	}
+
+	/**
+	 * Mayor valor registrado
+	 *
+	 * @return mayor valor
+	 */
+	public long getMax() {
+		return this.max;
+	}
+
+	/**
+	 * Valor por debajo del cual est el porcentaje de valores indicado
+	 *
+	 * @param percentile
+	 *            percentil entre 0 y 100
+	 * @return cota superior de la cubeta que contiene el percentil
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (this.total == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * this.total));
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			count += this.counts[i];
+			if (count >= target) {
+				return Math.min(highestEquivalentValue(i), this.max);
+			}
+		}
+		return this.max;
+	}
+
+	/**
+	 * Escribe la distribucin de percentiles en un formato apto para gnuplot:
+	 * valor, percentil, nmero acumulado de valores y 1/(1-percentil), este
+	 * ltimo til como eje x logartmico
+	 *
+	 * @param out
+	 *            destino de la distribucin
+	 * @throws IOException
+	 *             error al escribir
+	 */
+	public void writePercentiles(Writer out) throws IOException {
+		out.write("# value percentile count 1/(1-percentile)\n");
+		long count = 0;
+		for (int i = 0; i < BUCKETS && count < this.total; i++) {
+			if (this.counts[i] == 0) {
+				continue;
+			}
+			count += this.counts[i];
+			double percentile = (double) count / this.total;
+			String inverse = (count == this.total) ? "Infinity" : Double.toString(1.0 / (1.0 - percentile));
+			out.write(Math.min(highestEquivalentValue(i), this.max) + " " + percentile + " " + count + " " + inverse
+					+ "\n");
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("count = %d, p50 = %d, p99 = %d, p99.9 = %d, max = %d", this.total,
+				getValueAtPercentile(50), getValueAtPercentile(99), getValueAtPercentile(99.9), this.max);
+	}
+
+	/**
+	 * Cubeta que corresponde a un valor
+	 *
+	 * @param value
+	 *            valor no negativo
+	 * @return posicin de la cubeta
+	 */
+	private static int index(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+		return ((shift + 1) << SUB_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+	}
+
+	/**
+	 * Mayor valor que se registra en una cubeta
+	 *
+	 * @param index
+	 *            posicin de la cubeta
+	 * @return mayor valor de la cubeta
+	 */
+	private static long highestEquivalentValue(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = (index >>> SUB_BITS) - 1;
+		long lowest = ((long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1)))) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+}
@@ -0,0 +1,94 @@
+package fibonacciHeap.benchmark;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Utilidades comunes a los benchmarks: memoria reservada por hilo, operaciones
+ * por segundo, media y error de varias muestras y un sumidero para los
+ * resultados
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+final class Measurements {
+
+	/**
+	 * Contador de memoria reservada por hilo, o null si la JVM no lo ofrece
+	 */
+	private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+	/**
+	 * Acumula resultados para que el compilador no elimine las operaciones
+	 */
+	static volatile long sink;
+
+	private Measurements() {
+	}
+
+	/**
+	 * Memoria reservada hasta ahora por un hilo
+	 *
+	 * @param thread
+	 *            identificador del hilo
+	 * @return bytes reservados, o 0 si la JVM no ofrece el contador
+	 */
+	static long allocatedBytes(long thread) {
+		return (THREADS == null) ? 0 : THREADS.getThreadAllocatedBytes(thread);
+	}
+
+	/**
+	 * Operaciones por segundo
+	 *
+	 * @param ops
+	 *            nmero de operaciones realizadas
+	 * @param nanos
+	 *            tiempo empleado en nanosegundos
+	 * @return operaciones por segundo
+	 */
+	static double opsPerSecond(long ops, long nanos) {
+		return nanos == 0 ? 0 : ops * 1e9 / nanos;
+	}
+
+	/**
+	 * Media de las muestras
+	 *
+	 * @param samples
+	 *            muestras
+	 * @return media, o 0 si no hay muestras
+	 */
+	static double mean(double[] samples) {
+		double mean = 0;
+		for (double sample : samples) {
+			mean += sample / samples.length;
+		}
+		return mean;
+	}
+
+	/**
+	 * Error de la media: desviacin tpica de las muestras dividida por la raz
+	 * de su nmero
+	 *
+	 * @param samples
+	 *            muestras
+	 * @return error de la media, o 0 si hay menos de dos muestras
+	 */
+	static double error(double[] samples) {
+		if (samples.length < 2) {
+			return 0;
+		}
+		double mean = mean(samples);
+		double variance = 0;
+		for (double sample : samples) {
+			variance += (sample - mean) * (sample - mean);
+		}
+		return Math.sqrt(variance / (samples.length - 1) / samples.length);
+	}
+
+	private static com.sun.management.ThreadMXBean threadBean() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return (com.sun.management.ThreadMXBean) bean;
+		}
+		return null;
+	}
+}
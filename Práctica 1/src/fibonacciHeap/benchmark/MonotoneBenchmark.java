@@ -0,0 +1,172 @@
+package fibonacciHeap.benchmark;
+
+import java.util.Random;
+
+import fibonacciHeap.model.algorithms.AddressableHeap;
+import fibonacciHeap.model.algorithms.AddressableHeap.Handle;
+import fibonacciHeap.model.algorithms.HeapEngine;
+import fibonacciHeap.model.graph.Graph;
+import fibonacciHeap.model.graph.GraphAlgorithms;
+
+/**
+ * Compara las implementaciones de montculo, incluidas las montonas como
+ * {@link fibonacciHeap.model.algorithms.RadixHeap}, con cargas en las que
+ * nunca se inserta una clave menor que la ltima extrada: el reloj de una
+ * simulacin de eventos discretos y el algoritmo de Dijkstra
+ *
+ * <p>
+ * En la simulacin el montculo tiene siempre n eventos pendientes. En cada
+ * paso se extrae el siguiente evento, que avanza el reloj, y se programa otro
+ * con un retardo aleatorio entre 1 y el retardo mximo. Uno de cada
+ * RESCHEDULE pasos se adelanta un evento pendiente con decreaseKey
+ * </p>
+ *
+ * <p>
+ * Uso: MonotoneBenchmark [N [retardo mximo [vrtices aristas]]]
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class MonotoneBenchmark {
+
+	/**
+	 * Pasos de simulacin de cada medida
+	 */
+	private static final int STEPS = 4000000;
+
+	/**
+	 * Cada cuntos pasos se adelanta un evento
+	 */
+	private static final int RESCHEDULE = 4;
+
+	/**
+	 * Peso mximo de las aristas del grafo
+	 */
+	private static final int MAX_WEIGHT = 1000;
+
+	/**
+	 * Repeticiones de calentamiento antes de medir
+	 */
+	private static final int WARMUP = 2;
+
+	public static void main(String[] args) {
+		int n = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+		int maxDelay = (args.length > 1) ? Integer.parseInt(args[1]) : 64;
+		int vertices = (args.length > 2) ? Integer.parseInt(args[2]) : 1000000;
+		int edges = (args.length > 3) ? Integer.parseInt(args[3]) : 4 * vertices;
+
+		System.out.println("workload    engine        ops/s       checksum");
+		long expected = 0;
+		for (HeapEngine engine : HeapEngine.values()) {
+			for (int i = 0; i < WARMUP; i++) {
+				simulate(engine, n, maxDelay, null);
+			}
+			long[] checksum = new long[1];
+			long nanos = simulate(engine, n, maxDelay, checksum);
+			expected = check(engine, "simulation", Measurements.opsPerSecond(STEPS, nanos), checksum[0],
+					expected);
+		}
+
+		Graph graph = Graph.random(vertices, edges, MAX_WEIGHT, true, 42);
+		expected = 0;
+		for (HeapEngine engine : HeapEngine.values()) {
+			int[] distances = null;
+			long nanos = 0;
+			for (int i = 0; i <= WARMUP; i++) {
+				@SuppressWarnings("unchecked")
+				AddressableHeap<Handle> heap = (AddressableHeap<Handle>) engine.create();
+				long start = System.nanoTime();
+				distances = GraphAlgorithms.dijkstra(graph, 0, heap, null);
+				nanos = System.nanoTime() - start;
+			}
+			expected = check(engine, "dijkstra", Measurements.opsPerSecond(graph.edges(), nanos),
+					GraphAlgorithms.totalWeight(distances), expected);
+		}
+	}
+
+	/**
+	 * Simula STEPS pasos con n eventos pendientes. La clave de cada evento es
+	 * su instante multiplicado por n ms la posicin de su manejador, de modo
+	 * que las claves son nicas, el resultado no depende del orden en que cada
+	 * implementacin extrae los empates y se sabe qu posicin queda libre al
+	 * extraer un evento
+	 *
+	 * @param engine
+	 *            implementacin de montculo
+	 * @param n
+	 *            nmero de eventos pendientes
+	 * @param maxDelay
+	 *            retardo mximo de un evento
+	 * @param checksum
+	 *            si no es null, guarda en la primera posicin la suma de los
+	 *            instantes extrados
+	 * @return nanosegundos empleados
+	 */
+	private static long simulate(HeapEngine engine, int n, int maxDelay, long[] checksum) {
+		@SuppressWarnings("unchecked")
+		AddressableHeap<Handle> heap = (AddressableHeap<Handle>) engine.create();
+		Random random = new Random(42);
+		Handle[] handles = new Handle[n];
+		long limit = (Integer.MAX_VALUE - (long) Integer.MIN_VALUE) / n;
+		for (int i = 0; i < n; i++) {
+			handles[i] = heap.insert(key(1 + random.nextInt(maxDelay), i, n));
+		}
+		long sum = 0;
+		long start = System.nanoTime();
+		for (int step = 0; step < STEPS; step++) {
+			long event = heap.removeMin().getKey() - (long) Integer.MIN_VALUE;
+			long now = event / n;
+			int slot = (int) (event % n);
+			long time = now + 1 + random.nextInt(maxDelay);
+			if (time >= limit) {
+				throw new IllegalStateException("Clock overflow, use a smaller maximum delay");
+			}
+			handles[slot] = heap.insert(key(time, slot, n));
+			sum += now;
+			if (step % RESCHEDULE == 0) {
+				slot = random.nextInt(n);
+				long pending = (handles[slot].getKey() - (long) Integer.MIN_VALUE) / n;
+				if (pending > now + 1) {
+					heap.decreaseKey(handles[slot], key(now + 1 + random.nextInt((int) (pending - now - 1)), slot, n));
+				}
+			}
+		}
+		long nanos = System.nanoTime() - start;
+		Measurements.sink += sum;
+		if (checksum != null) {
+			checksum[0] = sum;
+		}
+		return nanos;
+	}
+
+	/**
+	 * Clave de un evento
+	 *
+	 * @param time
+	 *            instante del evento
+	 * @param slot
+	 *            posicin de su manejador
+	 * @param n
+	 *            nmero de eventos pendientes
+	 * @return clave del evento
+	 */
+	private static int key(long time, int slot, int n) {
+		return (int) (Integer.MIN_VALUE + time * n + slot);
+	}
+
+	/**
+	 * Escribe una medida y comprueba que el resultado coincide con el de la
+	 * primera implementacin
+	 *
+	 * @return resultado esperado para las siguientes implementaciones
+	 */
+	private static long check(HeapEngine engine, String workload, double throughput, long checksum, long expected) {
+		System.out.println(String.format("%-11s %-13s %-11.0f %d", workload, engine.name().toLowerCase(), throughput,
+				checksum));
+		if (engine.ordinal() > 0 && checksum != expected) {
+			throw new IllegalStateException(engine + " differs from " + HeapEngine.values()[0].name().toLowerCase());
+		}
+		return checksum;
+	}
+}
@@ -0,0 +1,108 @@
+package fibonacciHeap.benchmark;
+
+import fibonacciHeap.model.algorithms.HeapEngine;
+import fibonacciHeap.model.algorithms.Model;
+import fibonacciHeap.model.algorithms.ModelPipeline;
+
+/**
+ * Compara la forma en que la vista usaba el modelo, ejecutando cada operacin
+ * y reconstruyendo la informacin del montculo a continuacin, con el
+ * encadenamiento de operaciones de {@link ModelPipeline}, que las ejecuta por
+ * lotes en un nico hilo y solo publica una instantnea cuando se pone al da
+ *
+ * <p>
+ * Uso: PipelineBenchmark [N [M]], con N inserciones seguidas de M extracciones
+ * y decrementos de clave
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class PipelineBenchmark {
+
+	/**
+	 * Repeticiones de calentamiento antes de medir
+	 */
+	private static final int WARMUP = 2;
+
+	public static void main(String[] args) throws Exception {
+		int n = (args.length > 0) ? Integer.parseInt(args[0]) : 200000;
+		int m = (args.length > 1) ? Integer.parseInt(args[1]) : n / 4;
+		int[] keys = IndexedHeapBenchmark.randomKeys(n, 42);
+		System.out.println("mode       N          ops/s");
+		for (int i = 0; i < WARMUP; i++) {
+			direct(keys, Math.min(m, 1000), Math.min(n, 5000));
+			pipelined(keys, m);
+		}
+		/*
+		 * La forma directa reconstruye la informacin en cada operacin, as
+		 * que se mide con un prefijo de la carga para que termine a tiempo
+		 */
+		int prefix = Math.min(n, 20000);
+		long nanos = direct(keys, Math.min(m, prefix / 4), prefix);
+		System.out.println(String.format("%-10s %-10d %.0f", "direct", prefix,
+				Measurements.opsPerSecond(prefix + 2 * Math.min(m, prefix / 4), nanos)));
+		nanos = pipelined(keys, m);
+		System.out.println(String.format("%-10s %-10d %.0f", "pipeline", n,
+				Measurements.opsPerSecond(n + 2 * m, nanos)));
+	}
+
+	/**
+	 * Ejecuta las operaciones una a una reconstruyendo la informacin tras
+	 * cada una, como haca la vista
+	 *
+	 * @return nanosegundos empleados
+	 */
+	private static long direct(int[] keys, int m, int n) throws Exception {
+		Model model = new Model(HeapEngine.FIBONACCI.create());
+		long length = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			try {
+				model.addNode(keys[i]);
+			} catch (Exception e) {
+				// Clave repetida
+			}
+			length += model.getHeapInfo().length();
+		}
+		for (int i = 0; i < m; i++) {
+			model.removeMinNode();
+			length += model.getHeapInfo().length();
+			try {
+				model.decreseKeyNode(keys[n - 1 - i], keys[n - 1 - i] - 2 * n - i);
+			} catch (Exception e) {
+				// Clave repetida o ya extrada
+			}
+			length += model.getHeapInfo().length();
+		}
+		long nanos = System.nanoTime() - start;
+		Measurements.sink += length;
+		return nanos;
+	}
+
+	/**
+	 * Encola las mismas operaciones en un ModelPipeline y espera a que se
+	 * ejecuten
+	 *
+	 * @return nanosegundos empleados
+	 */
+	private static long pipelined(int[] keys, int m) throws Exception {
+		int n = keys.length;
+		ModelPipeline pipeline = new ModelPipeline(new Model(HeapEngine.FIBONACCI.create()),
+				ModelPipeline.DEFAULT_CAPACITY, null);
+		pipeline.sync();
+		long start = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			pipeline.put(ModelPipeline.ADD, keys[i], 0);
+		}
+		for (int i = 0; i < m; i++) {
+			pipeline.put(ModelPipeline.REMOVE_MIN, 0, 0);
+			pipeline.put(ModelPipeline.DECREASE_KEY, keys[n - 1 - i], keys[n - 1 - i] - 2 * n - i);
+		}
+		pipeline.sync();
+		long nanos = System.nanoTime() - start;
+		Measurements.sink += pipeline.getSnapshot().getSize();
+		pipeline.close();
+		return nanos;
+	}
+}
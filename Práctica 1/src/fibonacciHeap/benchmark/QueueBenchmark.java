@@ -0,0 +1,141 @@
+package fibonacciHeap.benchmark;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+import fibonacciHeap.model.algorithms.AddressablePriorityQueue;
+
+/**
+ * Compara {@link AddressablePriorityQueue} con {@link PriorityQueue} usando la
+ * interfaz {@link Queue}: rondas de offer y poll, eliminacin de elementos
+ * concretos con remove(Object) y cambios de prioridad, que con PriorityQueue
+ * requieren eliminar y volver a insertar el elemento
+ *
+ * <p>
+ * Uso: QueueBenchmark [N]
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class QueueBenchmark {
+
+	/**
+	 * Operaciones medidas de offer y poll
+	 */
+	private static final int OPS = 2000000;
+
+	/**
+	 * Operaciones medidas de eliminacin y cambio de prioridad, menos porque
+	 * con PriorityQueue cuestan O(n)
+	 */
+	private static final int UPDATES = 20000;
+
+	/**
+	 * Repeticiones de calentamiento antes de medir
+	 */
+	private static final int WARMUP = 2;
+
+	/**
+	 * Prioridad de una tarea
+	 */
+	private static final ToIntFunction<Task> PRIORITY = new ToIntFunction<Task>() {
+		@Override
+		public int applyAsInt(Task task) {
+			return task.priority;
+		}
+	};
+
+	public static void main(String[] args) {
+		int n = (args.length > 0) ? Integer.parseInt(args[0]) : 100000;
+		System.out.println("queue          offer/poll(ops/s)  remove(ops/s)  update(ops/s)");
+		for (int i = 0; i < WARMUP; i++) {
+			run(false, n, false);
+			run(true, n, false);
+		}
+		run(false, n, true);
+		run(true, n, true);
+	}
+
+	/**
+	 * Llena una cola con n tareas y mide cada tipo de operacin
+	 *
+	 * @param addressable
+	 *            true para medir AddressablePriorityQueue, false para
+	 *            PriorityQueue
+	 * @param n
+	 *            nmero de tareas
+	 * @param print
+	 *            true para escribir el resultado
+	 */
+	private static void run(boolean addressable, int n, boolean print) {
+		Random random = new Random(42);
+		Queue<Task> queue = addressable ? new AddressablePriorityQueue<Task>(PRIORITY)
+				: new PriorityQueue<Task>(n, new Comparator<Task>() {
+					@Override
+					public int compare(Task a, Task b) {
+						return Integer.compare(a.priority, b.priority);
+					}
+				});
+		Task[] tasks = new Task[n];
+		for (int i = 0; i < n; i++) {
+			tasks[i] = new Task(random.nextInt(n));
+			queue.add(tasks[i]);
+		}
+		long sum = 0;
+
+		long t0 = System.nanoTime();
+		for (int i = 0; i < OPS; i += 2) {
+			Task task = queue.poll();
+			sum += task.priority;
+			task.priority += random.nextInt(n);
+			queue.offer(task);
+		}
+		long t1 = System.nanoTime();
+		for (int i = 0; i < UPDATES; i++) {
+			Task task = tasks[random.nextInt(n)];
+			queue.remove(task);
+			queue.add(task);
+		}
+		long t2 = System.nanoTime();
+		for (int i = 0; i < UPDATES; i++) {
+			Task task = tasks[random.nextInt(n)];
+			int priority = task.priority - random.nextInt(n);
+			if (addressable) {
+				task.priority = priority;
+				((AddressablePriorityQueue<Task>) queue).update(task);
+			} else {
+				queue.remove(task);
+				task.priority = priority;
+				queue.add(task);
+			}
+		}
+		long t3 = System.nanoTime();
+		while (!queue.isEmpty()) {
+			sum += queue.poll().priority;
+		}
+		Measurements.sink += sum;
+
+		if (print) {
+			System.out.println(String.format("%-14s %-18.0f %-14.0f %.0f",
+					addressable ? "addressable" : "priorityQueue", Measurements.opsPerSecond(OPS, t1 - t0),
+					Measurements.opsPerSecond(UPDATES, t2 - t1),
+					Measurements.opsPerSecond(UPDATES, t3 - t2)));
+		}
+	}
+
+	/**
+	 * Tarea con una prioridad modificable. Se compara por identidad
+	 */
+	private static class Task {
+
+		int priority;
+
+		Task(int priority) {
+			this.priority = priority;
+		}
+	}
+}
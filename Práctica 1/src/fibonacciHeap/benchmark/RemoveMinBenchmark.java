@@ -0,0 +1,69 @@
+package fibonacciHeap.benchmark;
+
+import fibonacciHeap.model.algorithms.FibonacciHeap;
+import fibonacciHeap.model.algorithms.FibonacciHeap.FibonacciNode;
+
+/**
+ * Mide el rendimiento de removeMin al vaciar montculos de tamao creciente.
+ * Con el array de grados acotado el coste por operacin debe crecer como
+ * log(n) y no linealmente
+ *
+ * <p>
+ * Uso: RemoveMinBenchmark [N...]
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class RemoveMinBenchmark {
+
+	/**
+	 * Tamaos por defecto, de 10^4 a 10^7
+	 */
+	public static final int[] SIZES = { 10000, 100000, 1000000, 10000000 };
+
+	/**
+	 * Repeticiones de calentamiento antes de medir
+	 */
+	private static final int WARMUP = 2;
+
+	public static void main(String[] args) {
+		int[] sizes = SIZES;
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i = 0; i < args.length; i++) {
+				sizes[i] = Integer.parseInt(args[i]);
+			}
+		}
+		System.out.println("N          removeMin(ops/s)  ns/op");
+		for (int n : sizes) {
+			int[] keys = IndexedHeapBenchmark.randomKeys(n, 42);
+			for (int i = 0; i < WARMUP; i++) {
+				drain(keys);
+			}
+			long nanos = drain(keys);
+			System.out.println(String.format("%-10d %-17.0f %.1f", n, IndexedHeapBenchmark.opsPerSecond(n, nanos),
+					(double) nanos / n));
+		}
+	}
+
+	/**
+	 * Inserta todas las claves y mide el tiempo necesario para vaciar el
+	 * montculo
+	 *
+	 * @param keys
+	 *            claves a insertar
+	 * @return nanosegundos empleados en las llamadas a removeMin
+	 */
+	private static long drain(int[] keys) {
+		FibonacciHeap heap = new FibonacciHeap();
+		for (int key : keys) {
+			heap.insert(new FibonacciNode(key));
+		}
+		long start = System.nanoTime();
+		while (!heap.isEmpty()) {
+			heap.removeMin();
+		}
+		return System.nanoTime() - start;
+	}
+}
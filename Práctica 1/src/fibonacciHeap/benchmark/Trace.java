@@ -0,0 +1,282 @@
+package fibonacciHeap.benchmark;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Traza de operaciones sobre un montculo, leda de un fichero proyectado en
+ * memoria y decodificada a arrays de enteros antes de reproducirla
+ *
+ * <p>
+ * Cada insercin recibe como identificador su nmero de orden entre las
+ * inserciones de la traza, empezando en 0, y decreaseKey y delete se refieren
+ * al elemento por ese identificador. Al leerla solo se comprueba que el
+ * identificador corresponde a una insercin anterior: si el elemento sigue en
+ * el montculo depende de cmo rompe los empates cada implementacin, y lo
+ * comprueba {@link TraceReplay} antes de medir. El fichero puede ser binario, empezando
+ * por {@link #MAGIC} y seguido de registros con un byte de operacin y sus
+ * argumentos int, o de texto, con una operacin por lnea:
+ * </p>
+ *
+ * <pre>
+ * # comentario
+ * insert clave
+ * removeMin
+ * decreaseKey id clave
+ * delete id
+ * </pre>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class Trace {
+
+	/**
+	 * Identificador de las trazas binarias ("HTRC")
+	 */
+	public static final int MAGIC = 0x48545243;
+
+	/**
+	 * Cdigos de operacin, iguales en memoria y en las trazas binarias
+	 */
+	public static final byte INSERT = 1;
+	public static final byte REMOVE_MIN = 2;
+	public static final byte DECREASE_KEY = 3;
+	public static final byte DELETE = 4;
+
+	/**
+	 * Nombres de las operaciones en las trazas de texto, por cdigo
+	 */
+	private static final String[] NAMES = { null, "insert", "removeMin", "decreaseKey", "delete" };
+
+	/**
+	 * Operacin de cada posicin
+	 */
+	byte[] ops = new byte[1024];
+
+	/**
+	 * Primer argumento: clave de insert, identificador de decreaseKey y delete
+	 */
+	int[] first = new int[1024];
+
+	/**
+	 * Segundo argumento: nueva clave de decreaseKey
+	 */
+	int[] second = new int[1024];
+
+	/**
+	 * Nmero de operaciones
+	 */
+	int size;
+
+	/**
+	 * Nmero de inserciones
+	 */
+	int inserts;
+
+	/**
+	 * Lee una traza binaria o de texto
+	 *
+	 * @param file
+	 *            fichero de la traza
+	 * @return traza leda
+	 * @throws IOException
+	 *             error al leer el fichero o traza no vlida
+	 */
+	public static Trace read(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Trace too large");
+			}
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			Trace trace = new Trace();
+			if (buffer.remaining() >= 4 && buffer.getInt(0) == MAGIC) {
+				buffer.position(4);
+				trace.readBinary(buffer);
+			} else {
+				trace.readText(buffer);
+			}
+			return trace;
+		}
+	}
+
+	/**
+	 * Nmero de operaciones
+	 *
+	 * @return nmero de operaciones
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Decodifica registros binarios hasta el final del buffer
+	 */
+	private void readBinary(ByteBuffer buffer) throws IOException {
+		try {
+			while (buffer.hasRemaining()) {
+				byte op = buffer.get();
+				switch (op) {
+				case INSERT:
+					add(op, buffer.getInt(), 0);
+					break;
+				case REMOVE_MIN:
+					add(op, 0, 0);
+					break;
+				case DECREASE_KEY:
+					add(op, buffer.getInt(), buffer.getInt());
+					break;
+				case DELETE:
+					add(op, buffer.getInt(), 0);
+					break;
+				default:
+					throw new IOException("Unknown operation " + op + " at operation " + this.size);
+				}
+			}
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Truncated trace", e);
+		}
+	}
+
+	/**
+	 * Decodifica lneas de texto hasta el final del buffer, sin crear una
+	 * cadena por lnea
+	 */
+	private void readText(ByteBuffer buffer) throws IOException {
+		int line = 1;
+		while (buffer.hasRemaining()) {
+			skipSpaces(buffer);
+			if (!buffer.hasRemaining()) {
+				break;
+			}
+			byte c = buffer.get(buffer.position());
+			if (c == '\n') {
+				buffer.get();
+				line++;
+				continue;
+			}
+			if (c == '#') {
+				while (buffer.hasRemaining() && buffer.get() != '\n') {
+				}
+				line++;
+				continue;
+			}
+			byte op = operation(buffer);
+			if (op < 0) {
+				throw new IOException("Unknown operation at line " + line);
+			}
+			switch (op) {
+			case INSERT:
+			case DELETE:
+				add(op, number(buffer, line), 0);
+				break;
+			case DECREASE_KEY:
+				add(op, number(buffer, line), number(buffer, line));
+				break;
+			default:
+				add(op, 0, 0);
+			}
+			skipSpaces(buffer);
+			if (buffer.hasRemaining() && buffer.get() != '\n') {
+				throw new IOException("Unexpected argument at line " + line);
+			}
+			line++;
+		}
+	}
+
+	/**
+	 * Lee el nombre de una operacin
+	 *
+	 * @return cdigo de la operacin o -1 si no es ninguna conocida
+	 */
+	private static byte operation(ByteBuffer buffer) {
+		int start = buffer.position();
+		while (buffer.hasRemaining() && buffer.get(buffer.position()) > ' ') {
+			buffer.get();
+		}
+		int length = buffer.position() - start;
+		for (byte op = 1; op < NAMES.length; op++) {
+			String name = NAMES[op];
+			if (name.length() != length) {
+				continue;
+			}
+			int i = 0;
+			while (i < length && buffer.get(start + i) == name.charAt(i)) {
+				i++;
+			}
+			if (i == length) {
+				return op;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Lee un nmero entero precedido de espacios
+	 */
+	private static int number(ByteBuffer buffer, int line) throws IOException {
+		skipSpaces(buffer);
+		boolean negative = buffer.hasRemaining() && buffer.get(buffer.position()) == '-';
+		if (negative) {
+			buffer.get();
+		}
+		long value = 0;
+		int digits = 0;
+		while (buffer.hasRemaining()) {
+			byte c = buffer.get(buffer.position());
+			if (c < '0' || c > '9') {
+				break;
+			}
+			value = value * 10 + (c - '0');
+			if (value > Integer.MAX_VALUE + 1L) {
+				throw new IOException("Number out of range at line " + line);
+			}
+			buffer.get();
+			digits++;
+		}
+		if (digits == 0 || (!negative && value > Integer.MAX_VALUE)) {
+			throw new IOException("Invalid number at line " + line);
+		}
+		return (int) (negative ? -value : value);
+	}
+
+	/**
+	 * Salta espacios, tabuladores y retornos de carro
+	 */
+	private static void skipSpaces(ByteBuffer buffer) {
+		while (buffer.hasRemaining()) {
+			byte c = buffer.get(buffer.position());
+			if (c != ' ' && c != '\t' && c != '\r') {
+				return;
+			}
+			buffer.get();
+		}
+	}
+
+	/**
+	 * Aade una operacin comprobando que los identificadores se refieren a
+	 * inserciones anteriores, aunque el elemento puede haber sido extrado ya
+	 */
+	private void add(byte op, int a, int b) throws IOException {
+		if ((op == DECREASE_KEY || op == DELETE) && (a < 0 || a >= this.inserts)) {
+			throw new IOException("Unknown id " + a + " at operation " + this.size);
+		}
+		if (this.size == this.ops.length) {
+			this.ops = Arrays.copyOf(this.ops, this.size << 1);
+			this.first = Arrays.copyOf(this.first, this.size << 1);
+			this.second = Arrays.copyOf(this.second, this.size << 1);
+		}
+		this.ops[this.size] = op;
+		this.first[this.size] = a;
+		this.second[this.size] = b;
+		this.size++;
+		if (op == INSERT) {
+			this.inserts++;
+		}
+	}
+}
@@ -0,0 +1,229 @@
+package fibonacciHeap.benchmark;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import fibonacciHeap.model.algorithms.AddressableHeap;
+import fibonacciHeap.model.algorithms.AddressableHeap.Handle;
+import fibonacciHeap.model.algorithms.HeapEngine;
+
+/**
+ * Reproduce una traza de operaciones sobre cada implementacin de montculo,
+ * sin interfaz grfica. Para cada implementacin se hacen varias
+ * reproducciones de calentamiento, varias reproducciones medidas de las que se
+ * obtienen las operaciones por segundo y la memoria reservada por operacin,
+ * y una ltima reproduccin que mide la latencia de cada operacin
+ *
+ * <p>
+ * Con claves repetidas cada implementacin puede extraer un elemento distinto
+ * en removeMin, as que antes de medir se reproduce la traza una vez sin
+ * medir para saber qu elementos extrae cada implementacin. Las operaciones
+ * sobre elementos ya extrados o eliminados y los decreaseKey que no
+ * decrecen la clave se omiten en las reproducciones medidas y se indica
+ * cuntas son
+ * </p>
+ *
+ * <p>
+ * Uso: TraceReplay fichero [-engines E,...] [-warmup W] [-iterations I]
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ * @see Trace
+ */
+public class TraceReplay {
+
+	public static void main(String[] args) throws Exception {
+		if (args.length == 0) {
+			System.err.println("Usage: TraceReplay file [-engines E,...] [-warmup W] [-iterations I]");
+			System.exit(1);
+		}
+		List<HeapEngine> engines = new ArrayList<HeapEngine>();
+		int warmup = 3;
+		int iterations = 5;
+		for (int i = 1; i < args.length; i++) {
+			String option = args[i];
+			if (i + 1 == args.length) {
+				throw new IllegalArgumentException("Missing value for " + option);
+			}
+			String value = args[++i];
+			if (option.equals("-engines")) {
+				for (String name : value.split(",")) {
+					engines.add(HeapEngine.valueOf(name.toUpperCase()));
+				}
+			} else if (option.equals("-warmup")) {
+				warmup = Integer.parseInt(value);
+			} else if (option.equals("-iterations")) {
+				iterations = Integer.parseInt(value);
+			} else {
+				throw new IllegalArgumentException("Unknown option " + option);
+			}
+		}
+		if (engines.isEmpty()) {
+			for (HeapEngine engine : HeapEngine.values()) {
+				if (!engine.isMonotone()) {
+					engines.add(engine);
+				}
+			}
+		}
+
+		Trace trace = Trace.read(Paths.get(args[0]));
+		System.out.println("# " + args[0] + ": " + trace.size + " operations, " + trace.inserts + " inserts");
+		System.out.println(String.format("%-13s %16s %12s %12s", "engine", "ops/s", "error", "B/op"));
+		for (HeapEngine engine : engines) {
+			boolean[] skip = new boolean[trace.size];
+			int skipped = validate(trace, engine, skip);
+			if (skipped == 0) {
+				skip = null;
+			}
+			long ops = trace.size - skipped;
+			for (int i = 0; i < warmup; i++) {
+				replay(trace, engine, skip, null);
+			}
+			double[] throughput = new double[iterations];
+			double bytesPerOp = 0;
+			long thread = Thread.currentThread().getId();
+			for (int i = 0; i < iterations; i++) {
+				long bytes = Measurements.allocatedBytes(thread);
+				long nanos = replay(trace, engine, skip, null);
+				bytes = Measurements.allocatedBytes(thread) - bytes;
+				throughput[i] = Measurements.opsPerSecond(ops, nanos);
+				bytesPerOp += (double) bytes / ops / iterations;
+			}
+
+			LatencyHistogram[] latencies = new LatencyHistogram[Trace.DELETE + 1];
+			for (int op = Trace.INSERT; op <= Trace.DELETE; op++) {
+				latencies[op] = new LatencyHistogram();
+			}
+			replay(trace, engine, skip, latencies);
+
+			System.out.println(String.format("%-13s %16.0f %12.0f %12.2f", engine.name().toLowerCase(),
+					Measurements.mean(throughput), Measurements.error(throughput), bytesPerOp));
+			if (skipped > 0) {
+				System.out.println("  skipped " + skipped + " operations on removed elements or not decreasing keys");
+			}
+			String[] names = { null, "insert", "removeMin", "decreaseKey", "delete" };
+			for (int op = Trace.INSERT; op <= Trace.DELETE; op++) {
+				if (latencies[op].getTotalCount() > 0) {
+					System.out.println(String.format("  %-12s %s", names[op], latencies[op]));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reproduce la traza sin medir, siguiendo qu elementos siguen en el
+	 * montculo, y marca las operaciones que la implementacin no puede
+	 * aplicar: decreaseKey y delete de elementos ya extrados o eliminados y
+	 * decreaseKey con una clave que no es menor que la actual. Las
+	 * implementaciones son deterministas, as que cada reproduccin posterior
+	 * extrae los mismos elementos
+	 *
+	 * @param trace
+	 *            traza a reproducir
+	 * @param engine
+	 *            implementacin del montculo
+	 * @param skip
+	 *            array en el que se marcan las operaciones a omitir
+	 * @return nmero de operaciones marcadas
+	 */
+	@SuppressWarnings("unchecked")
+	private static int validate(Trace trace, HeapEngine engine, boolean[] skip) {
+		AddressableHeap<Handle> heap = (AddressableHeap<Handle>) engine.create();
+		Handle[] handles = new Handle[trace.inserts];
+		IdentityHashMap<Handle, Integer> live = new IdentityHashMap<Handle, Integer>();
+		int ids = 0;
+		int skipped = 0;
+		for (int i = 0; i < trace.size; i++) {
+			int id = trace.first[i];
+			switch (trace.ops[i]) {
+			case Trace.INSERT:
+				handles[ids] = heap.insert(id);
+				live.put(handles[ids], ids);
+				ids++;
+				break;
+			case Trace.REMOVE_MIN:
+				Handle min = heap.removeMin();
+				if (min != null) {
+					live.remove(min);
+				}
+				break;
+			case Trace.DECREASE_KEY:
+				if (!live.containsKey(handles[id]) || trace.second[i] >= handles[id].getKey()) {
+					skip[i] = true;
+					skipped++;
+				} else {
+					heap.decreaseKey(handles[id], trace.second[i]);
+				}
+				break;
+			default:
+				if (live.remove(handles[id]) == null) {
+					skip[i] = true;
+					skipped++;
+				} else {
+					heap.delete(handles[id]);
+				}
+			}
+		}
+		return skipped;
+	}
+
+	/**
+	 * Reproduce la traza sobre un montculo vaco
+	 *
+	 * @param trace
+	 *            traza a reproducir
+	 * @param engine
+	 *            implementacin del montculo
+	 * @param skip
+	 *            operaciones a omitir marcadas por validate, o null si no hay
+	 *            ninguna
+	 * @param latencies
+	 *            histogramas por cdigo de operacin en los que registrar la
+	 *            latencia de cada una, o null para medir solo el tiempo total
+	 * @return tiempo total en nanosegundos
+	 */
+	@SuppressWarnings("unchecked")
+	private static long replay(Trace trace, HeapEngine engine, boolean[] skip, LatencyHistogram[] latencies) {
+		AddressableHeap<Handle> heap = (AddressableHeap<Handle>) engine.create();
+		Handle[] handles = new Handle[trace.inserts];
+		byte[] ops = trace.ops;
+		int[] first = trace.first;
+		int[] second = trace.second;
+		int ids = 0;
+		long sum = 0;
+		long start = System.nanoTime();
+		long last = start;
+		for (int i = 0; i < trace.size; i++) {
+			if (skip != null && skip[i]) {
+				continue;
+			}
+			switch (ops[i]) {
+			case Trace.INSERT:
+				handles[ids++] = heap.insert(first[i]);
+				break;
+			case Trace.REMOVE_MIN:
+				Handle min = heap.removeMin();
+				if (min != null) {
+					sum += min.getKey();
+				}
+				break;
+			case Trace.DECREASE_KEY:
+				heap.decreaseKey(handles[first[i]], second[i]);
+				break;
+			default:
+				heap.delete(handles[first[i]]);
+			}
+			if (latencies != null) {
+				long now = System.nanoTime();
+				latencies[ops[i]].record(now - last);
+				last = now;
+			}
+		}
+		long nanos = System.nanoTime() - start;
+		Measurements.sink += sum + heap.size();
+		return nanos;
+	}
+}
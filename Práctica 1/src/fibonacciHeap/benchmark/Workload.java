@@ -0,0 +1,137 @@
+package fibonacciHeap.benchmark;
+
+import fibonacciHeap.model.algorithms.AddressableHeap;
+import fibonacciHeap.model.algorithms.AddressableHeap.Handle;
+
+/**
+ * Cargas de trabajo medidas por {@link HeapBenchmark}. Cada una separa la
+ * preparacin del montculo, que no se mide, de las operaciones medidas
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public enum Workload {
+
+	/**
+	 * Insercin de n claves en un montculo vaco
+	 */
+	INSERT {
+		@Override
+		void setUp(AddressableHeap<Handle> heap, int[] keys, Handle[] handles) {
+		}
+
+		@Override
+		long measure(AddressableHeap<Handle> heap, int[] keys, Handle[] handles) {
+			for (int i = 0; i < keys.length; i++) {
+				handles[i] = heap.insert(keys[i]);
+			}
+			return keys.length;
+		}
+	},
+
+	/**
+	 * Extraccin de todos los elementos de un montculo con n claves
+	 */
+	REMOVE_MIN {
+		@Override
+		void setUp(AddressableHeap<Handle> heap, int[] keys, Handle[] handles) {
+			INSERT.measure(heap, keys, handles);
+		}
+
+		@Override
+		long measure(AddressableHeap<Handle> heap, int[] keys, Handle[] handles) {
+			long ops = 0;
+			long sum = 0;
+			while (!heap.isEmpty()) {
+				sum += heap.removeMin().getKey();
+				ops++;
+			}
+			Measurements.sink += sum;
+			return ops;
+		}
+	},
+
+	/**
+	 * Decremento de la clave de todos los elementos de un montculo ya
+	 * consolidado
+	 */
+	DECREASE_KEY {
+		@Override
+		void setUp(AddressableHeap<Handle> heap, int[] keys, Handle[] handles) {
+			INSERT.measure(heap, keys, handles);
+			Handle removed = heap.removeMin();
+			for (int i = 0; i < handles.length; i++) {
+				if (handles[i] == removed) {
+					handles[i] = null;
+				}
+			}
+		}
+
+		@Override
+		long measure(AddressableHeap<Handle> heap, int[] keys, Handle[] handles) {
+			long ops = 0;
+			int delta = 2 * keys.length + 1;
+			for (int i = 0; i < handles.length; i++) {
+				if (handles[i] != null) {
+					heap.decreaseKey(handles[i], handles[i].getKey() - delta);
+					ops++;
+				}
+			}
+			return ops;
+		}
+	},
+
+	/**
+	 * Mezcla de operaciones sobre un montculo con n/2 claves: por cada dos
+	 * inserciones se decrece la clave del ltimo insertado y se extrae el
+	 * mnimo
+	 */
+	MIXED {
+		@Override
+		void setUp(AddressableHeap<Handle> heap, int[] keys, Handle[] handles) {
+			for (int i = 0; i < keys.length / 2; i++) {
+				handles[i] = heap.insert(keys[i]);
+			}
+		}
+
+		@Override
+		long measure(AddressableHeap<Handle> heap, int[] keys, Handle[] handles) {
+			long ops = 0;
+			long sum = 0;
+			for (int i = keys.length / 2; i + 1 < keys.length; i += 2) {
+				heap.insert(keys[i]);
+				Handle last = heap.insert(keys[i + 1]);
+				heap.decreaseKey(last, last.getKey() - 1);
+				sum += heap.removeMin().getKey();
+				ops += 4;
+			}
+			Measurements.sink += sum;
+			return ops;
+		}
+	};
+
+	/**
+	 * Prepara el montculo antes de la medicin
+	 *
+	 * @param heap
+	 *            montculo vaco
+	 * @param keys
+	 *            claves de la prueba
+	 * @param handles
+	 *            array en el que guardar los manejadores de cada clave
+	 */
+	abstract void setUp(AddressableHeap<Handle> heap, int[] keys, Handle[] handles);
+
+	/**
+	 * Ejecuta las operaciones medidas
+	 *
+	 * @param heap
+	 *            montculo preparado por setUp
+	 * @param keys
+	 *            claves de la prueba
+	 * @param handles
+	 *            manejadores guardados por setUp
+	 * @return nmero de operaciones realizadas
+	 */
+	abstract long measure(AddressableHeap<Handle> heap, int[] keys, Handle[] handles);
+}
@@ -1,19 +1,27 @@
 package fibonacciHeap.controller;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import fibonacciHeap.model.algorithms.AddressableHeap.Handle;
 import fibonacciHeap.model.algorithms.Model;
+import fibonacciHeap.model.algorithms.ModelPipeline;
 import fibonacciHeap.view.View;
 
 /**
- * Work between view and model carrying information between them
+ * Work between view and model carrying information between them. The model is
+ * owned by a {@link ModelPipeline}, so view operations are queued and never
+ * run on the Swing event dispatch thread
  * @author Javier Corts Tejada
  *
  */
 public class Controller {
 
 	/**
-	 * Application model
+	 * Writer of the application model
 	 */
-	private Model model;
+	private ModelPipeline pipeline;
 
 	/**
 	 * Application view
@@ -26,59 +34,205 @@ public class Controller {
 	 * @param view Application view
 	 */
 	public Controller(Model model, View view) {
-		this.model = model;
+		this.pipeline = new ModelPipeline(model, ModelPipeline.DEFAULT_CAPACITY, view);
 		this.view = view;
 		this.view.setController(this);
 		this.view.setVisible(true);
 	}
 
 	/**
-	 * Add a node to the heap
+	 * Queue the addition of a node to the heap, the result is reported to the
+	 * view
 	 * @param key key of the new node
-	 * @throws Exception the key is used
+	 * @return false if too many operations are pending
 	 */
-	public void addNode(int key) throws Exception {
-		this.model.addNode(key);
+	public boolean addNode(int key) {
+		return this.pipeline.submit(ModelPipeline.ADD, key, 0);
 	}
 
 	/**
-	 * Remove minimum element of the heap
-	 * @throws Exception the heap is empty
+	 * Queue the removal of the minimum element of the heap, the result is
+	 * reported to the view
+	 * @return false if too many operations are pending
 	 */
-	public void removeMinNode() throws Exception {
-		this.model.removeMinNode();
+	public boolean removeMinNode() {
+		return this.pipeline.submit(ModelPipeline.REMOVE_MIN, 0, 0);
 	}
 
 	/**
-	 * Decrease a node value
+	 * Queue the decrease of a node value, the result is reported to the view
 	 * @param node node to be decreased
 	 * @param key new key for node
+	 * @return false if too many operations are pending
+	 */
+	public boolean decreseKeyNode(int node, int key) {
+		return this.pipeline.submit(ModelPipeline.DECREASE_KEY, node, key);
+	}
+
+	/**
+	 * Queue the reset of the heap
+	 * @return false if too many operations are pending
+	 */
+	public boolean clear() {
+		return this.pipeline.submit(ModelPipeline.CLEAR, 0, 0);
+	}
+
+	/**
+	 * Insert a new element, repeated keys are allowed. Waits for the pending
+	 * operations
+	 * @param key key of the new element
+	 * @return handle of the element
+	 * @throws Exception interrupted while waiting
+	 */
+	public Handle insert(final int key) throws Exception {
+		return this.pipeline.call(new Callable<Handle>() {
+
+			@Override
+			public Handle call() {
+				return pipeline.getModel().insert(key);
+			}
+		});
+	}
+
+	/**
+	 * Remove minimum element of the heap. Waits for the pending operations
+	 * @return handle of the removed element
+	 * @throws Exception the heap is empty
+	 */
+	public Handle removeMin() throws Exception {
+		return this.pipeline.call(new Callable<Handle>() {
+
+			@Override
+			public Handle call() throws Exception {
+				return pipeline.getModel().removeMin();
+			}
+		});
+	}
+
+	/**
+	 * Decrease the key of an element. Waits for the pending operations
+	 * @param handle handle of the element
+	 * @param key new key for the element
 	 * @throws Exception current key is higher than new one
 	 */
-	public void decreseKeyNode(int node, int key) throws Exception {
-		this.model.decreseKeyNode(node, key);
+	public void decreaseKey(final Handle handle, final int key) throws Exception {
+		this.pipeline.call(new Callable<Void>() {
+
+			@Override
+			public Void call() throws Exception {
+				pipeline.getModel().decreaseKey(handle, key);
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * Remove an element of the heap. Waits for the pending operations
+	 * @param handle handle of the element
+	 * @throws Exception interrupted while waiting
+	 */
+	public void delete(final Handle handle) throws Exception {
+		this.pipeline.call(new Callable<Void>() {
+
+			@Override
+			public Void call() {
+				pipeline.getModel().delete(handle);
+				return null;
+			}
+		});
 	}
 
 	/**
-	 * Reset the heap
+	 * Last published summary of the model, never blocks
+	 * @return model snapshot
 	 */
-	public void clear() {
-		this.model.clear();
+	public ModelPipeline.Snapshot getSnapshot() {
+		return this.pipeline.getSnapshot();
 	}
 
 	/**
-	 * Request for heap visualization information
+	 * Request for heap visualization information. Waits for the pending
+	 * operations
 	 * @return heap visual representation
+	 * @throws Exception interrupted while waiting
 	 */
-	public String getHeapInfo(){
-		return this.model.getHeapInfo();
+	public String getHeapInfo() throws Exception {
+		return this.pipeline.call(new Callable<String>() {
+
+			@Override
+			public String call() {
+				return pipeline.getModel().getHeapInfo();
+			}
+		});
 	}
 	
 	/**
-	 * Request for nodes information
+	 * Request for nodes information. Waits for the pending operations
 	 * @return nodes information
+	 * @throws Exception interrupted while waiting
+	 */
+	public String getNodesInfo() throws Exception {
+		return this.pipeline.call(new Callable<String>() {
+
+			@Override
+			public String call() {
+				return pipeline.getModel().getNodesInfo();
+			}
+		});
+	}
+
+	/**
+	 * Request for a page of the root list. Waits for the pending operations
+	 * @param from position of the first root
+	 * @param count maximum number of roots
+	 * @return roots of the page
+	 * @throws Exception interrupted while waiting
 	 */
-	public String getNodesInfo(){
-		return this.model.getNodesInfo();
+	public List<Handle> getRoots(final int from, final int count) throws Exception {
+		return this.pipeline.call(new Callable<List<Handle>>() {
+
+			@Override
+			public List<Handle> call() {
+				return pipeline.getModel().getRoots(from, count);
+			}
+		});
+	}
+
+	/**
+	 * Request for the children of a node. Waits for the pending operations
+	 * @param handle node handle
+	 * @return node children
+	 * @throws Exception interrupted while waiting
+	 */
+	public List<Handle> getChildren(final Handle handle) throws Exception {
+		return this.pipeline.call(new Callable<List<Handle>>() {
+
+			@Override
+			public List<Handle> call() {
+				return pipeline.getModel().getChildren(handle);
+			}
+		});
+	}
+
+	/**
+	 * Request for the description of some nodes, read on the model writer so
+	 * the view never reads a node while it is being modified. Waits for the
+	 * pending operations
+	 * @param handles node handles
+	 * @return description of each node
+	 * @throws Exception interrupted while waiting
+	 */
+	public List<String> describe(final List<Handle> handles) throws Exception {
+		return this.pipeline.call(new Callable<List<String>>() {
+
+			@Override
+			public List<String> call() {
+				List<String> labels = new ArrayList<String>(handles.size());
+				for (Handle handle : handles) {
+					labels.add(handle.toString());
+				}
+				return labels;
+			}
+		});
 	}
 }
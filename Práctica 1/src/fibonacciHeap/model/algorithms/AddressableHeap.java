@@ -0,0 +1,173 @@
+package fibonacciHeap.model.algorithms;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Montculo de mnimos con claves enteras en el que cada elemento insertado se
+ * identifica por un manejador. Los manejadores permiten decrecer la clave o
+ * eliminar un elemento concreto sin buscarlo
+ *
+ * @author Javier Corts Tejada
+ *
+ * @param <H>
+ *            tipo de los manejadores devueltos por el montculo
+ */
+public interface AddressableHeap<H extends AddressableHeap.Handle> {
+
+	/**
+	 * Inserta un nuevo elemento
+	 *
+	 * @param key
+	 *            clave del elemento
+	 * @return manejador del elemento insertado
+	 */
+	H insert(int key);
+
+	/**
+	 * Devuelve el elemento con menor clave sin extraerlo
+	 *
+	 * @return manejador del mnimo o null si el montculo est vaco
+	 */
+	H getMin();
+
+	/**
+	 * Extrae el elemento con menor clave
+	 *
+	 * @return manejador del elemento extrado o null si el montculo est
+	 *         vaco
+	 */
+	H removeMin();
+
+	/**
+	 * Decrece la clave de un elemento
+	 *
+	 * @param handle
+	 *            manejador del elemento
+	 * @param key
+	 *            nueva clave
+	 * @return manejador del elemento
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que la nueva clave sea mayor o igual
+	 *                que la actual.
+	 */
+	H decreaseKey(H handle, int key) throws IllegalArgumentException;
+
+	/**
+	 * Elimina un elemento cualquiera del montculo
+	 *
+	 * @param handle
+	 *            manejador del elemento
+	 * @return manejador del elemento eliminado
+	 */
+	H delete(H handle);
+
+	/**
+	 * Comprueba si el montculo est vaco
+	 *
+	 * @return true si el montculo est vaco, false en cualquier otro caso
+	 */
+	boolean isEmpty();
+
+	/**
+	 * Nmero de elementos del montculo
+	 *
+	 * @return nmero de elementos
+	 */
+	int size();
+
+	/**
+	 * Eliminar todos los elementos del montculo
+	 */
+	void clear();
+
+	/**
+	 * Representacin visual del montculo. Por defecto solo indica el nmero
+	 * de elementos
+	 *
+	 * @return cadena con la representacin del montculo
+	 */
+	default String treeVisualization() {
+		return getClass().getSimpleName() + " with " + size() + " nodes\n";
+	}
+
+	/**
+	 * Crea una cadena con la informacin de los nodos del montculo. Por
+	 * defecto solo indica el nmero de elementos
+	 *
+	 * @return cadena con la informacin de los nodos
+	 */
+	default String nodeVisualization() {
+		return treeVisualization();
+	}
+
+	/**
+	 * Escribe la informacin de los nodos en out sin construir una cadena con
+	 * todo el montculo. Por defecto escribe treeVisualization
+	 *
+	 * @param out
+	 *            destino de la informacin
+	 * @param firstRoot
+	 *            nmero de raices que se saltan
+	 * @param maxRoots
+	 *            nmero mximo de raices cuyos rboles se escriben
+	 * @param maxDepth
+	 *            profundidad mxima de los nodos escritos
+	 * @param maxNodes
+	 *            nmero mximo de nodos escritos
+	 * @return nmero de nodos escritos
+	 * @throws IOException
+	 *             error al escribir en out
+	 */
+	default int writeVisualization(Appendable out, int firstRoot, int maxRoots, int maxDepth, int maxNodes)
+			throws IOException {
+		out.append(treeVisualization());
+		return 0;
+	}
+
+	/**
+	 * Devuelve como mucho count raices a partir de la posicin from. Por
+	 * defecto el mnimo es la nica raiz
+	 *
+	 * @param from
+	 *            posicin de la primera raiz
+	 * @param count
+	 *            nmero mximo de raices
+	 * @return lista de raices
+	 */
+	default List<H> roots(int from, int count) {
+		if (from > 0 || count <= 0 || isEmpty()) {
+			return Collections.emptyList();
+		}
+		return Collections.singletonList(getMin());
+	}
+
+	/**
+	 * Devuelve los hijos de un elemento. Por defecto ninguno
+	 *
+	 * @param handle
+	 *            manejador del elemento
+	 * @return lista de hijos
+	 */
+	default List<H> children(H handle) {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Manejador de un elemento del montculo
+	 *
+	 * @author Javier Corts Tejada
+	 *
+	 */
+	interface Handle {
+
+		/**
+		 * Clave actual del elemento
+		 *
+		 * @return clave del elemento
+		 */
+		int getKey();
+	}
+}
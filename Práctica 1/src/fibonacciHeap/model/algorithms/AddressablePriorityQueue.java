@@ -0,0 +1,490 @@
+package fibonacciHeap.model.algorithms;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+import fibonacciHeap.model.algorithms.FibonacciHeap.FibonacciNode;
+
+/**
+ * Cola de prioridad genrica compatible con {@link java.util.Queue} sobre un
+ * {@link FibonacciHeap}, para sustituir a {@link java.util.PriorityQueue}
+ * cuando se eliminan o se cambian de prioridad elementos concretos. La
+ * prioridad de cada elemento es una clave entera obtenida con una funcin, y
+ * cada insercin devuelve un {@link Entry} con el que cambiar su prioridad o
+ * eliminarlo sin buscarlo
+ *
+ * <p>
+ * Los elementos se indexan por igualdad, de modo que contains y remove(Object)
+ * no recorren la cola. Como en un HashSet, los campos usados por equals y
+ * hashCode no deben cambiar mientras el elemento est en la cola; los usados
+ * para calcular la clave s, avisando despus con {@link #update(Entry)}
+ * </p>
+ *
+ * <p>
+ * La cola no admite elementos null ni es segura para varios hilos. Su iterador
+ * recorre los elementos sin ningn orden concreto y no permite eliminarlos;
+ * removeIf, removeAll y retainAll s estn disponibles
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ * @param <E>
+ *            tipo de los elementos
+ */
+public class AddressablePriorityQueue<E> extends AbstractQueue<E> {
+
+	/**
+	 * Montculo con las entradas de la cola
+	 */
+	private final FibonacciHeap heap = new FibonacciHeap();
+
+	/**
+	 * Funcin que calcula la clave de un elemento
+	 */
+	private final ToIntFunction<? super E> keyExtractor;
+
+	/**
+	 * Primera entrada de cada elemento. Las entradas de elementos iguales
+	 * forman una lista doblemente enlazada a partir de ella
+	 */
+	private final HashMap<E, Entry<E>> index = new HashMap<E, Entry<E>>();
+
+	/**
+	 * Nmero de modificaciones, para detectar cambios durante un recorrido
+	 */
+	private int modCount;
+
+	/**
+	 * Constructor
+	 *
+	 * @param keyExtractor
+	 *            funcin que calcula la clave de cada elemento, menor clave
+	 *            indica mayor prioridad
+	 */
+	public AddressablePriorityQueue(ToIntFunction<? super E> keyExtractor) {
+		if (keyExtractor == null) {
+			throw new NullPointerException();
+		}
+		this.keyExtractor = keyExtractor;
+	}
+
+	/**
+	 * Constructor que aade todos los elementos de una coleccin
+	 *
+	 * @param keyExtractor
+	 *            funcin que calcula la clave de cada elemento
+	 * @param elements
+	 *            elementos iniciales
+	 */
+	public AddressablePriorityQueue(ToIntFunction<? super E> keyExtractor, Collection<? extends E> elements) {
+		this(keyExtractor);
+		addAll(elements);
+	}
+
+	/**
+	 * Inserta un elemento y devuelve su entrada
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param element
+	 *            elemento a insertar
+	 * @return entrada del elemento
+	 */
+	public Entry<E> insert(E element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		Entry<E> entry = new Entry<E>(element, this.keyExtractor.applyAsInt(element), this);
+		Entry<E> first = this.index.putIfAbsent(element, entry);
+		if (first != null) {
+			entry.previousEqual = first;
+			entry.nextEqual = first.nextEqual;
+			if (first.nextEqual != null) {
+				first.nextEqual.previousEqual = entry;
+			}
+			first.nextEqual = entry;
+		}
+		this.heap.insert(entry);
+		this.modCount++;
+		return entry;
+	}
+
+	/**
+	 * Inserta un elemento
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param element
+	 *            elemento a insertar
+	 * @return true
+	 */
+	@Override
+	public boolean offer(E element) {
+		insert(element);
+		return true;
+	}
+
+	/**
+	 * Extrae el elemento con menor clave
+	 *
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 *
+	 * @return elemento extrado o null si la cola est vaca
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E poll() {
+		Entry<E> entry = (Entry<E>) this.heap.removeMin();
+		if (entry == null) {
+			return null;
+		}
+		unindex(entry);
+		return entry.element;
+	}
+
+	/**
+	 * Devuelve el elemento con menor clave sin extraerlo
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @return elemento o null si la cola est vaca
+	 */
+	@Override
+	public E peek() {
+		Entry<E> entry = peekEntry();
+		return (entry == null) ? null : entry.element;
+	}
+
+	/**
+	 * Devuelve la entrada del elemento con menor clave sin extraerlo
+	 *
+	 * @return entrada o null si la cola est vaca
+	 */
+	@SuppressWarnings("unchecked")
+	public Entry<E> peekEntry() {
+		return (Entry<E>) this.heap.getMin();
+	}
+
+	/**
+	 * Elimina un elemento a partir de su entrada
+	 *
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 *
+	 * @param entry
+	 *            entrada del elemento
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que la entrada no est en la cola.
+	 */
+	public void remove(Entry<E> entry) throws IllegalArgumentException {
+		checkContains(entry);
+		this.heap.delete(entry);
+		unindex(entry);
+	}
+
+	/**
+	 * Elimina un elemento igual al dado
+	 *
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 *
+	 * @param element
+	 *            elemento a eliminar
+	 * @return true si haba un elemento igual en la cola
+	 */
+	@Override
+	public boolean remove(Object element) {
+		Entry<E> entry = this.index.get(element);
+		if (entry == null) {
+			return false;
+		}
+		remove(entry);
+		return true;
+	}
+
+	/**
+	 * Recalcula la clave de un elemento tras cambiar su prioridad
+	 *
+	 * <p>
+	 * Coste en O(1) amortizado si la clave decrece y en O(log n) amortizado
+	 * si crece
+	 * </p>
+	 *
+	 * @param entry
+	 *            entrada del elemento
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que la entrada no est en la cola.
+	 */
+	public void update(Entry<E> entry) throws IllegalArgumentException {
+		checkContains(entry);
+		int key = this.keyExtractor.applyAsInt(entry.element);
+		if (key < entry.key) {
+			this.heap.decreaseKey(entry, key);
+			this.modCount++;
+		} else if (key > entry.key) {
+			this.heap.increaseKey(entry, key);
+			this.modCount++;
+		}
+	}
+
+	/**
+	 * Recalcula la clave de un elemento igual al dado
+	 *
+	 * @param element
+	 *            elemento cuya prioridad ha cambiado
+	 * @return true si haba un elemento igual en la cola
+	 */
+	public boolean update(E element) {
+		Entry<E> entry = this.index.get(element);
+		if (entry == null) {
+			return false;
+		}
+		update(entry);
+		return true;
+	}
+
+	/**
+	 * Devuelve la entrada de un elemento igual al dado
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param element
+	 *            elemento a buscar
+	 * @return entrada o null si no hay ninguno igual en la cola
+	 */
+	public Entry<E> entry(Object element) {
+		return this.index.get(element);
+	}
+
+	@Override
+	public boolean contains(Object element) {
+		return this.index.containsKey(element);
+	}
+
+	@Override
+	public int size() {
+		return this.heap.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.heap.isEmpty();
+	}
+
+	/**
+	 * Elimina todos los elementos de la cola, invalidando sus entradas
+	 *
+	 * <p>
+	 * Coste en O(n)
+	 * </p>
+	 */
+	@Override
+	public void clear() {
+		for (FibonacciNode node : this.heap) {
+			((Entry<?>) node).owner = null;
+		}
+		this.heap.clear();
+		this.index.clear();
+		this.modCount++;
+	}
+
+	/**
+	 * Iterador sobre los elementos sin ningn orden concreto. No permite
+	 * eliminar elementos y falla si la cola cambia durante el recorrido
+	 *
+	 * @return iterador
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		final Iterator<FibonacciNode> nodes = this.heap.iterator();
+		return new Iterator<E>() {
+
+			private final int expected = AddressablePriorityQueue.this.modCount;
+
+			@Override
+			public boolean hasNext() {
+				return nodes.hasNext();
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public E next() {
+				if (AddressablePriorityQueue.this.modCount != this.expected) {
+					throw new ConcurrentModificationException();
+				}
+				if (!nodes.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return ((Entry<E>) nodes.next()).element;
+			}
+		};
+	}
+
+	/**
+	 * Elimina los elementos que cumplen una condicin
+	 *
+	 * <p>
+	 * Coste amortizado en O(n + k log n), siendo k el nmero de elementos
+	 * eliminados
+	 * </p>
+	 *
+	 * @param filter
+	 *            condicin de los elementos a eliminar
+	 * @return true si se ha eliminado algn elemento
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean removeIf(Predicate<? super E> filter) {
+		List<Entry<E>> removed = new ArrayList<Entry<E>>();
+		for (FibonacciNode node : this.heap) {
+			Entry<E> entry = (Entry<E>) node;
+			if (filter.test(entry.element)) {
+				removed.add(entry);
+			}
+		}
+		for (Entry<E> entry : removed) {
+			remove(entry);
+		}
+		return !removed.isEmpty();
+	}
+
+	@Override
+	public boolean removeAll(final Collection<?> elements) {
+		return removeIf(new Predicate<E>() {
+			@Override
+			public boolean test(E element) {
+				return elements.contains(element);
+			}
+		});
+	}
+
+	@Override
+	public boolean retainAll(final Collection<?> elements) {
+		return removeIf(new Predicate<E>() {
+			@Override
+			public boolean test(E element) {
+				return !elements.contains(element);
+			}
+		});
+	}
+
+	/**
+	 * Comprueba que una entrada pertenece a la cola
+	 *
+	 * @param entry
+	 *            entrada a comprobar
+	 */
+	private void checkContains(Entry<E> entry) throws IllegalArgumentException {
+		if (entry.owner != this) {
+			throw new IllegalArgumentException("Entry not in queue");
+		}
+	}
+
+	/**
+	 * Saca una entrada extrada del montculo del ndice de elementos
+	 *
+	 * @param entry
+	 *            entrada extrada
+	 */
+	private void unindex(Entry<E> entry) {
+		Entry<E> previous = entry.previousEqual;
+		Entry<E> next = entry.nextEqual;
+		if (previous != null) {
+			previous.nextEqual = next;
+		} else if (next != null) {
+			this.index.put(entry.element, next);
+		} else {
+			this.index.remove(entry.element);
+		}
+		if (next != null) {
+			next.previousEqual = previous;
+		}
+		entry.previousEqual = null;
+		entry.nextEqual = null;
+		entry.owner = null;
+		this.modCount++;
+	}
+
+	/**
+	 * Entrada de un elemento de la cola, que permite eliminarlo o recalcular
+	 * su clave sin buscarlo
+	 *
+	 * @author Javier Corts Tejada
+	 *
+	 * @param <E>
+	 *            tipo del elemento
+	 */
+	public static final class Entry<E> extends FibonacciNode {
+
+		/**
+		 * Elemento de la entrada
+		 */
+		private final E element;
+
+		/**
+		 * Cola que contiene la entrada, null si ya no est en ninguna
+		 */
+		private AddressablePriorityQueue<E> owner;
+
+		/**
+		 * Entrada anterior con un elemento igual
+		 */
+		private Entry<E> previousEqual;
+
+		/**
+		 * Entrada siguiente con un elemento igual
+		 */
+		private Entry<E> nextEqual;
+
+		private Entry(E element, int key, AddressablePriorityQueue<E> owner) {
+			super(key);
+			this.element = element;
+			this.owner = owner;
+		}
+
+		/**
+		 * Devuelve el elemento de la entrada
+		 *
+		 * @return elemento
+		 */
+		public E getElement() {
+			return this.element;
+		}
+
+		/**
+		 * Indica si la entrada sigue en una cola
+		 *
+		 * @return true si no se ha extrado ni eliminado
+		 */
+		public boolean isQueued() {
+			return this.owner != null;
+		}
+
+		@Override
+		public String toString() {
+			return "Entry = [key = " + Integer.toString(getKey()) + ", element = " + this.element + "]";
+		}
+	}
+}
@@ -0,0 +1,323 @@
+package fibonacciHeap.model.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Montculo d-ario indexado sobre arrays. Las claves se guardan en un array de
+ * enteros paralelo al de nodos para que las comparaciones recorran memoria
+ * contigua, y cada nodo conoce su posicin en el array, lo que permite
+ * decrecer su clave o eliminarlo sin buscarlo
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class DaryHeap implements AddressableHeap<DaryHeap.DaryNode> {
+
+	/**
+	 * Aridad por defecto
+	 */
+	public static final int DEFAULT_ARITY = 4;
+
+	/**
+	 * Capacidad inicial de los arrays
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Nmero de hijos de cada nodo
+	 */
+	private final int arity;
+
+	/**
+	 * Claves de los nodos en el orden del montculo
+	 */
+	private int[] keys;
+
+	/**
+	 * Nodos en el orden del montculo
+	 */
+	private DaryNode[] nodes;
+
+	/**
+	 * Nmero de elementos del montculo
+	 */
+	private int cardinal;
+
+	/**
+	 * Constructor por defecto, crea un montculo 4-ario
+	 */
+	public DaryHeap() {
+		this(DEFAULT_ARITY);
+	}
+
+	/**
+	 * Constructor que indica el nmero de hijos de cada nodo
+	 *
+	 * @param arity
+	 *            nmero de hijos de cada nodo
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que la aridad sea menor que 2
+	 */
+	public DaryHeap(int arity) throws IllegalArgumentException {
+		if (arity < 2) {
+			throw new IllegalArgumentException("Arity must be at least 2");
+		}
+		this.arity = arity;
+		this.keys = new int[DEFAULT_CAPACITY];
+		this.nodes = new DaryNode[DEFAULT_CAPACITY];
+	}
+
+	/**
+	 * Inserta un nuevo nodo al final del array y lo hace subir
+	 *
+	 * <p>
+	 * Coste en O(log n)
+	 * </p>
+	 *
+	 * @param key
+	 *            clave del nuevo nodo
+	 * @return nodo insertado
+	 */
+	@Override
+	public DaryNode insert(int key) {
+		if (this.cardinal == this.keys.length) {
+			this.keys = Arrays.copyOf(this.keys, this.cardinal << 1);
+			this.nodes = Arrays.copyOf(this.nodes, this.cardinal << 1);
+		}
+		DaryNode node = new DaryNode(key);
+		siftUp(node, this.cardinal++);
+		return node;
+	}
+
+	@Override
+	public DaryNode getMin() {
+		return (this.cardinal == 0) ? null : this.nodes[0];
+	}
+
+	/**
+	 * Elimina el nodo con menor clave
+	 *
+	 * <p>
+	 * Coste en O(d log n / log d)
+	 * </p>
+	 *
+	 * @return nodo con la clave ms pequea
+	 */
+	@Override
+	public DaryNode removeMin() {
+		if (this.cardinal == 0) {
+			return null;
+		}
+		DaryNode min = this.nodes[0];
+		removeAt(0);
+		return min;
+	}
+
+	/**
+	 * Decrece la clave de un nodo y lo hace subir
+	 *
+	 * <p>
+	 * Coste en O(log n / log d)
+	 * </p>
+	 *
+	 * @param node
+	 *            nodo cuya clave va a ser decrecida
+	 * @param key
+	 *            nueva clave para el nodo node
+	 * @return nodo modificado
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que la nueva clave sea mayor que la
+	 *                actual o el nodo no est en el montculo.
+	 */
+	@Override
+	public DaryNode decreaseKey(DaryNode node, int key) throws IllegalArgumentException {
+		checkContains(node);
+		if (key >= node.key) {
+			throw new IllegalArgumentException("New key value is higher that current");
+		}
+		node.key = key;
+		siftUp(node, node.index);
+		return node;
+	}
+
+	/**
+	 * Elimina un nodo cualquiera sustituyndolo por el ltimo
+	 *
+	 * <p>
+	 * Coste en O(d log n / log d)
+	 * </p>
+	 *
+	 * @param node
+	 *            nodo a eliminar
+	 * @return nodo eliminado
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que el nodo no est en el montculo.
+	 */
+	@Override
+	public DaryNode delete(DaryNode node) throws IllegalArgumentException {
+		checkContains(node);
+		removeAt(node.index);
+		return node;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.cardinal == 0;
+	}
+
+	@Override
+	public int size() {
+		return this.cardinal;
+	}
+
+	@Override
+	public void clear() {
+		for (int i = 0; i < this.cardinal; i++) {
+			this.nodes[i].index = -1;
+			this.nodes[i] = null;
+		}
+		this.cardinal = 0;
+	}
+
+	/**
+	 * Comprueba que un nodo pertenece al montculo
+	 *
+	 * @param node
+	 *            nodo a comprobar
+	 */
+	private void checkContains(DaryNode node) {
+		if (node.index < 0 || node.index >= this.cardinal || this.nodes[node.index] != node) {
+			throw new IllegalArgumentException("Node not in heap");
+		}
+	}
+
+	/**
+	 * Elimina el nodo de una posicin colocando en ella el ltimo y
+	 * recolocndolo
+	 *
+	 * @param index
+	 *            posicin a vaciar
+	 */
+	private void removeAt(int index) {
+		DaryNode removed = this.nodes[index];
+		int last = --this.cardinal;
+		DaryNode moved = this.nodes[last];
+		this.nodes[last] = null;
+		removed.index = -1;
+		if (index == last) {
+			return;
+		}
+		if (index > 0 && moved.key < this.keys[(index - 1) / this.arity]) {
+			siftUp(moved, index);
+		} else {
+			siftDown(moved, index);
+		}
+	}
+
+	/**
+	 * Hace subir un nodo desde una posicin libre hasta su sitio, desplazando
+	 * hacia abajo a los padres con mayor clave
+	 *
+	 * @param node
+	 *            nodo a colocar
+	 * @param index
+	 *            posicin libre de partida
+	 */
+	private void siftUp(DaryNode node, int index) {
+		int key = node.key;
+		while (index > 0) {
+			int parent = (index - 1) / this.arity;
+			if (this.keys[parent] <= key) {
+				break;
+			}
+			place(this.nodes[parent], index);
+			index = parent;
+		}
+		place(node, index);
+	}
+
+	/**
+	 * Hace bajar un nodo desde una posicin libre hasta su sitio, desplazando
+	 * hacia arriba al menor de sus hijos mientras sea menor que l
+	 *
+	 * @param node
+	 *            nodo a colocar
+	 * @param index
+	 *            posicin libre de partida
+	 */
+	private void siftDown(DaryNode node, int index) {
+		int key = node.key;
+		int size = this.cardinal;
+		while (true) {
+			int first = index * this.arity + 1;
+			if (first >= size) {
+				break;
+			}
+			int end = Math.min(first + this.arity, size);
+			int best = first;
+			int bestKey = this.keys[first];
+			for (int i = first + 1; i < end; i++) {
+				if (this.keys[i] < bestKey) {
+					best = i;
+					bestKey = this.keys[i];
+				}
+			}
+			if (bestKey >= key) {
+				break;
+			}
+			place(this.nodes[best], index);
+			index = best;
+		}
+		place(node, index);
+	}
+
+	/**
+	 * Coloca un nodo en una posicin de los arrays
+	 *
+	 * @param node
+	 *            nodo a colocar
+	 * @param index
+	 *            posicin
+	 */
+	private void place(DaryNode node, int index) {
+		this.nodes[index] = node;
+		this.keys[index] = node.key;
+		node.index = index;
+	}
+
+	/**
+	 * Nodo del montculo d-ario
+	 *
+	 * @author Javier Corts Tejada
+	 *
+	 */
+	public static class DaryNode implements AddressableHeap.Handle {
+
+		/**
+		 * Posicin del nodo en los arrays, -1 si no est en el montculo
+		 */
+		int index = -1;
+
+		/**
+		 * Valor del nodo
+		 */
+		int key;
+
+		DaryNode(int key) {
+			this.key = key;
+		}
+
+		@Override
+		public int getKey() {
+			return this.key;
+		}
+
+		@Override
+		public String toString() {
+			return "Node = [key = " + Integer.toString(key) + "]";
+		}
+	}
+}
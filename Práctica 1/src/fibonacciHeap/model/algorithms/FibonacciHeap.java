@@ -1,7 +1,22 @@
 package fibonacciHeap.model.algorithms;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.Stack;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Clase que implementa la estructura de datos del monticulo de Fibonacci
@@ -9,7 +24,7 @@ import java.util.Stack;
  * @author Javier Corts Tejada
  *
  */
-public class FibonacciHeap {
+public class FibonacciHeap implements AddressableHeap<FibonacciHeap.FibonacciNode>, Iterable<FibonacciHeap.FibonacciNode> {
 
 	/**
 	 * Referencia del nodo con la menor clave del monticulo
@@ -21,6 +36,67 @@ public class FibonacciHeap {
 	 */
 	private int cardinal;
 
+	/**
+	 * Array de grados usado por consolidate. Se conserva entre llamadas y
+	 * todas sus posiciones quedan a null al terminar cada consolidacin
+	 */
+	private FibonacciNode[] degreeTable = new FibonacciNode[0];
+
+	/**
+	 * Contadores de la estructura, null si estn desactivados
+	 */
+	private FibonacciHeapStatistics statistics;
+
+	/**
+	 * Nmero mximo de enlaces por operacin, 0 si se consolida de golpe en
+	 * removeMin
+	 */
+	private int linkBudget;
+
+	/**
+	 * Con trabajo acotado, raiz ya consolidada de cada grado, o null. Cada
+	 * raiz est en este ndice o en pendingRoots
+	 */
+	private FibonacciNode[] rootIndex;
+
+	/**
+	 * Con trabajo acotado, raices que an no estn en rootIndex. Puede
+	 * contener nodos que ya no lo estn, con queued a false
+	 */
+	private ArrayDeque<FibonacciNode> pendingRoots;
+
+	/**
+	 * Reserva de la que se toman los nodos nuevos y a la que vuelven los
+	 * extrados, null si no se reutilizan
+	 */
+	private FibonacciNodePool nodePool;
+
+	/**
+	 * Inverso del logaritmo de la razn urea, usado para acotar el grado
+	 * mximo de un nodo
+	 */
+	private static final double INV_LOG_PHI = 1.0 / Math.log((1.0 + Math.sqrt(5.0)) / 2.0);
+
+	/**
+	 * Identificador de los ficheros escritos por writeSnapshot ("FIBH")
+	 */
+	public static final int SNAPSHOT_MAGIC = 0x46494248;
+
+	/**
+	 * Versin del formato de writeSnapshot
+	 */
+	private static final int SNAPSHOT_VERSION = 1;
+
+	/**
+	 * Bytes de cada nodo en writeSnapshot
+	 */
+	private static final int SNAPSHOT_RECORD = 5;
+
+	/**
+	 * Tamao del buffer de escritura de writeSnapshot
+	 */
+	private static final int SNAPSHOT_BUFFER = 1 << 16;
+
 	/**
 	 * Decrece la clave de un nodo dada su referencia y su nuevo valor.
 	 * 
@@ -37,7 +113,7 @@ public class FibonacciHeap {
 	 *                Lanzada en caso de que la nueva clave sea mayor que la
 	 *                actual.
 	 */
-	public FibonacciNode decreaseKey(FibonacciNode node, double key) throws IllegalArgumentException {
+	public FibonacciNode decreaseKey(FibonacciNode node, int key) throws IllegalArgumentException {
 		/*
 		 * Si la clave introducida es mayor que la actual lanzamos un error
 		 */
@@ -45,7 +121,7 @@ public class FibonacciHeap {
 		if (key >= node.key) {
 			throw new IllegalArgumentException("New key value is higher that current");
 		}
-		node.key = (int) key;
+		node.key = key;
 		FibonacciNode parent = node.parentNode;
 		/*
 		 * Si node tiene padre y su clave es menor que la de su padre llamamos
@@ -60,6 +136,122 @@ public class FibonacciHeap {
 		if (node.key < this.min.key) {
 			this.min = node;
 		}
+		if (this.linkBudget > 0) {
+			work();
+		}
+		return node;
+	}
+
+	/**
+	 * Decrece la clave de un nodo a partir de un valor real. Se mantiene por
+	 * compatibilidad, el valor debe ser representable como int
+	 * 
+	 * @param node
+	 *            nodo cuya clave va a ser decrecida
+	 * @param key
+	 *            nueva clave para el nodo node
+	 * 
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que la nueva clave sea mayor que la
+	 *                actual o no sea un valor entero. Para claves reales debe
+	 *                usarse {@link DoubleFibonacciHeap}
+	 */
+	public FibonacciNode decreaseKey(FibonacciNode node, double key) throws IllegalArgumentException {
+		if ((int) key != key) {
+			throw new IllegalArgumentException("Key is not an int value");
+		}
+		return decreaseKey(node, (int) key);
+	}
+
+	/**
+	 * Incrementa la clave de un nodo. El nodo se desvincula de su padre y sus
+	 * hijos pasan a la lista de raices, ya que podran tener ahora una clave
+	 * menor que la suya
+	 * 
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 * 
+	 * @param node
+	 *            nodo cuya clave va a ser incrementada
+	 * @param key
+	 *            nueva clave para el nodo node
+	 * @return nodo modificado
+	 * 
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que la nueva clave sea menor que la
+	 *                actual.
+	 */
+	public FibonacciNode increaseKey(FibonacciNode node, int key) throws IllegalArgumentException {
+		if (key <= node.key) {
+			throw new IllegalArgumentException("New key value is lower that current");
+		}
+		/*
+		 * Si el nodo es el mnimo lo extraemos y lo volvemos a insertar con
+		 * la nueva clave, pues hay que buscar un nuevo mnimo de todos modos
+		 */
+		if (node == this.min) {
+			unlinkMin();
+			resetNode(node);
+			node.key = key;
+			insert(node);
+			return node;
+		}
+		/*
+		 * En otro caso lo subimos a la lista de raices junto con sus hijos.
+		 * El mnimo no cambia porque su clave no aumenta
+		 */
+		FibonacciNode parent = node.parentNode;
+		if (parent != null) {
+			cut(node, parent);
+			cascadingCut(parent);
+		}
+		unindex(node);
+		promoteChildren(node);
+		node.key = key;
+		if (this.linkBudget > 0) {
+			queue(node);
+			work();
+		}
+		return node;
+	}
+
+	/**
+	 * Elimina un nodo cualquiera del montculo. Si no es el mnimo, se
+	 * desvincula de su padre y sus hijos pasan a la lista de raices sin
+	 * necesidad de consolidar
+	 * 
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 * 
+	 * @param node
+	 *            nodo a eliminar
+	 * @return nodo eliminado
+	 */
+	public FibonacciNode delete(FibonacciNode node) {
+		if (node == this.min) {
+			return removeMin();
+		}
+		FibonacciNode parent = node.parentNode;
+		if (parent != null) {
+			cut(node, parent);
+			cascadingCut(parent);
+		}
+		unindex(node);
+		promoteChildren(node);
+		/*
+		 * Ahora node es una raiz sin hijos distinta del mnimo, luego basta
+		 * con sacarlo de la lista de raices
+		 */
+		node.leftNode.rightNode = node.rightNode;
+		node.rightNode.leftNode = node.leftNode;
+		resetNode(node);
+		cardinal--;
+		if (this.linkBudget > 0) {
+			work();
+		}
+		release(node);
 		return node;
 	}
 
@@ -69,6 +261,126 @@ public class FibonacciHeap {
 	public void clear() {
 		this.min = null;
 		this.cardinal = 0;
+		if (this.statistics != null) {
+			this.statistics.markedNodes = 0;
+		}
+		if (this.linkBudget > 0) {
+			Arrays.fill(this.rootIndex, null);
+			this.pendingRoots.clear();
+		}
+	}
+
+	/**
+	 * Acota el nmero de enlaces entre rboles que hace cada operacin. En
+	 * lugar de consolidar toda la lista de raices en removeMin, cada raiz
+	 * nueva se guarda en un ndice por grado unindola con la raiz del mismo
+	 * grado, como al sumar uno en binario, y cada operacin hace como mucho
+	 * budget enlaces. Las raices que no da tiempo a enlazar esperan a las
+	 * operaciones siguientes. As la lista de raices se mantiene corta y
+	 * removeMin solo tiene que recorrerla para buscar el nuevo mnimo
+	 * 
+	 * <p>
+	 * Con un presupuesto menor que log_phi(n) las raices que suben en cada
+	 * removeMin pueden acumularse ms rpido de lo que se enlazan y la lista
+	 * de raices crece. Los nodos extrados de un montculo en este modo no
+	 * deben insertarse en otro montculo en este modo
+	 * </p>
+	 * 
+	 * <p>
+	 * Coste en O(r) al activarlo, siendo r el nmero de raices
+	 * </p>
+	 * 
+	 * @param budget
+	 *            nmero mximo de enlaces por operacin, 0 para consolidar de
+	 *            golpe en removeMin
+	 * 
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que budget sea negativo
+	 */
+	public void setLinkBudget(int budget) throws IllegalArgumentException {
+		if (budget < 0) {
+			throw new IllegalArgumentException("Negative link budget");
+		}
+		if (budget == 0) {
+			this.rootIndex = null;
+			this.pendingRoots = null;
+		} else if (this.linkBudget == 0) {
+			this.rootIndex = new FibonacciNode[0];
+			this.pendingRoots = new ArrayDeque<FibonacciNode>();
+			if (this.min != null) {
+				FibonacciNode root = this.min;
+				do {
+					queue(root);
+					root = root.rightNode;
+				} while (root != this.min);
+			}
+		}
+		this.linkBudget = budget;
+	}
+
+	/**
+	 * Nmero mximo de enlaces por operacin
+	 * 
+	 * @return presupuesto de enlaces, 0 si se consolida de golpe en removeMin
+	 */
+	public int getLinkBudget() {
+		return this.linkBudget;
+	}
+
+	/**
+	 * Activa o desactiva los contadores de la estructura. Al activarlos se
+	 * cuentan los nodos marcados recorriendo todo el montculo; mientras estn
+	 * desactivados su coste es una comprobacin de null en cada enlace, corte
+	 * y consolidacin
+	 * 
+	 * @param enabled
+	 *            true para activarlos, false para desactivarlos
+	 */
+	public void setStatisticsEnabled(boolean enabled) {
+		if (!enabled) {
+			this.statistics = null;
+		} else if (this.statistics == null) {
+			this.statistics = new FibonacciHeapStatistics(countMarked(this.min));
+		}
+	}
+
+	/**
+	 * Devuelve los contadores de la estructura
+	 * 
+	 * @return contadores o null si estn desactivados
+	 */
+	public FibonacciHeapStatistics getStatistics() {
+		return this.statistics;
+	}
+
+	/**
+	 * Reutiliza los nodos extrados. insert(int) toma sus nodos de la reserva
+	 * y removeMin, removeMin(k), drainTo y delete devuelven a ella los nodos
+	 * que extraen. Varios montculos del mismo hilo pueden compartir una
+	 * reserva, por ejemplo {@link FibonacciNodePool#local()}
+	 * 
+	 * <p>
+	 * Un nodo devuelto por una extraccin conserva su clave y puede leerse
+	 * hasta la siguiente insercin en un montculo con la misma reserva, que
+	 * puede reutilizarlo; despus no debe usarse. Con trabajo acotado
+	 * ({@link #setLinkBudget(int)}) los nodos extrados no vuelven a la
+	 * reserva, ya que pueden seguir entre las raices pendientes
+	 * </p>
+	 * 
+	 * @param pool
+	 *            reserva de nodos, o null para crear siempre nodos nuevos
+	 */
+	public void setNodePool(FibonacciNodePool pool) {
+		this.nodePool = pool;
+	}
+
+	/**
+	 * Devuelve la reserva de nodos
+	 * 
+	 * @return reserva o null si los nodos no se reutilizan
+	 */
+	public FibonacciNodePool getNodePool() {
+		return this.nodePool;
 	}
 
 	public FibonacciNode getMin() {
@@ -88,6 +400,369 @@ public class FibonacciHeap {
 		return this.min == null;
 	}
 
+	/**
+	 * Nmero de elementos del montculo
+	 * 
+	 * @return nmero de elementos
+	 */
+	public int size() {
+		return this.cardinal;
+	}
+
+	/**
+	 * Une otro montculo a ste concatenando sus listas de raices. El
+	 * montculo other queda vaco
+	 * 
+	 * <p>
+	 * Coste en O(1), o en O(r) con trabajo acotado, siendo r el nmero de
+	 * raices de other
+	 * </p>
+	 * 
+	 * @param other
+	 *            montculo a unir
+	 * 
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que other sea este mismo montculo
+	 */
+	public void meld(FibonacciHeap other) throws IllegalArgumentException {
+		if (other == this) {
+			throw new IllegalArgumentException("Cannot meld a heap with itself");
+		}
+		if (other == null || other.min == null) {
+			return;
+		}
+		if (this.statistics != null) {
+			this.statistics.markedNodes += (other.statistics != null) ? other.statistics.markedNodes
+					: countMarked(other.min);
+		}
+		if (this.linkBudget > 0) {
+			FibonacciNode root = other.min;
+			do {
+				queue(root);
+				root = root.rightNode;
+			} while (root != other.min);
+		}
+		if (this.min == null) {
+			this.min = other.min;
+		} else {
+			/*
+			 * Insertamos la lista de raices de other a la derecha del mnimo,
+			 * enlazando sus extremos con el mnimo y su antiguo vecino derecho
+			 */
+			FibonacciNode minRight = this.min.rightNode;
+			FibonacciNode otherLeft = other.min.leftNode;
+			this.min.rightNode = other.min;
+			other.min.leftNode = this.min;
+			otherLeft.rightNode = minRight;
+			minRight.leftNode = otherLeft;
+			if (other.min.key < this.min.key) {
+				this.min = other.min;
+			}
+		}
+		this.cardinal += other.cardinal;
+		other.clear();
+		if (this.linkBudget > 0) {
+			work();
+		}
+	}
+
+	/**
+	 * Construye un montculo con todas las claves dadas repartiendo el trabajo
+	 * entre los hilos del ForkJoinPool comn. Cada tarea construye su propio
+	 * montculo y los resultados se unen con {@link #meld(FibonacciHeap)}
+	 * 
+	 * @param keys
+	 *            claves a insertar
+	 * @return montculo con todas las claves
+	 */
+	public static FibonacciHeap build(int[] keys) {
+		return build(keys, null);
+	}
+
+	/**
+	 * Construye un montculo con todas las claves dadas repartiendo el trabajo
+	 * entre los hilos del ForkJoinPool comn
+	 * 
+	 * @param keys
+	 *            claves a insertar
+	 * @param nodes
+	 *            array en el que se guarda el nodo creado para cada clave, en
+	 *            la misma posicin, o null si no se necesitan
+	 * @return montculo con todas las claves
+	 * 
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que nodes sea ms pequeo que keys
+	 */
+	public static FibonacciHeap build(int[] keys, FibonacciNode[] nodes) throws IllegalArgumentException {
+		if (nodes != null && nodes.length < keys.length) {
+			throw new IllegalArgumentException("Nodes array is smaller than keys array");
+		}
+		return ForkJoinPool.commonPool().invoke(new BuildTask(keys, nodes, 0, keys.length));
+	}
+
+	/**
+	 * Escribe el bosque completo en channel en formato binario: una cabecera
+	 * con {@link #SNAPSHOT_MAGIC}, la versin, el nmero de nodos y el nmero
+	 * de raices, seguida de un registro de 5 bytes por nodo en preorden (la
+	 * clave y un byte con el grado y la marca). Las raices se escriben desde
+	 * el mnimo y los hijos desde childNode, ambos hacia la derecha
+	 * 
+	 * <p>
+	 * Coste en O(n)
+	 * </p>
+	 * 
+	 * @param channel
+	 *            canal en el que se escribe, a partir de su posicin actual
+	 * @throws IOException
+	 *             error al escribir en channel
+	 */
+	public void writeSnapshot(FileChannel channel) throws IOException {
+		writeSnapshot(channel, null);
+	}
+
+	/**
+	 * Escribe el bosque completo en channel, como
+	 * {@link #writeSnapshot(FileChannel)}, guardando los nodos en el mismo
+	 * orden en el que {@link #readSnapshot(ByteBuffer, FibonacciNode[])} los
+	 * devuelve
+	 * 
+	 * @param channel
+	 *            canal en el que se escribe, a partir de su posicin actual
+	 * @param nodes
+	 *            array en el que se guardan los nodos en el orden del
+	 *            fichero, o null si no se necesitan
+	 * @throws IOException
+	 *             error al escribir en channel
+	 * 
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que nodes sea ms pequeo que el
+	 *                nmero de nodos
+	 */
+	public void writeSnapshot(FileChannel channel, FibonacciNode[] nodes) throws IOException, IllegalArgumentException {
+		if (nodes != null && nodes.length < this.cardinal) {
+			throw new IllegalArgumentException("Nodes array is smaller than heap");
+		}
+		ByteBuffer buffer = ByteBuffer.allocateDirect(SNAPSHOT_BUFFER);
+		int roots = 0;
+		if (this.min != null) {
+			FibonacciNode root = this.min;
+			do {
+				roots++;
+				root = root.rightNode;
+			} while (root != this.min);
+		}
+		buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putInt(this.cardinal).putInt(roots);
+
+		/*
+		 * Recorremos en preorden siguiendo los punteros de los nodos, igual
+		 * que writeVisualization pero hacia la derecha
+		 */
+		FibonacciNode node = this.min;
+		int written = 0;
+		while (node != null) {
+			if (buffer.remaining() < SNAPSHOT_RECORD) {
+				flush(buffer, channel);
+			}
+			if (nodes != null) {
+				nodes[written] = node;
+			}
+			written++;
+			buffer.putInt(node.key).put((byte) ((node.degree << 1) | (node.mark ? 1 : 0)));
+
+			if (node.childNode != null) {
+				node = node.childNode;
+				continue;
+			}
+			while (node.parentNode != null && node.rightNode == node.parentNode.childNode) {
+				node = node.parentNode;
+			}
+			node = node.rightNode;
+			if (node.parentNode == null && node == this.min) {
+				node = null;
+			}
+		}
+		flush(buffer, channel);
+	}
+
+	/**
+	 * Reconstruye un montculo escrito por {@link #writeSnapshot(FileChannel)}
+	 * 
+	 * @param buffer
+	 *            buffer con el montculo a partir de su posicin actual,
+	 *            normalmente un fichero proyectado en memoria
+	 * @return montculo reconstruido
+	 * @throws IOException
+	 *             el contenido del buffer no es un montculo vlido
+	 */
+	public static FibonacciHeap readSnapshot(ByteBuffer buffer) throws IOException {
+		return readSnapshot(buffer, null);
+	}
+
+	/**
+	 * Reconstruye un montculo escrito por {@link #writeSnapshot(FileChannel)}
+	 * en una nica pasada sobre los registros, enlazando cada nodo con su
+	 * padre o con la lista de raices segn llega. La pila de padres pendientes
+	 * solo guarda los nodos a los que an les faltan hijos
+	 * 
+	 * <p>
+	 * Se rechazan los ficheros que no cumplen las propiedades del montculo:
+	 * grados mayores que log_phi(n), hijos con clave menor que la de su padre
+	 * o una primera raiz que no es el mnimo, ya que las operaciones
+	 * posteriores dependen de ellas
+	 * </p>
+	 * 
+	 * <p>
+	 * Coste en O(n)
+	 * </p>
+	 * 
+	 * @param buffer
+	 *            buffer con el montculo a partir de su posicin actual, que
+	 *            queda tras el ltimo registro
+	 * @param nodes
+	 *            array en el que se guardan los nodos en el orden del
+	 *            fichero, o null si no se necesitan
+	 * @return montculo reconstruido
+	 * @throws IOException
+	 *             el contenido del buffer no es un montculo vlido
+	 * 
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que nodes sea ms pequeo que el
+	 *                nmero de nodos
+	 */
+	public static FibonacciHeap readSnapshot(ByteBuffer buffer, FibonacciNode[] nodes)
+			throws IOException, IllegalArgumentException {
+		FibonacciHeap heap = new FibonacciHeap();
+		try {
+			if (buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_VERSION) {
+				throw new IOException("Not a heap snapshot");
+			}
+			int cardinal = buffer.getInt();
+			int roots = buffer.getInt();
+			if (cardinal < 0 || roots < 0 || roots > cardinal || (roots == 0) != (cardinal == 0)) {
+				throw new IOException("Corrupted snapshot");
+			}
+			if (nodes != null && nodes.length < cardinal) {
+				throw new IllegalArgumentException("Nodes array is smaller than snapshot");
+			}
+			int maxDegree = (int) (Math.log(Math.max(cardinal, 1)) * INV_LOG_PHI);
+
+			FibonacciNode[] parents = new FibonacciNode[16];
+			int[] pending = new int[16];
+			int top = -1;
+			int rootsRead = 0;
+			for (int i = 0; i < cardinal; i++) {
+				FibonacciNode node = new FibonacciNode(buffer.getInt());
+				int flags = buffer.get() & 0xFF;
+				node.mark = (flags & 1) != 0;
+				if (nodes != null) {
+					nodes[i] = node;
+				}
+
+				/*
+				 * Si no hay padres pendientes el nodo es una raiz, en otro caso
+				 * es el siguiente hijo del ltimo padre pendiente. Se aade al
+				 * final de su lista para conservar el orden
+				 */
+				if (top < 0) {
+					if (heap.min == null) {
+						heap.min = node;
+					} else if (node.key < heap.min.key) {
+						throw new IOException("Corrupted snapshot");
+					} else {
+						append(heap.min, node);
+					}
+					rootsRead++;
+				} else {
+					FibonacciNode parent = parents[top];
+					if (node.key < parent.key) {
+						throw new IOException("Corrupted snapshot");
+					}
+					node.parentNode = parent;
+					if (parent.childNode == null) {
+						parent.childNode = node;
+					} else {
+						append(parent.childNode, node);
+					}
+					parent.degree++;
+					if (--pending[top] == 0) {
+						top--;
+					}
+				}
+
+				int degree = flags >>> 1;
+				if (degree > maxDegree) {
+					throw new IOException("Corrupted snapshot");
+				}
+				if (degree > 0) {
+					if (++top == parents.length) {
+						parents = Arrays.copyOf(parents, top << 1);
+						pending = Arrays.copyOf(pending, top << 1);
+					}
+					parents[top] = node;
+					pending[top] = degree;
+				}
+			}
+			if (top >= 0 || rootsRead != roots) {
+				throw new IOException("Corrupted snapshot");
+			}
+			heap.cardinal = cardinal;
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Truncated snapshot", e);
+		}
+		return heap;
+	}
+
+	/**
+	 * Aade node al final de la lista circular que empieza en first
+	 * 
+	 * @param first
+	 *            primer nodo de la lista
+	 * @param node
+	 *            nodo a aadir
+	 */
+	private static void append(FibonacciNode first, FibonacciNode node) {
+		node.rightNode = first;
+		node.leftNode = first.leftNode;
+		first.leftNode.rightNode = node;
+		first.leftNode = node;
+	}
+
+	/**
+	 * Escribe en channel el contenido del buffer y lo deja vaco
+	 * 
+	 * @param buffer
+	 *            buffer a escribir
+	 * @param channel
+	 *            canal de destino
+	 * @throws IOException
+	 *             error al escribir en channel
+	 */
+	private static void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Crea e inserta un nuevo nodo con la clave dada
+	 * 
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 * 
+	 * @param key
+	 *            clave del nuevo nodo
+	 * @return nodo insertado
+	 */
+	@Override
+	public FibonacciNode insert(int key) {
+		FibonacciNode node = (this.nodePool != null) ? this.nodePool.acquire(key) : new FibonacciNode(key);
+		insert(node);
+		return node;
+	}
+
 	/**
 	 * Inserta un nuevo nodo
 	 * 
@@ -118,6 +793,10 @@ public class FibonacciHeap {
 		}
 
 		cardinal++;
+		if (this.linkBudget > 0) {
+			queue(node);
+			work();
+		}
 	}
 
 	/**
@@ -125,14 +804,30 @@ public class FibonacciHeap {
 	 * montculo
 	 * 
 	 * <p>
-	 * Coste amortizado en O(log n)
+	 * Coste amortizado en O(log n). Con trabajo acotado hace como mucho
+	 * {@link #getLinkBudget()} enlaces
 	 * </p>
 	 * 
 	 * @return nodo con la clave mspequea
 	 */
 	public FibonacciNode removeMin() {
+		FibonacciNode node = unlinkMin();
+		if (node != null) {
+			release(node);
+		}
+		return node;
+	}
+
+	/**
+	 * Saca el mnimo del montculo y consolida, sin devolverlo a la reserva
+	 * de nodos
+	 * 
+	 * @return nodo con la clave ms pequea o null si el montculo est vaco
+	 */
+	private FibonacciNode unlinkMin() {
 		FibonacciNode tempMin = this.min;
 		if (tempMin != null) {
+			unindex(tempMin);
 			int minDegree = tempMin.degree;
 			FibonacciNode minChildNode = tempMin.childNode;
 			FibonacciNode tempRight;
@@ -150,6 +845,9 @@ public class FibonacciHeap {
 				this.min.rightNode = minChildNode;
 				minChildNode.rightNode.leftNode = minChildNode;
 				minChildNode.parentNode = null;
+				if (this.linkBudget > 0) {
+					queue(minChildNode);
+				}
 				minChildNode = tempRight;
 				minDegree--;
 			}
@@ -160,8 +858,12 @@ public class FibonacciHeap {
 			 */
 			tempMin.leftNode.rightNode = tempMin.rightNode;
 			tempMin.rightNode.leftNode = tempMin.leftNode;
+			unmark(tempMin);
 			if (tempMin == tempMin.rightNode) {
 				this.min = null;
+				if (this.linkBudget > 0) {
+					this.pendingRoots.clear();
+				}
 			} else {
 				this.min = tempMin.rightNode;
 				consolidate();
@@ -172,6 +874,171 @@ public class FibonacciHeap {
 		return tempMin;
 	}
 
+	/**
+	 * Elimina los k nodos con menor clave consolidando el montculo una sola
+	 * vez al final. Los mnimos se buscan con una cola auxiliar que contiene
+	 * la lista de raices, a la que se aaden los hijos de cada nodo extrado
+	 * 
+	 * <p>
+	 * Coste amortizado en O(k log n)
+	 * </p>
+	 * 
+	 * @param k
+	 *            nmero de nodos a extraer
+	 * @return nodos extrados ordenados de menor a mayor clave, como mucho
+	 *         size() nodos
+	 * 
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que k sea negativo
+	 */
+	public FibonacciNode[] removeMin(int k) throws IllegalArgumentException {
+		if (k < 0) {
+			throw new IllegalArgumentException("Negative number of nodes");
+		}
+		FibonacciNode[] nodes = new FibonacciNode[Math.min(k, this.cardinal)];
+		extract(nodes.length, nodes, null);
+		return nodes;
+	}
+
+	/**
+	 * Elimina los k nodos con menor clave y guarda sus claves en out,
+	 * consolidando el montculo una sola vez al final
+	 * 
+	 * <p>
+	 * Coste amortizado en O(k log n)
+	 * </p>
+	 * 
+	 * @param out
+	 *            array en el que se guardan las claves de menor a mayor
+	 * @param k
+	 *            nmero de nodos a extraer
+	 * @return nmero de nodos extrados, como mucho size()
+	 * 
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que k sea negativo o mayor que el
+	 *                tamao de out
+	 */
+	public int drainTo(int[] out, int k) throws IllegalArgumentException {
+		if (k < 0 || k > out.length) {
+			throw new IllegalArgumentException("Invalid number of nodes");
+		}
+		int count = Math.min(k, this.cardinal);
+		extract(count, null, out);
+		return count;
+	}
+
+	/**
+	 * Devuelve los k nodos con menor clave sin modificar el montculo
+	 * 
+	 * <p>
+	 * Coste en O(r + k log(r + k)), siendo r el nmero de raices
+	 * </p>
+	 * 
+	 * @param k
+	 *            nmero de nodos
+	 * @return nodos ordenados de menor a mayor clave, como mucho size()
+	 *         nodos
+	 * 
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que k sea negativo
+	 */
+	public FibonacciNode[] peekMin(int k) throws IllegalArgumentException {
+		if (k < 0) {
+			throw new IllegalArgumentException("Negative number of nodes");
+		}
+		FibonacciNode[] nodes = new FibonacciNode[Math.min(k, this.cardinal)];
+		if (nodes.length == 0) {
+			return nodes;
+		}
+		Candidates candidates = new Candidates(this.min);
+		for (int i = 0; i < nodes.length; i++) {
+			FibonacciNode node = candidates.poll();
+			nodes[i] = node;
+			FibonacciNode child = node.childNode;
+			for (int j = node.degree; j > 0; j--) {
+				candidates.add(child);
+				child = child.rightNode;
+			}
+		}
+		return nodes;
+	}
+
+	/**
+	 * Extrae los count nodos con menor clave. Cada nodo extrado es siempre
+	 * una raiz, ya que su padre tiene menor clave y se ha extrado antes, as
+	 * que basta con subir sus hijos a la lista de raices y sacarlo de ella
+	 * 
+	 * @param count
+	 *            nmero de nodos a extraer, como mucho size()
+	 * @param nodes
+	 *            array en el que guardar los nodos extrados, o null
+	 * @param keys
+	 *            array en el que guardar las claves extradas, o null
+	 */
+	private void extract(int count, FibonacciNode[] nodes, int[] keys) {
+		if (count == 0) {
+			return;
+		}
+		if (count == 1) {
+			/*
+			 * Con un nico nodo la cola auxiliar no ahorra nada
+			 */
+			FibonacciNode node = removeMin();
+			if (nodes != null) {
+				nodes[0] = node;
+			}
+			if (keys != null) {
+				keys[0] = node.key;
+			}
+			return;
+		}
+		Candidates candidates = new Candidates(this.min);
+		FibonacciNode root = null;
+		for (int i = 0; i < count; i++) {
+			FibonacciNode node = candidates.poll();
+			if (nodes != null) {
+				nodes[i] = node;
+			}
+			if (keys != null) {
+				keys[i] = node.key;
+			}
+			unindex(node);
+
+			/*
+			 * Insertamos la lista de hijos completa a la derecha del nodo y
+			 * despus sacamos el nodo de la lista de raices
+			 */
+			FibonacciNode child = node.childNode;
+			if (child != null) {
+				FibonacciNode last = child.leftNode;
+				for (int j = node.degree; j > 0; j--) {
+					child.parentNode = null;
+					candidates.add(child);
+					if (this.linkBudget > 0) {
+						queue(child);
+					}
+					child = child.rightNode;
+				}
+				last.rightNode = node.rightNode;
+				node.rightNode.leftNode = last;
+				node.rightNode = child;
+				child.leftNode = node;
+			}
+			node.leftNode.rightNode = node.rightNode;
+			node.rightNode.leftNode = node.leftNode;
+			root = (node.rightNode == node) ? null : node.rightNode;
+			unmark(node);
+			release(node);
+			this.cardinal--;
+		}
+		this.min = root;
+		if (root != null) {
+			consolidate();
+		} else if (this.linkBudget > 0) {
+			this.pendingRoots.clear();
+		}
+	}
+
 	/**
 	 * Representacin visual del montculo
 	 * 
@@ -236,76 +1103,286 @@ public class FibonacciHeap {
 	/**
 	 * Crea una cadena con la informacin de todos los nodos del montculo
 	 * 
-	 * @return
+	 * @return cadena con la informacin de los nodos
 	 */
 	public String nodeVisualization() {
-		if (this.min == null) {
-			return "Empty Fibonacci Heap\n";
+		StringBuilder buffer = new StringBuilder();
+		try {
+			writeVisualization(buffer, 0, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+		} catch (IOException e) {
+			// StringBuilder nunca lanza IOException
+			throw new IllegalStateException(e);
 		}
+		return buffer.toString();
+	}
 
-		Stack<Object> stack = new Stack<Object>();
-		FibonacciNode nod = this.min.rightNode;
-		HashMap<FibonacciNode, Integer> hasMap = new HashMap<FibonacciNode, Integer>();
+	/**
+	 * Escribe la informacin de los nodos en out a medida que los recorre, con
+	 * el mismo formato que nodeVisualization. El recorrido en profundidad
+	 * sigue los punteros de los propios nodos, por lo que no necesita pila ni
+	 * tabla de niveles
+	 * 
+	 * <p>
+	 * Coste en O(firstRoot + nodos escritos)
+	 * </p>
+	 * 
+	 * @param out
+	 *            destino de la informacin
+	 * @param firstRoot
+	 *            nmero de raices que se saltan, empezando por el mnimo
+	 * @param maxRoots
+	 *            nmero mximo de raices cuyos rboles se escriben
+	 * @param maxDepth
+	 *            profundidad mxima; de los nodos cuyos hijos quedan por debajo
+	 *            solo se escribe cuntos hijos tienen
+	 * @param maxNodes
+	 *            nmero mximo de nodos escritos
+	 * @return nmero de nodos escritos
+	 * @throws IOException
+	 *             error al escribir en out
+	 */
+	@Override
+	public int writeVisualization(Appendable out, int firstRoot, int maxRoots, int maxDepth, int maxNodes)
+			throws IOException {
+		if (this.min == null) {
+			out.append("Empty Fibonacci Heap\n");
+			return 0;
+		}
+		out.append("Fibonacci Heap console log:\n");
 
 		/*
-		 * Metemos en la pila todos los nodos raiz, y tambin en el hash map
-		 * junto con su nivel de profundidad dentro de la estructura
+		 * Las raices se recorren hacia la izquierda empezando por el mnimo,
+		 * igual que los hijos de cada nodo empezando por childNode
 		 */
-		while (nod != this.min) {
-			stack.push(nod);
-			hasMap.put(nod, 0);
-			nod = nod.rightNode;
+		FibonacciNode node = this.min;
+		for (int i = 0; i < firstRoot; i++) {
+			node = node.leftNode;
+			if (node == this.min) {
+				return 0;
+			}
 		}
-		stack.push(this.min);
-		hasMap.put(this.min, 0);
 
-		StringBuffer buffer = new StringBuffer("");
-		buffer.append("Fibonacci Heap console log:\n");
+		int written = 0;
+		int roots = 0;
+		int depth = 0;
+		while (true) {
+			if (written == maxNodes) {
+				out.append("...\n");
+				return written;
+			}
+			appendIdentation(out, depth);
+			out.append(Integer.toString(node.key));
+			if (node.childNode != null && depth == maxDepth) {
+				out.append(" (+").append(Integer.toString(node.degree)).append(")");
+			}
+			out.append('\n');
+			written++;
 
-		/*
-		 * Mientras la pila no se vacie procesamos todos los hijos de cada nodo
-		 * sacado, obteniendo su informacin
-		 */
-		while (!stack.empty()) {
-			FibonacciNode starNode = (FibonacciNode) stack.pop();
-			if (hasMap.get(starNode) != 0)
-				buffer.append(getIdentation(hasMap.get(starNode)));
-			buffer.append(starNode.key + "\n");
-			FibonacciNode initialNode = starNode;
-			if (starNode.childNode != null) {
-				initialNode = starNode.childNode.rightNode;
-				while (initialNode != starNode.childNode) {
-					stack.push(initialNode);
-
-					hasMap.put(initialNode, hasMap.get(starNode) + 1);
-
-					initialNode = initialNode.rightNode;
+			/*
+			 * Bajamos al primer hijo si no superamos la profundidad mxima
+			 */
+			if (node.childNode != null && depth < maxDepth) {
+				node = node.childNode;
+				depth++;
+				continue;
+			}
+
+			/*
+			 * En otro caso pasamos al siguiente hermano, subiendo por los
+			 * padres mientras sus listas de hijos estn terminadas
+			 */
+			while (depth > 0 && node.leftNode == node.parentNode.childNode) {
+				node = node.parentNode;
+				depth--;
+			}
+			node = node.leftNode;
+			if (depth == 0) {
+				roots++;
+				if (node == this.min) {
+					return written;
+				}
+				if (roots == maxRoots) {
+					out.append("...\n");
+					return written;
 				}
-				stack.push(starNode.childNode);
+			}
+		}
+	}
+
+	/**
+	 * Recorre todos los nodos del montculo en preorden sin modificarlo. El
+	 * montculo no debe modificarse mientras dure el recorrido
+	 * 
+	 * @return iterador sobre los nodos
+	 */
+	@Override
+	public Iterator<FibonacciNode> iterator() {
+		return Spliterators.iterator(spliterator());
+	}
+
+	/**
+	 * Spliterator sobre todos los nodos del montculo que se divide repartiendo
+	 * la lista de raices y, cuando queda un nico rbol, la lista de hijos de
+	 * su raiz. El montculo no debe modificarse mientras dure el recorrido
+	 * 
+	 * @return spliterator sobre los nodos
+	 */
+	@Override
+	public Spliterator<FibonacciNode> spliterator() {
+		int roots = 0;
+		if (this.min != null) {
+			FibonacciNode root = this.min;
+			do {
+				roots++;
+				root = root.rightNode;
+			} while (root != this.min);
+		}
+		return new NodeSpliterator(null, this.min, roots, this.cardinal, true);
+	}
+
+	/**
+	 * Flujo sobre todos los nodos del montculo, que puede hacerse paralelo
+	 * con parallel(). El montculo no debe modificarse mientras se use
+	 * 
+	 * @return flujo de nodos
+	 */
+	public Stream<FibonacciNode> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * Devuelve como mucho count raices a partir de la posicin from, empezando
+	 * por el mnimo
+	 * 
+	 * <p>
+	 * Coste en O(from + count)
+	 * </p>
+	 * 
+	 * @param from
+	 *            posicin de la primera raiz
+	 * @param count
+	 *            nmero mximo de raices
+	 * @return lista de raices
+	 */
+	@Override
+	public List<FibonacciNode> roots(int from, int count) {
+		List<FibonacciNode> roots = new ArrayList<FibonacciNode>();
+		if (this.min == null || count <= 0) {
+			return roots;
+		}
+		FibonacciNode node = this.min;
+		for (int i = 0; i < from; i++) {
+			node = node.leftNode;
+			if (node == this.min) {
+				return roots;
+			}
+		}
+		do {
+			roots.add(node);
+			node = node.leftNode;
+		} while (node != this.min && roots.size() < count);
+		return roots;
+	}
+
+	/**
+	 * Devuelve los hijos de un nodo
+	 * 
+	 * <p>
+	 * Coste en O(grado del nodo)
+	 * </p>
+	 * 
+	 * @param node
+	 *            nodo padre
+	 * @return lista de hijos
+	 */
+	@Override
+	public List<FibonacciNode> children(FibonacciNode node) {
+		List<FibonacciNode> children = new ArrayList<FibonacciNode>(node.degree);
+		FibonacciNode child = node.childNode;
+		for (int i = 0; i < node.degree; i++) {
+			children.add(child);
+			child = child.leftNode;
+		}
+		return children;
+	}
 
-				hasMap.put(starNode.childNode, hasMap.get(starNode) + 1);
+	/**
+	 * Escribe la identacin correspondiente al nivel de un nodo
+	 * 
+	 * @param out
+	 *            destino
+	 * @param depth
+	 *            nivel del nodo
+	 * @throws IOException
+	 *             error al escribir en out
+	 */
+	private static void appendIdentation(Appendable out, int depth) throws IOException {
+		if (depth == 0) {
+			return;
+		}
+		out.append('|');
+		for (int x = 0; x <= depth - 2; x++) {
+			out.append("   |");
+		}
+		out.append("---");
+	}
 
+	/**
+	 * Sube todos los hijos de un nodo a la lista de raices, dejndolo sin
+	 * hijos
+	 * 
+	 * <p>
+	 * Coste en O(log n)
+	 * </p>
+	 * 
+	 * @param node
+	 *            nodo cuyos hijos se suben
+	 */
+	private void promoteChildren(FibonacciNode node) {
+		FibonacciNode childNode = node.childNode;
+		for (int i = node.degree; i > 0; i--) {
+			FibonacciNode tempRight = childNode.rightNode;
+			childNode.parentNode = null;
+			childNode.leftNode = this.min;
+			childNode.rightNode = this.min.rightNode;
+			this.min.rightNode = childNode;
+			childNode.rightNode.leftNode = childNode;
+			if (this.linkBudget > 0) {
+				queue(childNode);
 			}
-			hasMap.remove(starNode);
+			childNode = tempRight;
 		}
-		return buffer.toString();
+		node.childNode = null;
+		node.degree = 0;
 	}
 
 	/**
-	 * Devuelve una cadena apropiada en funcin del nivel de identacin del nodo
+	 * Devuelve un nodo extrado a la reserva, si la hay y no se est usando
+	 * trabajo acotado
 	 * 
-	 * @param i
-	 *            nivel del nodo
-	 * @return cadena con su representacin
+	 * @param node
+	 *            nodo extrado
 	 */
-	private String getIdentation(Integer i) {
-		StringBuffer buff = new StringBuffer("|");
-		for (int x = 0; x <= i - 2; x++) {
-			buff.append("   |");
+	private void release(FibonacciNode node) {
+		if (this.nodePool != null && this.linkBudget == 0) {
+			this.nodePool.release(node);
 		}
-		buff.append("---");
+	}
 
-		return buff.toString();
+	/**
+	 * Deja un nodo extrado del montculo como recin creado, formando una
+	 * lista de un nico elemento
+	 * 
+	 * @param node
+	 *            nodo a reiniciar
+	 */
+	private void resetNode(FibonacciNode node) {
+		node.leftNode = node;
+		node.rightNode = node;
+		node.parentNode = null;
+		node.childNode = null;
+		node.degree = 0;
+		unmark(node);
 	}
 
 	/**
@@ -320,25 +1397,36 @@ public class FibonacciHeap {
 	 *            nodo a desvincular
 	 */
 	private void cascadingCut(FibonacciNode child) {
+		int depth = 0;
 		FibonacciNode parent = child.parentNode;
 		/*
-		 * Si parent est a null y el hijo no est marcado lo marcamos, y en
-		 * caso de que el hijo no este marcado llamamos a cut y cascadingCut
+		 * Mientras child tenga padre: si no est marcado lo marcamos y
+		 * terminamos, en otro caso lo desvinculamos y seguimos con su padre
 		 */
-		if (parent != null) {
+		while (parent != null) {
 			if (!child.mark) {
 				child.mark = true;
-			} else {
-				cut(child, parent);
-				cascadingCut(parent);
+				if (this.statistics != null) {
+					this.statistics.markedNodes++;
+				}
+				break;
 			}
+			cut(child, parent);
+			depth++;
+			child = parent;
+			parent = child.parentNode;
+		}
+		if (this.statistics != null) {
+			this.statistics.cascade(depth);
 		}
 	}
 
 	/**
 	 * 
 	 * Consolida los rboles del montculo uniendo los de igual grado hasta que
-	 * no haya ninguno con el mismo grado en la lista de raices
+	 * no haya ninguno con el mismo grado en la lista de raices. La lista de
+	 * raices se recorre una nica vez y el array de grados, acotado por
+	 * log_phi(n), se reutiliza entre llamadas
 	 * 
 	 * <p>
 	 * Coste amortizado en O(log n)
@@ -346,39 +1434,42 @@ public class FibonacciHeap {
 	 * 
 	 */
 	protected void consolidate() {
+		if (this.linkBudget > 0) {
+			consolidateBounded();
+			return;
+		}
 
-		// Creamos el array de grados y la inicializamos a null
-		int size = cardinal;
-		FibonacciNode[] nodeArray = new FibonacciNode[size];
-		for (int i = 0; i < size; i++) {
-			nodeArray[i] = null;
+		// Obtenemos el array de grados, que tiene todas sus posiciones a null
+		FibonacciNode[] nodeArray = degreeTable(cardinal);
+		int maxDegree = -1;
+		int roots = 0;
+		FibonacciHeapStatistics.ConsolidationEvent event = null;
+		if (this.statistics != null) {
+			event = this.statistics.beginConsolidation();
 		}
 
-		// Calculamos el nmero de nodos que tenemos en la raz del montculo
-		int rootsNode = 0;
+		/*
+		 * Rompemos la lista circular de raices por la izquierda del mnimo,
+		 * de modo que podamos recorrerla una sola vez hasta llegar a null sin
+		 * necesidad de contar antes el nmero de raices
+		 */
 		FibonacciNode min = this.min;
-		if (min != null) {
-			rootsNode++;
-			min = min.rightNode;
-			while (min != this.min) {
-				rootsNode++;
-				min = min.rightNode;
-			}
-		}
+		min.leftNode.rightNode = null;
 
 		/*
 		 * En este bucle procesamos por completo todos los nodos de la raz con
 		 * el fin de aplicar la operacin de linkado para as tener nodos de
 		 * diferente grado
 		 */
-		while (rootsNode > 0) {
+		while (min != null) {
 
 			/*
-			 * Partimos del mnimo, para ello tomanos su grado y el nodo a su
-			 * derecha
+			 * Tomamos el grado del nodo actual y el nodo a su derecha antes de
+			 * que link pueda modificar sus referencias
 			 */
 			int tempDegree = min.degree;
 			FibonacciNode nextNode = min.rightNode;
+			roots++;
 
 			/*
 			 * Entramos en el bucle en caso de que haya otro nodo con el mismo
@@ -400,10 +1491,10 @@ public class FibonacciHeap {
 				}
 
 				/*
-				 * Eliminarmos tempNode de la lista de nodos raz y pasa a ser
-				 * hijo de min
+				 * tempNode pasa a ser hijo de min. No es necesario sacarlo de
+				 * la lista de raices porque sta se reconstruye al final
 				 */
-				link(tempNode, min);
+				addChild(tempNode, min);
 
 				/*
 				 * Al haber linkado los nodos anteriores, el grado del padre
@@ -419,57 +1510,173 @@ public class FibonacciHeap {
 			 * posteriormente nos encontramos con otro nodo con el mismo grado.
 			 */
 			nodeArray[tempDegree] = min;
+			if (tempDegree > maxDegree) {
+				maxDegree = tempDegree;
+			}
 
-			/*
-			 * Pasamos al siguiente nodo y reducimos en 1 el contador.
-			 */
+			// Pasamos al siguiente nodo
 			min = nextNode;
-			rootsNode--;
 		}
 
 		/*
-		 * Una vez hemos procesado todos los nodos de la raz podemos poner el
-		 * mnimo a null para actualizar su valor en el siguiente bucle, donde
-		 * reconstruiremos la lista de nodos de la raz (poner a null el mnimo
-		 * implica perder la referencia a la lista de raices, aunque no importa
-		 * pues construiremos la nueva en base al array de grados).
+		 * Una vez hemos procesado todos los nodos de la raz reconstruimos la
+		 * lista de raices a partir del array de grados, dejando a null cada
+		 * posicin para la siguiente consolidacin
 		 */
-
 		this.min = null;
 
-		for (int i = 0; i < size; i++) {
-			/*
-			 * Para cada posicin del array de grados aadimos un nuevo elemento
-			 * a la lista de raices y actualizamos el mnimo
-			 */
-			if (nodeArray[i] != null) {
+		for (int i = 0; i <= maxDegree; i++) {
+			FibonacciNode root = nodeArray[i];
+			if (root != null) {
+				nodeArray[i] = null;
 				if (this.min != null) {
 					/*
-					 * Tomamos la posicin i-esima ocupada del array de grados,
-					 * eliminamos las referencias hecia el elemento previo y el
-					 * siguiente en la lista
-					 */
-					nodeArray[i].leftNode.rightNode = nodeArray[i].rightNode;
-					nodeArray[i].rightNode.leftNode = nodeArray[i].leftNode;
-					/*
-					 * Colocamos el nuevo elemento a la derecha del mnimo, y
-					 * reasignamos los punteros del mnimo, el elemento que
-					 * haba antes a su derecha y el nuevo elemento que vamos a
-					 * introducir
-					 */
-					nodeArray[i].leftNode = this.min;
-					nodeArray[i].rightNode = this.min.rightNode;
-					this.min.rightNode = nodeArray[i];
-					nodeArray[i].rightNode.leftNode = nodeArray[i];
-					/*
-					 * Actualizamos el mnimo si es necesario
+					 * Colocamos el nuevo elemento a la derecha del mnimo y
+					 * actualizamos el mnimo si es necesario
 					 */
-					if (nodeArray[i].key < this.min.key) {
-						this.min = nodeArray[i];
+					root.leftNode = this.min;
+					root.rightNode = this.min.rightNode;
+					this.min.rightNode = root;
+					root.rightNode.leftNode = root;
+					if (root.key < this.min.key) {
+						this.min = root;
 					}
 				} else {
-					this.min = nodeArray[i];
+					root.leftNode = root;
+					root.rightNode = root;
+					this.min = root;
+				}
+			}
+		}
+		if (event != null) {
+			this.statistics.endConsolidation(event, roots, maxDegree, this.cardinal);
+		}
+	}
+
+	/**
+	 * Devuelve el array de grados usado por consolidate, amplindolo si no es
+	 * suficiente para un montculo de n elementos. El grado de un nodo est
+	 * acotado por log_phi(n), siendo phi la razn urea
+	 * 
+	 * @param n
+	 *            nmero de elementos del montculo
+	 * @return array de grados con todas sus posiciones a null
+	 */
+	private FibonacciNode[] degreeTable(int n) {
+		int size = (int) (Math.log(Math.max(n, 1)) * INV_LOG_PHI) + 2;
+		if (this.degreeTable.length < size) {
+			this.degreeTable = new FibonacciNode[size];
+		}
+		return this.degreeTable;
+	}
+
+	/**
+	 * Consolidacin con trabajo acotado: busca el nuevo mnimo recorriendo la
+	 * lista de raices, que solo contiene las raices del ndice y las
+	 * pendientes, y despus enlaza raices pendientes sin pasar del presupuesto
+	 * 
+	 * <p>
+	 * Coste en O(r + b), siendo r el nmero de raices y b el presupuesto
+	 * </p>
+	 */
+	private void consolidateBounded() {
+		FibonacciHeapStatistics.ConsolidationEvent event = null;
+		if (this.statistics != null) {
+			event = this.statistics.beginConsolidation();
+		}
+		FibonacciNode root = this.min;
+		FibonacciNode min = root;
+		int roots = 0;
+		int maxDegree = 0;
+		do {
+			if (root.key < min.key) {
+				min = root;
+			}
+			if (root.degree > maxDegree) {
+				maxDegree = root.degree;
+			}
+			roots++;
+			root = root.rightNode;
+		} while (root != this.min);
+		this.min = min;
+		work();
+		if (event != null) {
+			this.statistics.endConsolidation(event, roots, maxDegree, this.cardinal);
+		}
+	}
+
+	/**
+	 * Pasa raices pendientes al ndice por grado hasta que no quede ninguna o
+	 * se agote el presupuesto de enlaces. Cada raiz sin pareja ocupa una
+	 * posicin libre del ndice, as que el nmero de raices sacadas est
+	 * acotado por el presupuesto ms el tamao del ndice
+	 * 
+	 * <p>
+	 * Coste en O(b + log n), siendo b el presupuesto
+	 * </p>
+	 */
+	private void work() {
+		int links = 0;
+		FibonacciNode[] index = this.rootIndex;
+		while (!this.pendingRoots.isEmpty()) {
+			FibonacciNode root = this.pendingRoots.pollFirst();
+			if (!root.queued) {
+				continue;
+			}
+			root.queued = false;
+			int degree = root.degree;
+			while (degree < index.length && index[degree] != null) {
+				if (links == this.linkBudget) {
+					queue(root);
+					return;
+				}
+				FibonacciNode other = index[degree];
+				index[degree] = null;
+				/*
+				 * La raiz de mayor clave pasa a ser hija de la otra. Con claves
+				 * iguales el mnimo debe seguir siendo una raiz
+				 */
+				if (other.key < root.key || (other.key == root.key && other == this.min)) {
+					FibonacciNode aux = other;
+					other = root;
+					root = aux;
 				}
+				link(other, root);
+				links++;
+				degree++;
+			}
+			if (degree >= index.length) {
+				int size = (int) (Math.log(Math.max(this.cardinal, 1)) * INV_LOG_PHI) + 2;
+				index = Arrays.copyOf(index, Math.max(degree + 1, size));
+				this.rootIndex = index;
+			}
+			index[degree] = root;
+		}
+	}
+
+	/**
+	 * Aade una raiz a las pendientes de pasar al ndice
+	 * 
+	 * @param root
+	 *            raiz nueva o cuyo grado ha cambiado
+	 */
+	private void queue(FibonacciNode root) {
+		root.queued = true;
+		this.pendingRoots.addLast(root);
+	}
+
+	/**
+	 * Saca una raiz del ndice y de las pendientes antes de extraerla o de
+	 * cambiar su grado
+	 * 
+	 * @param node
+	 *            nodo a sacar
+	 */
+	private void unindex(FibonacciNode node) {
+		if (this.linkBudget > 0) {
+			node.queued = false;
+			if (node.degree < this.rootIndex.length && this.rootIndex[node.degree] == node) {
+				this.rootIndex[node.degree] = null;
 			}
 		}
 	}
@@ -513,7 +1720,22 @@ public class FibonacciHeap {
 		this.min.rightNode = child;
 		child.rightNode.leftNode = child;
 		child.parentNode = null;
-		child.mark = false;
+		unmark(child);
+		if (this.linkBudget > 0) {
+			/*
+			 * Si el padre es una raiz indexada su grado ya no es el de su
+			 * posicin en el ndice
+			 */
+			if (parent.parentNode == null && this.rootIndex.length > parent.degree + 1
+					&& this.rootIndex[parent.degree + 1] == parent) {
+				this.rootIndex[parent.degree + 1] = null;
+				queue(parent);
+			}
+			queue(child);
+		}
+		if (this.statistics != null) {
+			this.statistics.cut();
+		}
 	}
 
 	/**
@@ -534,6 +1756,23 @@ public class FibonacciHeap {
 		 */
 		child.leftNode.rightNode = child.rightNode;
 		child.rightNode.leftNode = child.leftNode;
+		addChild(child, parent);
+	}
+
+	/**
+	 * Hace a child hijo de parent sin modificar la lista en la que estuviera
+	 * child, que debe haber sido desvinculado previamente
+	 * 
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 * 
+	 * @param child
+	 *            nuevo nodo hijo
+	 * @param parent
+	 *            nodo padre
+	 */
+	private void addChild(FibonacciNode child, FibonacciNode parent) {
 		child.parentNode = parent;
 		/*
 		 * Si el padre no tenas hijos hacemos que child sea su nuevo hijo, en
@@ -551,7 +1790,336 @@ public class FibonacciHeap {
 			child.rightNode.leftNode = child;
 		}
 		parent.degree++;
-		child.mark = false;
+		unmark(child);
+		if (this.statistics != null) {
+			this.statistics.link();
+		}
+	}
+
+	/**
+	 * Desmarca un nodo, actualizando el contador de nodos marcados
+	 * 
+	 * @param node
+	 *            nodo a desmarcar
+	 */
+	private void unmark(FibonacciNode node) {
+		if (node.mark) {
+			node.mark = false;
+			if (this.statistics != null) {
+				this.statistics.markedNodes--;
+			}
+		}
+	}
+
+	/**
+	 * Cuenta los nodos marcados de un bosque recorrindolo en preorden
+	 * 
+	 * <p>
+	 * Coste en O(n)
+	 * </p>
+	 * 
+	 * @param first
+	 *            primera raiz del bosque, o null si est vaco
+	 * @return nmero de nodos marcados
+	 */
+	private static long countMarked(FibonacciNode first) {
+		long marked = 0;
+		FibonacciNode node = first;
+		while (node != null) {
+			if (node.mark) {
+				marked++;
+			}
+			if (node.childNode != null) {
+				node = node.childNode;
+				continue;
+			}
+			while (node.parentNode != null && node.rightNode == node.parentNode.childNode) {
+				node = node.parentNode;
+			}
+			node = node.rightNode;
+			if (node.parentNode == null && node == first) {
+				node = null;
+			}
+		}
+		return marked;
+	}
+
+	/**
+	 * Spliterator que recorre en preorden un nodo suelto, sin sus hijos, y
+	 * un tramo de count hermanos consecutivos con todos sus descendientes
+	 * 
+	 * @author Javier Corts Tejada
+	 *
+	 */
+	private static class NodeSpliterator implements Spliterator<FibonacciNode> {
+
+		/**
+		 * Nodo que se recorre antes del tramo, sin sus hijos, o null
+		 */
+		private FibonacciNode head;
+
+		/**
+		 * Primer hermano del tramo
+		 */
+		private FibonacciNode first;
+
+		/**
+		 * Nmero de hermanos del tramo
+		 */
+		private int count;
+
+		/**
+		 * Padre comn de los hermanos del tramo, null si son raices
+		 */
+		private FibonacciNode parent;
+
+		/**
+		 * Siguiente nodo a recorrer dentro del tramo, null si an no se ha
+		 * empezado
+		 */
+		private FibonacciNode next;
+
+		/**
+		 * Estimacin del nmero de nodos
+		 */
+		private long estimate;
+
+		/**
+		 * Indica si la estimacin es exacta, lo que solo ocurre antes de
+		 * dividirse
+		 */
+		private boolean exact;
+
+		NodeSpliterator(FibonacciNode head, FibonacciNode first, int count, long estimate, boolean exact) {
+			this.head = head;
+			this.first = first;
+			this.count = count;
+			this.parent = (first == null) ? null : first.parentNode;
+			this.estimate = estimate;
+			this.exact = exact;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super FibonacciNode> action) {
+			if (this.head != null) {
+				FibonacciNode node = this.head;
+				this.head = null;
+				action.accept(node);
+				return true;
+			}
+			if (this.count == 0) {
+				return false;
+			}
+			FibonacciNode node = (this.next == null) ? this.first : this.next;
+			this.next = following(node);
+			if (this.next == null) {
+				this.count = 0;
+			}
+			action.accept(node);
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super FibonacciNode> action) {
+			while (tryAdvance(action)) {
+			}
+		}
+
+		@Override
+		public Spliterator<FibonacciNode> trySplit() {
+			if (this.next != null || this.count == 0) {
+				return null;
+			}
+			/*
+			 * Con un nico rbol su raiz pasa a recorrerse suelta y el tramo
+			 * pasa a ser la lista de sus hijos
+			 */
+			if (this.count == 1 && this.head == null && this.first.degree > 0) {
+				this.head = this.first;
+				this.parent = this.first;
+				this.count = this.first.degree;
+				this.first = this.first.childNode;
+			}
+			if (this.count < 2) {
+				return null;
+			}
+			int half = this.count >>> 1;
+			FibonacciNode start = this.first;
+			for (int i = 0; i < half; i++) {
+				this.first = this.first.rightNode;
+			}
+			this.count -= half;
+			this.estimate >>>= 1;
+			this.exact = false;
+			return new NodeSpliterator(null, start, half, this.estimate, false);
+		}
+
+		@Override
+		public long estimateSize() {
+			return this.estimate;
+		}
+
+		@Override
+		public int characteristics() {
+			return this.exact ? (NONNULL | DISTINCT | SIZED) : (NONNULL | DISTINCT);
+		}
+
+		/**
+		 * Siguiente nodo en preorden dentro del tramo
+		 * 
+		 * @param node
+		 *            nodo actual
+		 * @return siguiente nodo o null si el tramo ha terminado
+		 */
+		private FibonacciNode following(FibonacciNode node) {
+			if (node.childNode != null) {
+				return node.childNode;
+			}
+			while (node.parentNode != this.parent && node.rightNode == node.parentNode.childNode) {
+				node = node.parentNode;
+			}
+			if (node.parentNode == this.parent) {
+				if (--this.count == 0) {
+					return null;
+				}
+			}
+			return node.rightNode;
+		}
+	}
+
+	/**
+	 * Cola de prioridad binaria de nodos usada por removeMin(k) y peekMin(k)
+	 * para buscar los siguientes mnimos entre las raices y los hijos de los
+	 * nodos ya extrados
+	 * 
+	 * @author Javier Corts Tejada
+	 *
+	 */
+	private static class Candidates {
+
+		private FibonacciNode[] queue;
+
+		private int size;
+
+		/**
+		 * Crea la cola con todos los nodos de una lista de raices
+		 * 
+		 * <p>
+		 * Coste en O(r)
+		 * </p>
+		 * 
+		 * @param first
+		 *            nodo de la lista de raices
+		 */
+		Candidates(FibonacciNode first) {
+			this.queue = new FibonacciNode[16];
+			FibonacciNode node = first;
+			do {
+				if (this.size == this.queue.length) {
+					this.queue = Arrays.copyOf(this.queue, this.size << 1);
+				}
+				this.queue[this.size++] = node;
+				node = node.rightNode;
+			} while (node != first);
+			for (int i = (this.size >>> 1) - 1; i >= 0; i--) {
+				siftDown(this.queue[i], i);
+			}
+		}
+
+		void add(FibonacciNode node) {
+			if (this.size == this.queue.length) {
+				this.queue = Arrays.copyOf(this.queue, this.size << 1);
+			}
+			int index = this.size++;
+			while (index > 0) {
+				int parent = (index - 1) >>> 1;
+				if (this.queue[parent].key <= node.key) {
+					break;
+				}
+				this.queue[index] = this.queue[parent];
+				index = parent;
+			}
+			this.queue[index] = node;
+		}
+
+		FibonacciNode poll() {
+			FibonacciNode result = this.queue[0];
+			FibonacciNode last = this.queue[--this.size];
+			this.queue[this.size] = null;
+			if (this.size > 0) {
+				siftDown(last, 0);
+			}
+			return result;
+		}
+
+		private void siftDown(FibonacciNode node, int index) {
+			int half = this.size >>> 1;
+			while (index < half) {
+				int child = 2 * index + 1;
+				if (child + 1 < this.size && this.queue[child + 1].key < this.queue[child].key) {
+					child++;
+				}
+				if (node.key <= this.queue[child].key) {
+					break;
+				}
+				this.queue[index] = this.queue[child];
+				index = child;
+			}
+			this.queue[index] = node;
+		}
+	}
+
+	/**
+	 * Tarea que construye el montculo de un rango de claves, dividindolo en
+	 * dos mitades mientras sea suficientemente grande
+	 * 
+	 * @author Javier Corts Tejada
+	 *
+	 */
+	private static class BuildTask extends RecursiveTask<FibonacciHeap> {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Nmero de claves por debajo del cual se inserta secuencialmente
+		 */
+		private static final int THRESHOLD = 1 << 14;
+
+		private final int[] keys;
+
+		private final FibonacciNode[] nodes;
+
+		private final int from;
+
+		private final int to;
+
+		BuildTask(int[] keys, FibonacciNode[] nodes, int from, int to) {
+			this.keys = keys;
+			this.nodes = nodes;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected FibonacciHeap compute() {
+			if (this.to - this.from <= THRESHOLD) {
+				FibonacciHeap heap = new FibonacciHeap();
+				for (int i = this.from; i < this.to; i++) {
+					FibonacciNode node = new FibonacciNode(this.keys[i]);
+					if (this.nodes != null) {
+						this.nodes[i] = node;
+					}
+					heap.insert(node);
+				}
+				return heap;
+			}
+			int middle = (this.from + this.to) >>> 1;
+			BuildTask left = new BuildTask(this.keys, this.nodes, this.from, middle);
+			left.fork();
+			FibonacciHeap heap = new BuildTask(this.keys, this.nodes, middle, this.to).compute();
+			heap.meld(left.join());
+			return heap;
+		}
 	}
 
 	/**
@@ -561,7 +2129,7 @@ public class FibonacciHeap {
 	 * @author Javier Corts Tejada
 	 *
 	 */
-	public static class FibonacciNode {
+	public static class FibonacciNode implements AddressableHeap.Handle {
 
 		/**
 		 * Nodo referenciado de la lista de nodos hijos
@@ -588,6 +2156,12 @@ public class FibonacciHeap {
 		 */
 		boolean mark;
 
+		/**
+		 * Indica si el nodo est entre las raices pendientes de un montculo
+		 * con trabajo acotado
+		 */
+		boolean queued;
+
 		/**
 		 * Valor del nodo
 		 */
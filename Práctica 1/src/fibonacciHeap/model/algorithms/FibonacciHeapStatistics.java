@@ -0,0 +1,256 @@
+package fibonacciHeap.model.algorithms;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Contadores de la estructura de un {@link FibonacciHeap}, activados con
+ * {@link FibonacciHeap#setStatisticsEnabled(boolean)}. Se pueden publicar como
+ * MBean y cada consolidacin y cada corte en cascada con al menos un corte
+ * generan un evento JFR, de modo que los picos de latencia de removeMin se
+ * pueden relacionar con la forma del montculo
+ *
+ * <p>
+ * Los contadores solo los modifica el hilo que usa el montculo y no estn
+ * sincronizados, por lo que al leerlos desde otro hilo pueden estar
+ * ligeramente desfasados
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class FibonacciHeapStatistics implements FibonacciHeapStatisticsMBean {
+
+	private long links;
+
+	private long cuts;
+
+	private long cascadingCuts;
+
+	private int maxCascadeDepth;
+
+	private long consolidations;
+
+	private int lastRootListLength;
+
+	private int maxRootListLength;
+
+	private int maxDegree;
+
+	/**
+	 * Nmero de nodos marcados, que no se reinicia con reset
+	 */
+	long markedNodes;
+
+	/**
+	 * Constructor
+	 *
+	 * @param markedNodes
+	 *            nmero de nodos marcados del montculo al activar los
+	 *            contadores
+	 */
+	FibonacciHeapStatistics(long markedNodes) {
+		this.markedNodes = markedNodes;
+	}
+
+	@Override
+	public long getLinks() {
+		return this.links;
+	}
+
+	@Override
+	public long getCuts() {
+		return this.cuts;
+	}
+
+	@Override
+	public long getCascadingCuts() {
+		return this.cascadingCuts;
+	}
+
+	@Override
+	public int getMaxCascadeDepth() {
+		return this.maxCascadeDepth;
+	}
+
+	@Override
+	public long getConsolidations() {
+		return this.consolidations;
+	}
+
+	@Override
+	public int getLastRootListLength() {
+		return this.lastRootListLength;
+	}
+
+	@Override
+	public int getMaxRootListLength() {
+		return this.maxRootListLength;
+	}
+
+	@Override
+	public int getMaxDegree() {
+		return this.maxDegree;
+	}
+
+	@Override
+	public long getMarkedNodes() {
+		return this.markedNodes;
+	}
+
+	@Override
+	public void reset() {
+		this.links = 0;
+		this.cuts = 0;
+		this.cascadingCuts = 0;
+		this.maxCascadeDepth = 0;
+		this.consolidations = 0;
+		this.lastRootListLength = 0;
+		this.maxRootListLength = 0;
+		this.maxDegree = 0;
+	}
+
+	/**
+	 * Registra los contadores en el servidor de MBeans de la plataforma con el
+	 * nombre fibonacciHeap:type=FibonacciHeap,name=name
+	 *
+	 * @param name
+	 *            nombre del montculo
+	 * @return nombre con el que se ha registrado
+	 * @throws JMException
+	 *             error al registrar el MBean, por ejemplo si el nombre ya
+	 *             est en uso
+	 */
+	public ObjectName register(String name) throws JMException {
+		ObjectName objectName = new ObjectName("fibonacciHeap:type=FibonacciHeap,name=" + ObjectName.quote(name));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		return objectName;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"links = %d, cuts = %d, cascading cuts = %d, max cascade depth = %d, consolidations = %d, "
+						+ "last root list = %d, max root list = %d, max degree = %d, marked = %d",
+				this.links, this.cuts, this.cascadingCuts, this.maxCascadeDepth, this.consolidations,
+				this.lastRootListLength, this.maxRootListLength, this.maxDegree, this.markedNodes);
+	}
+
+	void link() {
+		this.links++;
+	}
+
+	void cut() {
+		this.cuts++;
+	}
+
+	/**
+	 * Anota una llamada a cascadingCut
+	 *
+	 * @param depth
+	 *            nmero de cortes que ha hecho
+	 */
+	void cascade(int depth) {
+		if (depth == 0) {
+			return;
+		}
+		this.cascadingCuts += depth;
+		if (depth > this.maxCascadeDepth) {
+			this.maxCascadeDepth = depth;
+		}
+		CascadingCutEvent event = new CascadingCutEvent();
+		if (event.shouldCommit()) {
+			event.depth = depth;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Empieza a medir una consolidacin
+	 *
+	 * @return evento de la consolidacin
+	 */
+	ConsolidationEvent beginConsolidation() {
+		ConsolidationEvent event = new ConsolidationEvent();
+		event.begin();
+		event.links = this.links;
+		return event;
+	}
+
+	/**
+	 * Anota el final de una consolidacin
+	 *
+	 * @param event
+	 *            evento devuelto por beginConsolidation
+	 * @param roots
+	 *            nmero de raices al empezar
+	 * @param degree
+	 *            mayor grado de las raices al terminar
+	 * @param size
+	 *            nmero de elementos del montculo
+	 */
+	void endConsolidation(ConsolidationEvent event, int roots, int degree, int size) {
+		this.consolidations++;
+		this.lastRootListLength = roots;
+		if (roots > this.maxRootListLength) {
+			this.maxRootListLength = roots;
+		}
+		if (degree > this.maxDegree) {
+			this.maxDegree = degree;
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.rootListLength = roots;
+			event.maxDegree = degree;
+			event.links = this.links - event.links;
+			event.size = size;
+			event.markedNodes = this.markedNodes;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Evento JFR de una consolidacin
+	 */
+	@Name("fibonacciHeap.Consolidation")
+	@Label("Fibonacci Heap Consolidation")
+	@Category("Fibonacci Heap")
+	static class ConsolidationEvent extends Event {
+
+		@Label("Root List Length")
+		int rootListLength;
+
+		@Label("Links")
+		long links;
+
+		@Label("Max Degree")
+		int maxDegree;
+
+		@Label("Size")
+		int size;
+
+		@Label("Marked Nodes")
+		long markedNodes;
+	}
+
+	/**
+	 * Evento JFR de un corte en cascada
+	 */
+	@Name("fibonacciHeap.CascadingCut")
+	@Label("Fibonacci Heap Cascading Cut")
+	@Category("Fibonacci Heap")
+	@Description("Cascading cut that cut at least one node")
+	static class CascadingCutEvent extends Event {
+
+		@Label("Depth")
+		int depth;
+	}
+}
@@ -0,0 +1,79 @@
+package fibonacciHeap.model.algorithms;
+
+/**
+ * Interfaz JMX de {@link FibonacciHeapStatistics}
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public interface FibonacciHeapStatisticsMBean {
+
+	/**
+	 * Nmero de veces que un rbol ha pasado a ser hijo de otro
+	 *
+	 * @return nmero de enlaces
+	 */
+	long getLinks();
+
+	/**
+	 * Nmero de nodos desvinculados de su padre, incluidos los de los cortes
+	 * en cascada
+	 *
+	 * @return nmero de cortes
+	 */
+	long getCuts();
+
+	/**
+	 * Nmero de cortes hechos por cascadingCut
+	 *
+	 * @return nmero de cortes en cascada
+	 */
+	long getCascadingCuts();
+
+	/**
+	 * Mayor nmero de cortes hechos por una nica llamada a cascadingCut
+	 *
+	 * @return profundidad mxima de un corte en cascada
+	 */
+	int getMaxCascadeDepth();
+
+	/**
+	 * Nmero de consolidaciones
+	 *
+	 * @return nmero de consolidaciones
+	 */
+	long getConsolidations();
+
+	/**
+	 * Nmero de raices al empezar la ltima consolidacin
+	 *
+	 * @return longitud de la lista de raices
+	 */
+	int getLastRootListLength();
+
+	/**
+	 * Mayor nmero de raices al empezar una consolidacin
+	 *
+	 * @return longitud mxima de la lista de raices
+	 */
+	int getMaxRootListLength();
+
+	/**
+	 * Mayor grado de una raiz tras una consolidacin
+	 *
+	 * @return grado mximo
+	 */
+	int getMaxDegree();
+
+	/**
+	 * Nmero de nodos marcados en este momento
+	 *
+	 * @return nmero de nodos marcados
+	 */
+	long getMarkedNodes();
+
+	/**
+	 * Pone a cero todos los contadores salvo el de nodos marcados
+	 */
+	void reset();
+}
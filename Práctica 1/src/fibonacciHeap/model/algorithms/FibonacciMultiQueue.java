@@ -0,0 +1,214 @@
+package fibonacciHeap.model.algorithms;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+import fibonacciHeap.model.algorithms.FibonacciHeap.FibonacciNode;
+
+/**
+ * Cola de prioridad concurrente y relajada formada por varios
+ * {@link FibonacciHeap}, cada uno con su propio cerrojo (MultiQueue). Cada
+ * insercin va a un montculo al azar y cada extraccin toma dos montculos al
+ * azar y extrae el mnimo del que tenga la menor clave, de modo que varios
+ * hilos pueden operar a la vez sin competir por un nico cerrojo
+ *
+ * <p>
+ * La extraccin no devuelve siempre el mnimo global sino una de las claves
+ * ms pequeas. Con k montculos el rango medio del elemento extrado crece
+ * como O(k), as que el factor de relajacin, el nmero de montculos por
+ * hilo, equilibra la contencin entre hilos y la calidad del orden
+ * </p>
+ *
+ * <p>
+ * Los nodos devueltos pertenecen ya a un montculo interno, por lo que no se
+ * admite decrecer ni eliminar una clave concreta
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class FibonacciMultiQueue {
+
+	/**
+	 * Clave en cach de un montculo vaco, fuera del rango de las claves
+	 */
+	private static final long EMPTY = Long.MAX_VALUE;
+
+	/**
+	 * Intentos de extraccin fallidos antes de recorrer todos los montculos
+	 * para comprobar si la cola est vaca
+	 */
+	private static final int ATTEMPTS = 8;
+
+	/**
+	 * Montculos que forman la cola
+	 */
+	private final Shard[] shards;
+
+	/**
+	 * Constructor
+	 *
+	 * @param threads
+	 *            nmero de hilos que van a usar la cola
+	 * @param relaxation
+	 *            nmero de montculos por hilo
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que threads o relaxation sean menores
+	 *                que 1.
+	 */
+	public FibonacciMultiQueue(int threads, int relaxation) throws IllegalArgumentException {
+		if (threads < 1 || relaxation < 1) {
+			throw new IllegalArgumentException("Invalid number of threads or relaxation factor");
+		}
+		this.shards = new Shard[Math.max(2, threads * relaxation)];
+		for (int i = 0; i < this.shards.length; i++) {
+			this.shards[i] = new Shard();
+		}
+	}
+
+	/**
+	 * Inserta una clave en un montculo elegido al azar. Si su cerrojo est
+	 * ocupado se prueba con otro
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param key
+	 *            clave a insertar
+	 */
+	public void insert(int key) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Shard shard;
+		do {
+			shard = this.shards[random.nextInt(this.shards.length)];
+		} while (!shard.lock.tryLock());
+		try {
+			shard.heap.insert(key);
+			shard.update();
+		} finally {
+			shard.lock.unlock();
+		}
+	}
+
+	/**
+	 * Extrae el mnimo del mejor de dos montculos elegidos al azar, segn la
+	 * clave mnima que cada uno publica. Si ambos estn vacos u ocupados se
+	 * repite el sorteo, y tras varios intentos se recorren todos los
+	 * montculos antes de concluir que la cola est vaca
+	 *
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 *
+	 * @return nodo extrado o null si la cola est vaca
+	 */
+	public FibonacciNode removeMin() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		while (true) {
+			for (int attempt = 0; attempt < ATTEMPTS; attempt++) {
+				Shard first = this.shards[random.nextInt(this.shards.length)];
+				Shard second = this.shards[random.nextInt(this.shards.length)];
+				Shard best = (second.top < first.top) ? second : first;
+				if (best.top == EMPTY || !best.lock.tryLock()) {
+					continue;
+				}
+				try {
+					FibonacciNode node = best.heap.removeMin();
+					if (node != null) {
+						best.update();
+						return node;
+					}
+				} finally {
+					best.lock.unlock();
+				}
+			}
+			if (isEmpty()) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Nmero de claves de la cola. Con otros hilos modificndola el valor
+	 * puede estar desfasado
+	 *
+	 * <p>
+	 * Coste en O(k), siendo k el nmero de montculos
+	 * </p>
+	 *
+	 * @return nmero de claves
+	 */
+	public int size() {
+		int size = 0;
+		for (Shard shard : this.shards) {
+			size += shard.size;
+		}
+		return size;
+	}
+
+	/**
+	 * Indica si todos los montculos estn vacos
+	 *
+	 * <p>
+	 * Coste en O(k), siendo k el nmero de montculos
+	 * </p>
+	 *
+	 * @return true si la cola est vaca
+	 */
+	public boolean isEmpty() {
+		for (Shard shard : this.shards) {
+			if (shard.size > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Nmero de montculos que forman la cola
+	 *
+	 * @return nmero de montculos
+	 */
+	public int getShards() {
+		return this.shards.length;
+	}
+
+	/**
+	 * Montculo de la cola con su cerrojo
+	 */
+	private static class Shard {
+
+		/**
+		 * Cerrojo que protege el montculo
+		 */
+		private final ReentrantLock lock = new ReentrantLock();
+
+		/**
+		 * Montculo, solo se usa con el cerrojo adquirido
+		 */
+		private final FibonacciHeap heap = new FibonacciHeap();
+
+		/**
+		 * Clave mnima del montculo o EMPTY, para elegir montculo sin
+		 * adquirir su cerrojo
+		 */
+		private volatile long top = EMPTY;
+
+		/**
+		 * Nmero de claves del montculo
+		 */
+		private volatile int size;
+
+		/**
+		 * Publica la clave mnima y el tamao tras modificar el montculo,
+		 * con el cerrojo adquirido
+		 */
+		private void update() {
+			FibonacciNode min = this.heap.getMin();
+			this.top = (min == null) ? EMPTY : min.key;
+			this.size = this.heap.size();
+		}
+	}
+}
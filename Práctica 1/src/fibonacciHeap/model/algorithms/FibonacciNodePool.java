@@ -0,0 +1,184 @@
+package fibonacciHeap.model.algorithms;
+
+import java.util.Arrays;
+
+import fibonacciHeap.model.algorithms.FibonacciHeap.FibonacciNode;
+
+/**
+ * Reserva de nodos libres para reutilizar los nodos que extrae un
+ * {@link FibonacciHeap}, activada con
+ * {@link FibonacciHeap#setNodePool(FibonacciNodePool)}. En rgimen
+ * estacionario cada insercin reutiliza un nodo extrado antes y el montculo
+ * deja de generar basura
+ *
+ * <p>
+ * La reserva no est sincronizada: todos los montculos que la comparten deben
+ * usarse desde el mismo hilo. Para varios montculos en varios hilos,
+ * {@link #local()} devuelve una reserva distinta para cada hilo
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class FibonacciNodePool {
+
+	/**
+	 * Nmero mximo de nodos libres por defecto
+	 */
+	public static final int DEFAULT_CAPACITY = 1 << 16;
+
+	/**
+	 * Reserva de cada hilo
+	 */
+	private static final ThreadLocal<FibonacciNodePool> LOCAL = new ThreadLocal<FibonacciNodePool>() {
+		@Override
+		protected FibonacciNodePool initialValue() {
+			return new FibonacciNodePool(DEFAULT_CAPACITY);
+		}
+	};
+
+	/**
+	 * Nodos libres, usados como pila
+	 */
+	private final FibonacciNode[] free;
+
+	/**
+	 * Nmero de nodos libres
+	 */
+	private int size;
+
+	/**
+	 * Nmero de nodos creados por la reserva
+	 */
+	private long created;
+
+	/**
+	 * Nmero de nodos reutilizados
+	 */
+	private long reused;
+
+	/**
+	 * Constructor
+	 *
+	 * @param capacity
+	 *            nmero mximo de nodos libres que se guardan, los que no
+	 *            caben se dejan al recolector de basura
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que capacity sea negativa
+	 */
+	public FibonacciNodePool(int capacity) throws IllegalArgumentException {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Negative capacity");
+		}
+		this.free = new FibonacciNode[capacity];
+	}
+
+	/**
+	 * Reserva del hilo actual, con capacidad {@link #DEFAULT_CAPACITY}
+	 *
+	 * @return reserva del hilo
+	 */
+	public static FibonacciNodePool local() {
+		return LOCAL.get();
+	}
+
+	/**
+	 * Devuelve un nodo libre con la clave dada, como recin creado
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param key
+	 *            clave del nodo
+	 * @return nodo fuera de cualquier montculo
+	 */
+	FibonacciNode acquire(int key) {
+		if (this.size == 0) {
+			this.created++;
+			return new FibonacciNode(key);
+		}
+		FibonacciNode node = this.free[--this.size];
+		this.free[this.size] = null;
+		this.reused++;
+		node.leftNode = node;
+		node.rightNode = node;
+		node.parentNode = null;
+		node.childNode = null;
+		node.degree = 0;
+		node.mark = false;
+		node.queued = false;
+		node.key = key;
+		return node;
+	}
+
+	/**
+	 * Guarda un nodo extrado para reutilizarlo. El nodo no se modifica hasta
+	 * que se reutiliza
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param node
+	 *            nodo que ya no pertenece a ningn montculo
+	 */
+	void release(FibonacciNode node) {
+		if (this.size < this.free.length) {
+			this.free[this.size++] = node;
+		}
+	}
+
+	/**
+	 * Nmero de nodos libres
+	 *
+	 * @return nodos guardados para reutilizar
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Nmero mximo de nodos libres
+	 *
+	 * @return capacidad de la reserva
+	 */
+	public int capacity() {
+		return this.free.length;
+	}
+
+	/**
+	 * Nmero de nodos creados porque no haba ninguno libre
+	 *
+	 * @return nodos creados
+	 */
+	public long getCreated() {
+		return this.created;
+	}
+
+	/**
+	 * Nmero de nodos reutilizados
+	 *
+	 * @return nodos reutilizados
+	 */
+	public long getReused() {
+		return this.reused;
+	}
+
+	/**
+	 * Descarta los nodos libres y pone a cero los contadores
+	 */
+	public void clear() {
+		Arrays.fill(this.free, 0, this.size, null);
+		this.size = 0;
+		this.created = 0;
+		this.reused = 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("free = %d, capacity = %d, created = %d, reused = %d", this.size, this.free.length,
+				this.created, this.reused);
+	}
+}
@@ -0,0 +1,68 @@
+package fibonacciHeap.model.algorithms;
+
+/**
+ * Implementaciones disponibles de {@link AddressableHeap}
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public enum HeapEngine {
+
+	FIBONACCI {
+		@Override
+		public AddressableHeap<?> create() {
+			return new FibonacciHeap();
+		}
+	},
+
+	PAIRING {
+		@Override
+		public AddressableHeap<?> create() {
+			return new PairingHeap();
+		}
+	},
+
+	RANK_PAIRING {
+		@Override
+		public AddressableHeap<?> create() {
+			return new RankPairingHeap();
+		}
+	},
+
+	DARY {
+		@Override
+		public AddressableHeap<?> create() {
+			return new DaryHeap();
+		}
+	},
+
+	RADIX {
+		@Override
+		public AddressableHeap<?> create() {
+			return new RadixHeap();
+		}
+
+		@Override
+		public boolean isMonotone() {
+			return true;
+		}
+	};
+
+	/**
+	 * Crea un montculo vaco de este tipo
+	 *
+	 * @return nuevo montculo
+	 */
+	public abstract AddressableHeap<?> create();
+
+	/**
+	 * Indica si el montculo solo admite claves no menores que la ltima
+	 * extrada. Los bancos de pruebas con claves arbitrarias no los usan salvo
+	 * que se pidan explcitamente
+	 *
+	 * @return true si las claves deben ser montonas
+	 */
+	public boolean isMonotone() {
+		return false;
+	}
+}
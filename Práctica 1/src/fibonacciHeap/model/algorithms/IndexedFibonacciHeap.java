@@ -0,0 +1,517 @@
+package fibonacciHeap.model.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Implementacin del montculo de Fibonacci sobre arrays paralelos de tipos
+ * primitivos. Cada nodo se identifica por un manejador entero (su posicin en
+ * los arrays) en lugar de por un objeto, de modo que no se reserva memoria por
+ * elemento insertado y los recorridos no persiguen punteros
+ *
+ * <p>
+ * El manejador devuelto por {@link #removeMin()} sigue siendo vlido para
+ * consultar su clave hasta la siguiente insercin, momento en el que su
+ * posicin puede ser reutilizada
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class IndexedFibonacciHeap {
+
+	/**
+	 * Manejador nulo, equivalente a una referencia a null
+	 */
+	public static final int NIL = -1;
+
+	/**
+	 * Capacidad inicial de los arrays
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Inverso del logaritmo de la razn urea, usado para acotar el grado
+	 * mximo de un nodo
+	 */
+	private static final double INV_LOG_PHI = 1.0 / Math.log((1.0 + Math.sqrt(5.0)) / 2.0);
+
+	/**
+	 * Hermano situado a la izquierda de cada nodo
+	 */
+	private int[] left;
+
+	/**
+	 * Hermano situado a la derecha de cada nodo. En las posiciones libres
+	 * enlaza la lista de huecos reutilizables
+	 */
+	private int[] right;
+
+	/**
+	 * Padre de cada nodo
+	 */
+	private int[] parent;
+
+	/**
+	 * Hijo referenciado de cada nodo
+	 */
+	private int[] child;
+
+	/**
+	 * Nmero de hijos de cada nodo
+	 */
+	private int[] degree;
+
+	/**
+	 * Clave de cada nodo
+	 */
+	private int[] key;
+
+	/**
+	 * Indica si cada nodo ha perdido un hijo (true) o no (false)
+	 */
+	private boolean[] mark;
+
+	/**
+	 * Array de grados usado durante la consolidacin. Se conserva entre
+	 * llamadas y sus posiciones quedan siempre a NIL al terminar
+	 */
+	private int[] degreeTable;
+
+	/**
+	 * Manejador del nodo con la menor clave del montculo
+	 */
+	private int min;
+
+	/**
+	 * Nmero de elementos del montculo
+	 */
+	private int cardinal;
+
+	/**
+	 * Primera posicin nunca utilizada de los arrays
+	 */
+	private int top;
+
+	/**
+	 * Primera posicin de la lista de huecos libres
+	 */
+	private int free;
+
+	/**
+	 * Constructor por defecto
+	 */
+	public IndexedFibonacciHeap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor que reserva espacio para capacity nodos
+	 *
+	 * @param capacity
+	 *            nmero de nodos previstos
+	 */
+	public IndexedFibonacciHeap(int capacity) {
+		capacity = Math.max(capacity, 1);
+		this.left = new int[capacity];
+		this.right = new int[capacity];
+		this.parent = new int[capacity];
+		this.child = new int[capacity];
+		this.degree = new int[capacity];
+		this.key = new int[capacity];
+		this.mark = new boolean[capacity];
+		this.degreeTable = new int[0];
+		this.min = NIL;
+		this.free = NIL;
+	}
+
+	/**
+	 * Decrece la clave de un nodo dado su manejador y su nuevo valor.
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param node
+	 *            manejador del nodo cuya clave va a ser decrecida
+	 * @param newKey
+	 *            nueva clave para el nodo node
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que la nueva clave sea mayor que la
+	 *                actual.
+	 */
+	public void decreaseKey(int node, int newKey) throws IllegalArgumentException {
+		if (newKey >= this.key[node]) {
+			throw new IllegalArgumentException("New key value is higher that current");
+		}
+		this.key[node] = newKey;
+		int p = this.parent[node];
+		if ((p != NIL) && (newKey < this.key[p])) {
+			cut(node, p);
+			cascadingCut(p);
+		}
+		if (newKey < this.key[this.min]) {
+			this.min = node;
+		}
+	}
+
+	/**
+	 * Eliminar todos los elementos del montculo. Los arrays conservan su
+	 * capacidad
+	 */
+	public void clear() {
+		this.min = NIL;
+		this.cardinal = 0;
+		this.top = 0;
+		this.free = NIL;
+	}
+
+	/**
+	 * Devuelve el manejador del nodo con menor clave
+	 *
+	 * @return manejador del mnimo o NIL si el montculo est vaco
+	 */
+	public int getMin() {
+		return this.min;
+	}
+
+	/**
+	 * Devuelve la clave de un nodo
+	 *
+	 * @param node
+	 *            manejador del nodo
+	 * @return clave del nodo
+	 */
+	public int getKey(int node) {
+		return this.key[node];
+	}
+
+	/**
+	 * Comprueba si el montculo est vaco
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @return true si el montculo est vaco, false en cualquier otro caso
+	 */
+	public boolean isEmpty() {
+		return this.min == NIL;
+	}
+
+	/**
+	 * Nmero de elementos del montculo
+	 *
+	 * @return nmero de elementos
+	 */
+	public int size() {
+		return this.cardinal;
+	}
+
+	/**
+	 * Nmero de posiciones reservadas en cada uno de los arrays
+	 *
+	 * @return capacidad actual
+	 */
+	public int capacity() {
+		return this.key.length;
+	}
+
+	/**
+	 * Inserta un nuevo nodo con la clave indicada
+	 *
+	 * <p>
+	 * Coste amortizado en O(1)
+	 * </p>
+	 *
+	 * @param newKey
+	 *            clave del nodo a insertar
+	 * @return manejador del nuevo nodo
+	 */
+	public int insert(int newKey) {
+		int node = allocate();
+		this.key[node] = newKey;
+		this.parent[node] = NIL;
+		this.child[node] = NIL;
+		this.degree[node] = 0;
+		this.mark[node] = false;
+		/*
+		 * Si el montculo est vaco el nodo pasa a ser el mnimo, en otro
+		 * caso se aade a la lista de raices por la derecha del mnimo
+		 */
+		if (this.min != NIL) {
+			addRoot(node);
+			if (newKey < this.key[this.min]) {
+				this.min = node;
+			}
+		} else {
+			this.left[node] = node;
+			this.right[node] = node;
+			this.min = node;
+		}
+		this.cardinal++;
+		return node;
+	}
+
+	/**
+	 * Elimina el nodo con menor clave del montculo. Necesita consolidar el
+	 * montculo
+	 *
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 *
+	 * @return manejador del nodo con la clave ms pequea o NIL si el
+	 *         montculo est vaco
+	 */
+	public int removeMin() {
+		int tempMin = this.min;
+		if (tempMin == NIL) {
+			return NIL;
+		}
+		/*
+		 * Subimos todos los hijos del mnimo a la lista de raices
+		 */
+		int minChild = this.child[tempMin];
+		for (int i = this.degree[tempMin]; i > 0; i--) {
+			int next = this.right[minChild];
+			this.parent[minChild] = NIL;
+			addRoot(minChild);
+			minChild = next;
+		}
+		/*
+		 * Aislamos el mnimo y consolidamos a partir de su vecino derecho
+		 */
+		this.right[this.left[tempMin]] = this.right[tempMin];
+		this.left[this.right[tempMin]] = this.left[tempMin];
+		if (tempMin == this.right[tempMin]) {
+			this.min = NIL;
+		} else {
+			this.min = this.right[tempMin];
+			consolidate();
+		}
+		this.cardinal--;
+		release(tempMin);
+		return tempMin;
+	}
+
+	/**
+	 * Desvincula sucesivamente nodos hijos de sus nodos padre
+	 *
+	 * <p>
+	 * Coste amortizado en O(1)
+	 * </p>
+	 *
+	 * @param node
+	 *            nodo a desvincular
+	 */
+	private void cascadingCut(int node) {
+		int p = this.parent[node];
+		while (p != NIL) {
+			if (!this.mark[node]) {
+				this.mark[node] = true;
+				return;
+			}
+			cut(node, p);
+			node = p;
+			p = this.parent[node];
+		}
+	}
+
+	/**
+	 * Consolida los rboles del montculo uniendo los de igual grado. La lista
+	 * de raices se recorre una nica vez y se reconstruye a partir del array
+	 * de grados, cuyo tamao est acotado por log_phi(n)
+	 *
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 */
+	private void consolidate() {
+		int[] table = degreeTable(this.cardinal);
+		int maxDegree = -1;
+
+		/*
+		 * Convertimos la lista circular de raices en una lista lineal y la
+		 * procesamos enlazando los rboles de igual grado
+		 */
+		int node = this.min;
+		this.right[this.left[node]] = NIL;
+		while (node != NIL) {
+			int next = this.right[node];
+			int d = this.degree[node];
+			while (table[d] != NIL) {
+				int other = table[d];
+				if (this.key[other] < this.key[node]) {
+					int aux = other;
+					other = node;
+					node = aux;
+				}
+				link(other, node);
+				table[d] = NIL;
+				d++;
+			}
+			table[d] = node;
+			if (d > maxDegree) {
+				maxDegree = d;
+			}
+			node = next;
+		}
+
+		/*
+		 * Reconstruimos la lista de raices dejando el array de grados vaco
+		 * para la siguiente llamada
+		 */
+		this.min = NIL;
+		for (int i = 0; i <= maxDegree; i++) {
+			int root = table[i];
+			if (root != NIL) {
+				table[i] = NIL;
+				if (this.min == NIL) {
+					this.left[root] = root;
+					this.right[root] = root;
+					this.min = root;
+				} else {
+					addRoot(root);
+					if (this.key[root] < this.key[this.min]) {
+						this.min = root;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Devuelve el array de grados con tamao suficiente para un montculo de
+	 * n elementos, amplindolo si es necesario
+	 *
+	 * @param n
+	 *            nmero de elementos
+	 * @return array de grados con todas sus posiciones a NIL
+	 */
+	private int[] degreeTable(int n) {
+		int size = (int) (Math.log(Math.max(n, 1)) * INV_LOG_PHI) + 2;
+		if (this.degreeTable.length < size) {
+			int[] table = Arrays.copyOf(this.degreeTable, size);
+			Arrays.fill(table, this.degreeTable.length, size, NIL);
+			this.degreeTable = table;
+		}
+		return this.degreeTable;
+	}
+
+	/**
+	 * Desvincula un nodo hijo de su padre y lo aade a la lista de raices
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param node
+	 *            nodo hijo
+	 * @param p
+	 *            nodo padre
+	 */
+	private void cut(int node, int p) {
+		this.right[this.left[node]] = this.right[node];
+		this.left[this.right[node]] = this.left[node];
+		this.degree[p]--;
+		if (this.child[p] == node) {
+			this.child[p] = this.right[node];
+		}
+		if (this.degree[p] == 0) {
+			this.child[p] = NIL;
+		}
+		addRoot(node);
+		this.parent[node] = NIL;
+		this.mark[node] = false;
+	}
+
+	/**
+	 * Hace a node hijo de p. No modifica la lista en la que estuviera node
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param node
+	 *            nuevo nodo hijo
+	 * @param p
+	 *            nodo padre
+	 */
+	private void link(int node, int p) {
+		this.parent[node] = p;
+		int c = this.child[p];
+		if (c == NIL) {
+			this.child[p] = node;
+			this.left[node] = node;
+			this.right[node] = node;
+		} else {
+			this.left[node] = c;
+			this.right[node] = this.right[c];
+			this.right[c] = node;
+			this.left[this.right[node]] = node;
+		}
+		this.degree[p]++;
+		this.mark[node] = false;
+	}
+
+	/**
+	 * Aade un nodo a la lista de raices, a la derecha del mnimo
+	 *
+	 * @param node
+	 *            nodo a aadir
+	 */
+	private void addRoot(int node) {
+		this.left[node] = this.min;
+		this.right[node] = this.right[this.min];
+		this.right[this.min] = node;
+		this.left[this.right[node]] = node;
+	}
+
+	/**
+	 * Obtiene una posicin libre, reutilizando huecos o ampliando los arrays
+	 *
+	 * @return posicin para el nuevo nodo
+	 */
+	private int allocate() {
+		if (this.free != NIL) {
+			int node = this.free;
+			this.free = this.right[node];
+			return node;
+		}
+		if (this.top == this.key.length) {
+			grow();
+		}
+		return this.top++;
+	}
+
+	/**
+	 * Aade una posicin a la lista de huecos libres
+	 *
+	 * @param node
+	 *            posicin liberada
+	 */
+	private void release(int node) {
+		this.parent[node] = NIL;
+		this.child[node] = NIL;
+		this.right[node] = this.free;
+		this.free = node;
+	}
+
+	/**
+	 * Duplica la capacidad de todos los arrays
+	 */
+	private void grow() {
+		int capacity = this.key.length << 1;
+		if (capacity < 0) {
+			capacity = Integer.MAX_VALUE - 8;
+		}
+		this.left = Arrays.copyOf(this.left, capacity);
+		this.right = Arrays.copyOf(this.right, capacity);
+		this.parent = Arrays.copyOf(this.parent, capacity);
+		this.child = Arrays.copyOf(this.child, capacity);
+		this.degree = Arrays.copyOf(this.degree, capacity);
+		this.key = Arrays.copyOf(this.key, capacity);
+		this.mark = Arrays.copyOf(this.mark, capacity);
+	}
+}
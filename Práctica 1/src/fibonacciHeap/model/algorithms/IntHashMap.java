@@ -0,0 +1,445 @@
+package fibonacciHeap.model.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Tabla hash de claves int con direccionamiento abierto y sondeo lineal. Las
+ * claves se guardan como primitivos, por lo que ninguna operacin crea
+ * objetos Integer
+ *
+ * <p>
+ * Las eliminaciones desplazan hacia atrs los elementos siguientes del grupo
+ * en lugar de dejar marcas de borrado. Al ampliarse, la tabla antigua se
+ * conserva y sus elementos se trasladan a la nueva poco a poco en las
+ * siguientes modificaciones, de modo que ninguna operacin tiene que
+ * recolocar toda la tabla de una vez
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ * @param <V>
+ *            tipo de los valores
+ */
+public class IntHashMap<V> {
+
+	/**
+	 * Capacidad inicial, debe ser potencia de dos
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Nmero de posiciones de la tabla antigua que se trasladan en cada
+	 * modificacin mientras dura una ampliacin
+	 */
+	private static final int MIGRATION_STEP = 16;
+
+	/**
+	 * Constante multiplicativa de Fibonacci para dispersar las claves
+	 */
+	private static final int GOLDEN = 0x9E3779B9;
+
+	private int[] keys;
+
+	/**
+	 * Valores de cada posicin. Una posicin est libre si su valor es null
+	 */
+	private Object[] values;
+
+	/**
+	 * Desplazamiento que aplica la funcin hash a la tabla actual
+	 */
+	private int shift;
+
+	/**
+	 * Claves de la tabla antigua durante una ampliacin, null en otro caso
+	 */
+	private int[] oldKeys;
+
+	/**
+	 * Valores de la tabla antigua durante una ampliacin, null en otro caso
+	 */
+	private Object[] oldValues;
+
+	/**
+	 * Desplazamiento que aplica la funcin hash a la tabla antigua
+	 */
+	private int oldShift;
+
+	/**
+	 * ltima posicin revisada de la tabla antigua. Siempre est libre, de
+	 * modo que los grupos se trasladan completos
+	 */
+	private int cursor;
+
+	/**
+	 * Posiciones de la tabla antigua que quedan por revisar
+	 */
+	private int pending;
+
+	/**
+	 * Nmero de elementos en la tabla actual
+	 */
+	private int used;
+
+	/**
+	 * Nmero total de elementos, incluidos los de la tabla antigua
+	 */
+	private int size;
+
+	/**
+	 * Constructor por defecto
+	 */
+	public IntHashMap() {
+		this.keys = new int[DEFAULT_CAPACITY];
+		this.values = new Object[DEFAULT_CAPACITY];
+		this.shift = 32 - Integer.numberOfTrailingZeros(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Devuelve el valor asociado a una clave
+	 *
+	 * <p>
+	 * Coste esperado en O(1)
+	 * </p>
+	 *
+	 * @param key
+	 *            clave
+	 * @return valor asociado o null si la clave no est
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(int key) {
+		int index = find(this.keys, this.values, this.shift, key);
+		if (index >= 0) {
+			return (V) this.values[index];
+		}
+		if (this.oldValues != null) {
+			index = find(this.oldKeys, this.oldValues, this.oldShift, key);
+			if (index >= 0) {
+				return (V) this.oldValues[index];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Comprueba si una clave est en la tabla
+	 *
+	 * @param key
+	 *            clave
+	 * @return true si la clave est, false en cualquier otro caso
+	 */
+	public boolean containsKey(int key) {
+		return get(key) != null;
+	}
+
+	/**
+	 * Asocia un valor a una clave
+	 *
+	 * <p>
+	 * Coste esperado en O(1)
+	 * </p>
+	 *
+	 * @param key
+	 *            clave
+	 * @param value
+	 *            valor, no puede ser null
+	 * @return valor asociado anteriormente o null si la clave no estaba
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que el valor sea null
+	 */
+	public V put(int key, V value) throws IllegalArgumentException {
+		if (value == null) {
+			throw new IllegalArgumentException("Null values are not allowed");
+		}
+		migrate();
+		/*
+		 * Si la clave sigue en la tabla antigua la sacamos de ella, as las
+		 * inserciones solo se hacen en la tabla actual
+		 */
+		V previous = null;
+		if (this.oldValues != null) {
+			previous = removeOld(key);
+			if (previous != null) {
+				this.size--;
+			}
+		}
+		int mask = this.values.length - 1;
+		int index = hash(key, this.shift);
+		while (this.values[index] != null) {
+			if (this.keys[index] == key) {
+				@SuppressWarnings("unchecked")
+				V old = (V) this.values[index];
+				this.values[index] = value;
+				return old;
+			}
+			index = (index + 1) & mask;
+		}
+		this.keys[index] = key;
+		this.values[index] = value;
+		this.used++;
+		this.size++;
+		if (this.used * 2 > this.values.length) {
+			grow();
+		}
+		return previous;
+	}
+
+	/**
+	 * Elimina una clave de la tabla
+	 *
+	 * <p>
+	 * Coste esperado en O(1)
+	 * </p>
+	 *
+	 * @param key
+	 *            clave
+	 * @return valor que tena asociado o null si la clave no estaba
+	 */
+	public V remove(int key) {
+		migrate();
+		int index = find(this.keys, this.values, this.shift, key);
+		if (index >= 0) {
+			@SuppressWarnings("unchecked")
+			V old = (V) this.values[index];
+			shiftBack(index);
+			this.used--;
+			this.size--;
+			return old;
+		}
+		if (this.oldValues != null) {
+			V old = removeOld(key);
+			if (old != null) {
+				this.size--;
+			}
+			return old;
+		}
+		return null;
+	}
+
+	/**
+	 * Nmero de elementos
+	 *
+	 * @return nmero de elementos
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Comprueba si la tabla est vaca
+	 *
+	 * @return true si est vaca, false en cualquier otro caso
+	 */
+	public boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Devuelve todas las claves de la tabla, sin ningn orden concreto
+	 *
+	 * <p>
+	 * Coste en O(capacidad)
+	 * </p>
+	 *
+	 * @return array con las claves
+	 */
+	public int[] keys() {
+		int[] result = new int[this.size];
+		int count = collect(this.keys, this.values, result, 0);
+		if (this.oldValues != null) {
+			collect(this.oldKeys, this.oldValues, result, count);
+		}
+		return result;
+	}
+
+	/**
+	 * Elimina todos los elementos conservando la capacidad de la tabla actual
+	 */
+	public void clear() {
+		Arrays.fill(this.values, null);
+		this.oldKeys = null;
+		this.oldValues = null;
+		this.used = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Copia en result las claves ocupadas de una tabla
+	 *
+	 * @return posicin siguiente a la ltima clave copiada
+	 */
+	private static int collect(int[] keys, Object[] values, int[] result, int count) {
+		for (int i = 0; i < values.length; i++) {
+			if (values[i] != null) {
+				result[count++] = keys[i];
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Busca la posicin de una clave en una tabla
+	 *
+	 * @return posicin de la clave o -1 si no est
+	 */
+	private static int find(int[] keys, Object[] values, int shift, int key) {
+		int mask = values.length - 1;
+		int index = hash(key, shift);
+		while (values[index] != null) {
+			if (keys[index] == key) {
+				return index;
+			}
+			index = (index + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Vaca una posicin de la tabla actual desplazando hacia atrs los
+	 * elementos siguientes del grupo que puedan ocuparla
+	 *
+	 * @param hole
+	 *            posicin a vaciar
+	 */
+	private void shiftBack(int hole) {
+		int mask = this.values.length - 1;
+		int index = hole;
+		while (true) {
+			index = (index + 1) & mask;
+			if (this.values[index] == null) {
+				break;
+			}
+			/*
+			 * El elemento puede ocupar el hueco si ste est entre su posicin
+			 * ideal y su posicin actual
+			 */
+			int home = hash(this.keys[index], this.shift);
+			if (((index - home) & mask) >= ((index - hole) & mask)) {
+				this.keys[hole] = this.keys[index];
+				this.values[hole] = this.values[index];
+				hole = index;
+			}
+		}
+		this.values[hole] = null;
+	}
+
+	/**
+	 * Elimina una clave de la tabla antigua. Los elementos siguientes de su
+	 * grupo se trasladan a la tabla actual, de modo que en la tabla antigua
+	 * nunca se mueve ningn elemento y el traslado por grupos sigue siendo
+	 * vlido
+	 *
+	 * @param key
+	 *            clave
+	 * @return valor que tena asociado o null si la clave no estaba
+	 */
+	@SuppressWarnings("unchecked")
+	private V removeOld(int key) {
+		int index = find(this.oldKeys, this.oldValues, this.oldShift, key);
+		if (index < 0) {
+			return null;
+		}
+		V old = (V) this.oldValues[index];
+		this.oldValues[index] = null;
+		int mask = this.oldValues.length - 1;
+		index = (index + 1) & mask;
+		while (this.oldValues[index] != null) {
+			transfer(index);
+			index = (index + 1) & mask;
+		}
+		return old;
+	}
+
+	/**
+	 * Duplica la capacidad. Los elementos actuales pasan a la tabla antigua y
+	 * se trasladan poco a poco
+	 */
+	private void grow() {
+		/*
+		 * Si an queda una ampliacin anterior en curso la terminamos
+		 */
+		while (this.oldValues != null) {
+			migrate();
+		}
+		this.oldKeys = this.keys;
+		this.oldValues = this.values;
+		this.oldShift = this.shift;
+		this.keys = new int[this.oldKeys.length << 1];
+		this.values = new Object[this.oldValues.length << 1];
+		this.shift--;
+		this.used = 0;
+		/*
+		 * Empezamos en una posicin libre, que siempre existe porque la tabla
+		 * nunca se llena ms de la mitad
+		 */
+		int mask = this.oldValues.length - 1;
+		int start = 0;
+		while (this.oldValues[start] != null) {
+			start = (start + 1) & mask;
+		}
+		this.cursor = start;
+		this.pending = this.oldValues.length;
+	}
+
+	/**
+	 * Traslada al menos {@link #MIGRATION_STEP} posiciones de la tabla
+	 * antigua a la actual, siempre por grupos completos
+	 */
+	private void migrate() {
+		if (this.oldValues == null) {
+			return;
+		}
+		int mask = this.oldValues.length - 1;
+		int steps = MIGRATION_STEP;
+		while (steps > 0 && this.pending > 0) {
+			int index = (this.cursor + 1) & mask;
+			while (this.oldValues[index] != null) {
+				transfer(index);
+				index = (index + 1) & mask;
+				this.pending--;
+				steps--;
+			}
+			this.cursor = index;
+			this.pending--;
+			steps--;
+		}
+		if (this.pending <= 0) {
+			this.oldKeys = null;
+			this.oldValues = null;
+		}
+	}
+
+	/**
+	 * Mueve un elemento de la tabla antigua a la actual
+	 *
+	 * @param index
+	 *            posicin del elemento en la tabla antigua
+	 */
+	private void transfer(int index) {
+		int key = this.oldKeys[index];
+		Object value = this.oldValues[index];
+		this.oldValues[index] = null;
+		int mask = this.values.length - 1;
+		int target = hash(key, this.shift);
+		while (this.values[target] != null) {
+			target = (target + 1) & mask;
+		}
+		this.keys[target] = key;
+		this.values[target] = value;
+		this.used++;
+	}
+
+	/**
+	 * Posicin ideal de una clave mediante hash multiplicativo de Fibonacci
+	 *
+	 * @param key
+	 *            clave
+	 * @param shift
+	 *            32 menos el logaritmo en base 2 de la capacidad
+	 * @return posicin ideal
+	 */
+	private static int hash(int key, int shift) {
+		return (key * GOLDEN) >>> shift;
+	}
+}
@@ -0,0 +1,391 @@
+package fibonacciHeap.model.algorithms;
+
+/**
+ * Montculo de Fibonacci especializado en claves de tipo long. Las claves se
+ * comparan directamente como primitivos, sin conversiones ni Comparator
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class LongFibonacciHeap {
+
+	/**
+	 * Referencia del nodo con la menor clave del monticulo
+	 */
+	private LongFibonacciNode min;
+
+	/**
+	 * Nmero de elementos del monticulo
+	 */
+	private int cardinal;
+
+	/**
+	 * Array de grados usado por consolidate. Se conserva entre llamadas y
+	 * todas sus posiciones quedan a null al terminar cada consolidacin
+	 */
+	private LongFibonacciNode[] degreeTable = new LongFibonacciNode[0];
+
+	/**
+	 * Inverso del logaritmo de la razn urea, usado para acotar el grado
+	 * mximo de un nodo
+	 */
+	private static final double INV_LOG_PHI = 1.0 / Math.log((1.0 + Math.sqrt(5.0)) / 2.0);
+
+	/**
+	 * Decrece la clave de un nodo dada su referencia y su nuevo valor.
+	 *
+	 * <p>
+	 * Coste amortizado en O(1)
+	 * </p>
+	 *
+	 * @param node
+	 *            nodo cuya clave va a ser decrecida
+	 * @param key
+	 *            nueva clave para el nodo node
+	 * @return nodo modificado
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que la nueva clave sea mayor que la
+	 *                actual.
+	 */
+	public LongFibonacciNode decreaseKey(LongFibonacciNode node, long key) throws IllegalArgumentException {
+		if (key >= node.key) {
+			throw new IllegalArgumentException("New key value is higher that current");
+		}
+		node.key = key;
+		LongFibonacciNode parent = node.parentNode;
+		if ((parent != null) && (key < parent.key)) {
+			cut(node, parent);
+			cascadingCut(parent);
+		}
+		if (key < this.min.key) {
+			this.min = node;
+		}
+		return node;
+	}
+
+	/**
+	 * Eliminar todos los elementos del monticulo
+	 */
+	public void clear() {
+		this.min = null;
+		this.cardinal = 0;
+	}
+
+	public LongFibonacciNode getMin() {
+		return this.min;
+	}
+
+	/**
+	 * Comprueba si el montculo est vaco
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @return true si el montculo est vaco, false en cualquier otro caso
+	 */
+	public boolean isEmpty() {
+		return this.min == null;
+	}
+
+	/**
+	 * Nmero de elementos del montculo
+	 *
+	 * @return nmero de elementos
+	 */
+	public int size() {
+		return this.cardinal;
+	}
+
+	/**
+	 * Inserta un nuevo nodo
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param node
+	 *            nodo a insertar en el montculo
+	 */
+	public void insert(LongFibonacciNode node) {
+		if (this.min != null) {
+			addRoot(node);
+			if (node.key < this.min.key) {
+				this.min = node;
+			}
+		} else {
+			this.min = node;
+		}
+		cardinal++;
+	}
+
+	/**
+	 * Elimina el nodo con menor clave del montculo. Necesita consolidar el
+	 * montculo
+	 *
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 *
+	 * @return nodo con la clave ms pequea
+	 */
+	public LongFibonacciNode removeMin() {
+		LongFibonacciNode tempMin = this.min;
+		if (tempMin != null) {
+			/*
+			 * Subimos todos los hijos del mnimo a la lista de raices
+			 */
+			LongFibonacciNode minChildNode = tempMin.childNode;
+			for (int i = tempMin.degree; i > 0; i--) {
+				LongFibonacciNode tempRight = minChildNode.rightNode;
+				minChildNode.parentNode = null;
+				addRoot(minChildNode);
+				minChildNode = tempRight;
+			}
+			/*
+			 * Aislamos el mnimo y consolidamos a partir de su vecino derecho
+			 */
+			tempMin.leftNode.rightNode = tempMin.rightNode;
+			tempMin.rightNode.leftNode = tempMin.leftNode;
+			if (tempMin == tempMin.rightNode) {
+				this.min = null;
+			} else {
+				this.min = tempMin.rightNode;
+				consolidate();
+			}
+			cardinal--;
+		}
+		return tempMin;
+	}
+
+	/**
+	 * Desvincula sucesivamente nodos hijos de sus nodos padre
+	 *
+	 * <p>
+	 * Coste amortizado en O(1)
+	 * </p>
+	 *
+	 * @param child
+	 *            nodo a desvincular
+	 */
+	private void cascadingCut(LongFibonacciNode child) {
+		LongFibonacciNode parent = child.parentNode;
+		while (parent != null) {
+			if (!child.mark) {
+				child.mark = true;
+				return;
+			}
+			cut(child, parent);
+			child = parent;
+			parent = child.parentNode;
+		}
+	}
+
+	/**
+	 * Consolida los rboles del montculo uniendo los de igual grado. La lista
+	 * de raices se recorre una nica vez y se reconstruye a partir del array
+	 * de grados
+	 *
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 */
+	private void consolidate() {
+		LongFibonacciNode[] nodeArray = degreeTable(cardinal);
+		int maxDegree = -1;
+
+		LongFibonacciNode node = this.min;
+		node.leftNode.rightNode = null;
+		while (node != null) {
+			int tempDegree = node.degree;
+			LongFibonacciNode nextNode = node.rightNode;
+			while (nodeArray[tempDegree] != null) {
+				LongFibonacciNode tempNode = nodeArray[tempDegree];
+				if (node.key > tempNode.key) {
+					LongFibonacciNode auxNode = tempNode;
+					tempNode = node;
+					node = auxNode;
+				}
+				link(tempNode, node);
+				nodeArray[tempDegree] = null;
+				tempDegree++;
+			}
+			nodeArray[tempDegree] = node;
+			if (tempDegree > maxDegree) {
+				maxDegree = tempDegree;
+			}
+			node = nextNode;
+		}
+
+		this.min = null;
+		for (int i = 0; i <= maxDegree; i++) {
+			LongFibonacciNode root = nodeArray[i];
+			if (root != null) {
+				nodeArray[i] = null;
+				if (this.min != null) {
+					addRoot(root);
+					if (root.key < this.min.key) {
+						this.min = root;
+					}
+				} else {
+					root.leftNode = root;
+					root.rightNode = root;
+					this.min = root;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Devuelve el array de grados usado por consolidate, amplindolo si no es
+	 * suficiente para un montculo de n elementos
+	 *
+	 * @param n
+	 *            nmero de elementos del montculo
+	 * @return array de grados con todas sus posiciones a null
+	 */
+	private LongFibonacciNode[] degreeTable(int n) {
+		int size = (int) (Math.log(Math.max(n, 1)) * INV_LOG_PHI) + 2;
+		if (this.degreeTable.length < size) {
+			this.degreeTable = new LongFibonacciNode[size];
+		}
+		return this.degreeTable;
+	}
+
+	/**
+	 * Desvincula un nodo hijo de su padre y lo aade a la lista de raices
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param child
+	 *            nodo hijo
+	 * @param parent
+	 *            nodo padre
+	 */
+	private void cut(LongFibonacciNode child, LongFibonacciNode parent) {
+		child.leftNode.rightNode = child.rightNode;
+		child.rightNode.leftNode = child.leftNode;
+		parent.degree--;
+		if (parent.childNode == child) {
+			parent.childNode = child.rightNode;
+		}
+		if (parent.degree == 0) {
+			parent.childNode = null;
+		}
+		addRoot(child);
+		child.parentNode = null;
+		child.mark = false;
+	}
+
+	/**
+	 * Hace a child hijo de parent sin modificar la lista en la que estuviera
+	 * child
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param child
+	 *            nuevo nodo hijo
+	 * @param parent
+	 *            nodo padre
+	 */
+	private void link(LongFibonacciNode child, LongFibonacciNode parent) {
+		child.parentNode = parent;
+		if (parent.childNode == null) {
+			parent.childNode = child;
+			child.rightNode = child;
+			child.leftNode = child;
+		} else {
+			child.leftNode = parent.childNode;
+			child.rightNode = parent.childNode.rightNode;
+			parent.childNode.rightNode = child;
+			child.rightNode.leftNode = child;
+		}
+		parent.degree++;
+		child.mark = false;
+	}
+
+	/**
+	 * Aade un nodo a la lista de raices, a la derecha del mnimo
+	 *
+	 * @param node
+	 *            nodo a aadir
+	 */
+	private void addRoot(LongFibonacciNode node) {
+		node.leftNode = this.min;
+		node.rightNode = this.min.rightNode;
+		this.min.rightNode = node;
+		node.rightNode.leftNode = node;
+	}
+
+	/**
+	 * Nodo del montculo de Fibonacci con clave de tipo long
+	 *
+	 * @author Javier Corts Tejada
+	 *
+	 */
+	public static class LongFibonacciNode {
+
+		/**
+		 * Nodo referenciado de la lista de nodos hijos
+		 */
+		LongFibonacciNode childNode;
+
+		/**
+		 * Nodo hermano situado a la izquierda
+		 */
+		LongFibonacciNode leftNode;
+
+		/**
+		 * Nodo padre
+		 */
+		LongFibonacciNode parentNode;
+
+		/**
+		 * Nodo hermano situado a la derecha
+		 */
+		LongFibonacciNode rightNode;
+
+		/**
+		 * Indica si se ha perdido un hijo (true) o no (false)
+		 */
+		boolean mark;
+
+		/**
+		 * Valor del nodo
+		 */
+		long key;
+
+		/**
+		 * Nmero de hijos
+		 */
+		int degree;
+
+		/**
+		 * Constructor por defecto que devuelve un nodo con el valor key e
+		 * inicializa sus punteros laterales a s mismo
+		 *
+		 * @param key
+		 *            valor del nodo creado
+		 */
+		public LongFibonacciNode(long key) {
+			this.rightNode = this;
+			this.leftNode = this;
+			this.key = key;
+		}
+
+		public long getKey() {
+			return this.key;
+		}
+
+		@Override
+		public String toString() {
+			return "Node = [key = " + Long.toString(key) + ", degree = " + Integer.toString(degree) + ", mark = "
+					+ Boolean.toString(mark) + "]";
+		}
+	}
+}
@@ -1,7 +1,15 @@
 package fibonacciHeap.model.algorithms;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.IdentityHashMap;
+import java.util.List;
 
+import fibonacciHeap.model.algorithms.AddressableHeap.Handle;
 import fibonacciHeap.model.algorithms.FibonacciHeap.FibonacciNode;
 
 /**
@@ -12,22 +20,62 @@ import fibonacciHeap.model.algorithms.FibonacciHeap.FibonacciNode;
  */
 public class Model {
 
+	/**
+	 * Maximum number of nodes in the heap visualization information
+	 */
+	public static final int INFO_NODES = 5000;
+
 	/**
 	 * Data structure to be used
 	 */
-	private FibonacciHeap heap;
+	private AddressableHeap<Handle> heap;
 
 	/**
-	 * Contains all heap nodes to avoid key repeated
+	 * Contains the nodes added by key to avoid key repeated. Nodes inserted
+	 * through the handle API are never stored here
 	 */
-	private HashMap<Integer, FibonacciNode> nodes;
+	private IntHashMap<Handle> nodes;
 
 	/**
-	 * Public constructor
+	 * Log of the operations, null if they are not logged
+	 */
+	private OperationLog log;
+
+	/**
+	 * Insertion sequence number of the elements inserted while logging, used
+	 * to address them by handle in the log
+	 */
+	private IdentityHashMap<Handle, Integer> ids = new IdentityHashMap<Handle, Integer>();
+
+	/**
+	 * Elements by insertion sequence number, the inverse of ids
+	 */
+	private IntHashMap<Handle> handles = new IntHashMap<Handle>();
+
+	/**
+	 * Sequence number of the next element inserted while logging
+	 */
+	private int nextId;
+
+	/**
+	 * Public constructor, uses a Fibonacci heap
 	 */
 	public Model() {
-		this.heap = new FibonacciHeap();
-		this.nodes = new HashMap<Integer, FibonacciNode>();
+		this(new FibonacciHeap());
+	}
+
+	/**
+	 * Public constructor
+	 * @param heap empty heap to be used
+	 */
+	@SuppressWarnings("unchecked")
+	public Model(AddressableHeap<? extends Handle> heap) {
+		/*
+		 * Every handle given back to the heap was created by the heap itself,
+		 * so widening its handle type is safe
+		 */
+		this.heap = (AddressableHeap<Handle>) heap;
+		this.nodes = new IntHashMap<Handle>();
 	}
 
 	/**
@@ -36,12 +84,14 @@ public class Model {
 	 * @throws Exception the key is used
 	 */
 	public void addNode(int key) throws Exception {
-		if (this.nodes.get(key) != null) {
+		if (this.nodes.containsKey(key)) {
 			throw new Exception("Used key");
 		}
-		FibonacciNode node = new FibonacciNode(key);
-		this.heap.insert(node);
-		this.nodes.put(key, node);
+		Handle handle = this.heap.insert(key);
+		this.nodes.put(key, handle);
+		if (this.log != null) {
+			this.log.add(key, identify(handle, this.nextId));
+		}
 	}
 
 	/**
@@ -49,11 +99,7 @@ public class Model {
 	 * @throws Exception the heap is empty
 	 */
 	public void removeMinNode() throws Exception {
-		if (heap.isEmpty()) {
-			throw new Exception("Empty heap");
-		}
-		this.nodes.remove(this.heap.getMin().getKey());
-		this.heap.removeMin();
+		removeMin();
 	}
 
 	/**
@@ -63,16 +109,97 @@ public class Model {
 	 * @throws Exception current key is higher than new one
 	 */
 	public void decreseKeyNode(int nodeKey, int newKey) throws Exception {
-		if (nodes.get(nodeKey) == null) {
+		Handle decreaseNode = this.nodes.get(nodeKey);
+		if (decreaseNode == null) {
 			throw new Exception("Node not found");
 		}
-		if (nodes.get(newKey) != null) {
+		if (this.nodes.containsKey(newKey)) {
 			throw new Exception("Current key used");
 		}
-		FibonacciNode decreaseNode = this.nodes.get(nodeKey);
+		/*
+		 * The heap is updated first so a rejected key leaves the map untouched
+		 */
+		Handle decreased = this.heap.decreaseKey(decreaseNode, newKey);
 		this.nodes.remove(nodeKey);
-		this.nodes.put(newKey, this.heap.decreaseKey(decreaseNode, newKey));
+		this.nodes.put(newKey, decreased);
+		if (this.log != null) {
+			this.log.decreaseKey(nodeKey, newKey);
+		}
+	}
+
+	/**
+	 * Insert a new element, repeated keys are allowed
+	 * @param key key of the new element
+	 * @return opaque handle of the element, used to address it later
+	 */
+	public Handle insert(int key) {
+		Handle handle = this.heap.insert(key);
+		if (this.log != null) {
+			this.log.insert(key, identify(handle, this.nextId));
+		}
+		return handle;
+	}
+
+	/**
+	 * Remove minimum element of the heap
+	 * @return handle of the removed element
+	 * @throws Exception the heap is empty
+	 */
+	public Handle removeMin() throws Exception {
+		if (this.heap.isEmpty()) {
+			throw new Exception("Empty heap");
+		}
+		Handle min = this.heap.removeMin();
+		forget(min.getKey(), min);
+		untrack(min);
+		if (this.log != null) {
+			this.log.removeMin();
+		}
+		return min;
+	}
+
+	/**
+	 * Decrease the key of an element. If the element was added by key it can
+	 * no longer be addressed by key
+	 * @param handle handle returned when the element was inserted
+	 * @param newKey new key for the element
+	 * @throws Exception current key is higher than new one
+	 * @throws IllegalArgumentException operations are being logged and the
+	 *         element was inserted before the log was set
+	 */
+	public void decreaseKey(Handle handle, int newKey) throws Exception {
+		int id = loggedId(handle);
+		int key = handle.getKey();
+		this.heap.decreaseKey(handle, newKey);
+		forget(key, handle);
+		if (this.log != null) {
+			this.log.decreaseHandle(id, newKey);
+		}
+	}
+
+	/**
+	 * Remove an element of the heap
+	 * @param handle handle returned when the element was inserted
+	 * @throws IllegalArgumentException operations are being logged and the
+	 *         element was inserted before the log was set
+	 */
+	public void delete(Handle handle) throws IllegalArgumentException {
+		int id = loggedId(handle);
+		int key = handle.getKey();
+		this.heap.delete(handle);
+		forget(key, handle);
+		untrack(handle);
+		if (this.log != null) {
+			this.log.delete(id);
+		}
+	}
 
+	/**
+	 * Number of elements in the heap
+	 * @return number of elements
+	 */
+	public int size() {
+		return this.heap.size();
 	}
 
 	/**
@@ -80,15 +207,256 @@ public class Model {
 	 */
 	public void clear() {
 		heap.clear();
-		this.nodes = new HashMap<Integer, FibonacciNode>();
+		this.nodes.clear();
+		this.ids.clear();
+		this.handles.clear();
+		if (this.log != null) {
+			this.log.clear();
+		}
+	}
+
+	/**
+	 * Log every following operation. Elements inserted while logging get an
+	 * insertion sequence number that addresses them in the log, which is kept
+	 * by snapshots and replays. Elements inserted before, without a number,
+	 * can not be addressed by handle while logging
+	 * @param log operation log, null to stop logging
+	 */
+	public void setLog(OperationLog log) {
+		this.log = log;
+	}
+
+	/**
+	 * Sequence number of an element, checked before a handle operation is
+	 * applied so a rejected operation leaves the model untouched
+	 * @param handle element handle
+	 * @return sequence number, or -1 while not logging
+	 * @throws IllegalArgumentException operations are being logged and the
+	 *         element has no sequence number
+	 */
+	private int loggedId(Handle handle) throws IllegalArgumentException {
+		if (this.log == null) {
+			return -1;
+		}
+		Integer id = this.ids.get(handle);
+		if (id == null) {
+			throw new IllegalArgumentException("Element inserted before the log was set");
+		}
+		return id;
+	}
+
+	/**
+	 * Give an element a sequence number
+	 * @param handle element handle
+	 * @param id sequence number
+	 * @return sequence number
+	 */
+	int identify(Handle handle, int id) {
+		Integer previous = this.ids.put(handle, id);
+		if (previous != null) {
+			this.handles.remove(previous);
+		}
+		this.handles.put(id, handle);
+		if (id >= this.nextId) {
+			this.nextId = id + 1;
+		}
+		return id;
+	}
+
+	/**
+	 * Node added by key
+	 * @param key node key
+	 * @return node handle, or null if no node was added with that key
+	 */
+	Handle getNode(int key) {
+		return this.nodes.get(key);
+	}
+
+	/**
+	 * Element with a sequence number
+	 * @param id sequence number
+	 * @return element handle, or null if no element in the heap has it
+	 */
+	Handle handle(int id) {
+		return this.handles.get(id);
+	}
+
+	/**
+	 * Remove the sequence number of an element that leaves the heap. Nothing
+	 * is looked up while no element has a number
+	 * @param handle element handle
+	 */
+	private void untrack(Handle handle) {
+		if (!this.ids.isEmpty()) {
+			Integer id = this.ids.remove(handle);
+			if (id != null) {
+				this.handles.remove(id);
+			}
+		}
+	}
+
+	/**
+	 * Remove the key entry of a node that leaves the heap or changes its key.
+	 * Nothing is looked up while no node was added by key
+	 * @param key node key before the operation
+	 * @param handle node handle
+	 */
+	private void forget(int key, Handle handle) {
+		if (!this.nodes.isEmpty() && this.nodes.get(key) == handle) {
+			this.nodes.remove(key);
+		}
+	}
+
+	/**
+	 * Write the heap and the nodes added by key to a file. The file starts
+	 * with the number of nodes and of nodes added by key, followed by the
+	 * heap snapshot, the snapshot positions of the nodes added by key and the
+	 * sequence numbers of the elements that have one, as pairs of snapshot
+	 * position and number. Keys may be repeated by inserted elements, so
+	 * nodes are always addressed by position
+	 * @param file destination file, replaced if it exists
+	 * @throws IOException error writing the file
+	 * @throws IllegalStateException the heap is not a Fibonacci heap
+	 */
+	public void saveSnapshot(Path file) throws IOException, IllegalStateException {
+		Object heap = this.heap;
+		if (!(heap instanceof FibonacciHeap)) {
+			throw new IllegalStateException("Snapshots need a Fibonacci heap");
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer header = ByteBuffer.allocate(8);
+			header.putInt(this.heap.size()).putInt(this.nodes.size());
+			header.flip();
+			while (header.hasRemaining()) {
+				channel.write(header);
+			}
+			FibonacciNode[] order = new FibonacciNode[this.heap.size()];
+			((FibonacciHeap) heap).writeSnapshot(channel, order);
+			ByteBuffer trailer = ByteBuffer.allocate(4 * this.nodes.size() + 4 + 8 * this.ids.size());
+			if (!this.nodes.isEmpty()) {
+				for (int i = 0; i < order.length; i++) {
+					if (this.nodes.get(order[i].getKey()) == order[i]) {
+						trailer.putInt(i);
+					}
+				}
+			}
+			trailer.putInt(this.ids.size());
+			if (!this.ids.isEmpty()) {
+				for (int i = 0; i < order.length; i++) {
+					Integer id = this.ids.get(order[i]);
+					if (id != null) {
+						trailer.putInt(i).putInt(id);
+					}
+				}
+			}
+			trailer.flip();
+			while (trailer.hasRemaining()) {
+				channel.write(trailer);
+			}
+			channel.force(true);
+		}
+	}
+
+	/**
+	 * Rebuild a model from a file written by {@link #saveSnapshot(Path)}. The
+	 * file is mapped in memory and read once
+	 * @param file snapshot file
+	 * @return model with the restored heap
+	 * @throws IOException error reading the file or invalid file
+	 */
+	public static Model loadSnapshot(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Snapshot too large");
+			}
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			FibonacciNode[] restored;
+			int added;
+			try {
+				int size = buffer.getInt();
+				added = buffer.getInt();
+				if (size < 0 || added < 0 || added > size) {
+					throw new IOException("Corrupted snapshot");
+				}
+				restored = new FibonacciNode[size];
+			} catch (BufferUnderflowException e) {
+				throw new IOException("Truncated snapshot", e);
+			}
+			Model model = new Model(FibonacciHeap.readSnapshot(buffer, restored));
+			try {
+				for (int i = 0; i < added; i++) {
+					int position = buffer.getInt();
+					if (position < 0 || position >= restored.length
+							|| model.nodes.containsKey(restored[position].getKey())) {
+						throw new IOException("Corrupted snapshot");
+					}
+					model.nodes.put(restored[position].getKey(), restored[position]);
+				}
+				int count = buffer.hasRemaining() ? buffer.getInt() : 0;
+				for (int i = 0; i < count; i++) {
+					int position = buffer.getInt();
+					int id = buffer.getInt();
+					if (position < 0 || position >= restored.length || id < 0) {
+						throw new IOException("Corrupted snapshot");
+					}
+					model.identify(restored[position], id);
+				}
+			} catch (BufferUnderflowException e) {
+				throw new IOException("Truncated snapshot", e);
+			}
+			return model;
+		}
 	}
 
 	/**
-	 * Request for heap visualization information
+	 * Request for heap visualization information, limited to
+	 * {@link #INFO_NODES} nodes
 	 * @return heap visual representation
 	 */
 	public String getHeapInfo() {
-		return this.heap.nodeVisualization();
+		StringBuilder buffer = new StringBuilder();
+		try {
+			writeHeapInfo(buffer, 0, Integer.MAX_VALUE, Integer.MAX_VALUE, INFO_NODES);
+		} catch (IOException e) {
+			// StringBuilder never throws IOException
+			throw new IllegalStateException(e);
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * Write heap visualization information while the heap is traversed
+	 * @param out destination of the information
+	 * @param firstRoot number of roots skipped
+	 * @param maxRoots maximum number of roots written
+	 * @param maxDepth maximum depth of the nodes written
+	 * @param maxNodes maximum number of nodes written
+	 * @return number of nodes written
+	 * @throws IOException error writing to out
+	 */
+	public int writeHeapInfo(Appendable out, int firstRoot, int maxRoots, int maxDepth, int maxNodes)
+			throws IOException {
+		return this.heap.writeVisualization(out, firstRoot, maxRoots, maxDepth, maxNodes);
+	}
+
+	/**
+	 * Request for a page of the root list
+	 * @param from position of the first root
+	 * @param count maximum number of roots
+	 * @return roots of the page
+	 */
+	public List<Handle> getRoots(int from, int count) {
+		return this.heap.roots(from, count);
+	}
+
+	/**
+	 * Request for the children of a node
+	 * @param handle node handle
+	 * @return node children
+	 */
+	public List<Handle> getChildren(Handle handle) {
+		return this.heap.children(handle);
 	}
 
 	/**
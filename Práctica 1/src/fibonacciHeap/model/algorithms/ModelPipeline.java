@@ -0,0 +1,426 @@
+package fibonacciHeap.model.algorithms;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Single writer in front of a model. Operations are queued in a bounded queue
+ * and a writer thread, the only one that touches the model, runs them in
+ * batches. After a batch the writer publishes an immutable {@link Snapshot}
+ * with the information the view needs, so the view never reads the heap while
+ * it is being modified
+ *
+ * <p>
+ * A snapshot is published when the writer has caught up with the queue or at
+ * least every {@link #PUBLISH_INTERVAL} milliseconds, so a burst of operations
+ * pays for a single snapshot
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class ModelPipeline implements Closeable {
+
+	/**
+	 * Operation types
+	 */
+	public static final int ADD = 1;
+	public static final int REMOVE_MIN = 2;
+	public static final int DECREASE_KEY = 3;
+	public static final int CLEAR = 4;
+
+	/**
+	 * Internal operation running a task on the writer thread
+	 */
+	private static final int CALL = 5;
+
+	/**
+	 * Internal operation stopping the writer thread
+	 */
+	private static final int STOP = 6;
+
+	/**
+	 * Default capacity of the operation queue
+	 */
+	public static final int DEFAULT_CAPACITY = 1 << 14;
+
+	/**
+	 * Maximum number of operations run in a batch
+	 */
+	public static final int MAX_BATCH = 1024;
+
+	/**
+	 * Maximum milliseconds between snapshots while operations keep arriving
+	 */
+	public static final long PUBLISH_INTERVAL = 50;
+
+	/**
+	 * Receives the results of the pipeline, always on the writer thread
+	 */
+	public interface Listener {
+
+		/**
+		 * An operation has been run
+		 * @param operation operation type
+		 * @param key key argument of the operation
+		 * @param newKey new key of a decrease key operation
+		 * @param error error of the operation, null if it succeeded
+		 */
+		void operationCompleted(int operation, int key, int newKey, Exception error);
+
+		/**
+		 * A new snapshot of the model has been published
+		 * @param snapshot model snapshot
+		 */
+		void snapshotPublished(Snapshot snapshot);
+	}
+
+	/**
+	 * Model owned by the writer thread
+	 */
+	private final Model model;
+
+	/**
+	 * Pending operations
+	 */
+	private final BlockingQueue<Command> queue;
+
+	/**
+	 * Receiver of results and snapshots, may be null
+	 */
+	private final Listener listener;
+
+	/**
+	 * Thread running the operations
+	 */
+	private final Thread writer;
+
+	/**
+	 * Last published snapshot
+	 */
+	private volatile Snapshot snapshot;
+
+	/**
+	 * Whether close has been called
+	 */
+	private volatile boolean closed;
+
+	/**
+	 * Public constructor, starts the writer thread and publishes the first
+	 * snapshot
+	 * @param model model to be owned by the pipeline, not to be used directly
+	 * anymore
+	 * @param capacity capacity of the operation queue
+	 * @param listener receiver of results and snapshots, may be null
+	 */
+	public ModelPipeline(Model model, int capacity, Listener listener) {
+		this.model = model;
+		this.queue = new ArrayBlockingQueue<Command>(capacity);
+		this.listener = listener;
+		this.writer = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				write();
+			}
+		}, "model-writer");
+		this.writer.setDaemon(true);
+		this.writer.start();
+	}
+
+	/**
+	 * Queue an operation without waiting
+	 * @param operation ADD, REMOVE_MIN, DECREASE_KEY or CLEAR
+	 * @param key key of the node, ignored by REMOVE_MIN and CLEAR
+	 * @param newKey new key of a decrease key operation
+	 * @return false if the queue is full and the operation was discarded
+	 * @throws IllegalArgumentException unknown operation
+	 * @throws IllegalStateException the pipeline is closed
+	 */
+	public boolean submit(int operation, int key, int newKey) throws IllegalArgumentException {
+		checkOpen();
+		return this.queue.offer(command(operation, key, newKey));
+	}
+
+	/**
+	 * Queue an operation, waiting while the queue is full
+	 * @param operation ADD, REMOVE_MIN, DECREASE_KEY or CLEAR
+	 * @param key key of the node, ignored by REMOVE_MIN and CLEAR
+	 * @param newKey new key of a decrease key operation
+	 * @throws IllegalArgumentException unknown operation
+	 * @throws IllegalStateException the pipeline is closed
+	 * @throws InterruptedException interrupted while waiting
+	 */
+	public void put(int operation, int key, int newKey) throws IllegalArgumentException, InterruptedException {
+		checkOpen();
+		this.queue.put(command(operation, key, newKey));
+	}
+
+	/**
+	 * Run a task on the writer thread after every operation already queued and
+	 * wait for its result. It is the only safe way to use the model directly
+	 * @param task task using the model
+	 * @return result of the task
+	 * @throws Exception error thrown by the task, or CancellationException if
+	 * the pipeline was closed before running it
+	 */
+	public <T> T call(Callable<T> task) throws Exception {
+		checkOpen();
+		FutureTask<T> future = new FutureTask<T>(task);
+		Command command = new Command(CALL, 0, 0);
+		command.task = future;
+		this.queue.put(command);
+		try {
+			while (true) {
+				try {
+					return future.get(PUBLISH_INTERVAL, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					/*
+					 * A task queued while the writer was stopping is never run
+					 */
+					if (!this.writer.isAlive()) {
+						future.cancel(false);
+					}
+				}
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Wait until every operation already queued has been run
+	 * @throws InterruptedException interrupted while waiting
+	 */
+	public void sync() throws InterruptedException {
+		try {
+			call(new Callable<Void>() {
+
+				@Override
+				public Void call() {
+					return null;
+				}
+			});
+		} catch (InterruptedException e) {
+			throw e;
+		} catch (Exception e) {
+			// The task never fails
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Last published snapshot
+	 * @return model snapshot, null before the first one
+	 */
+	public Snapshot getSnapshot() {
+		return this.snapshot;
+	}
+
+	/**
+	 * The model owned by the pipeline, only to be used inside {@link #call}
+	 * @return application model
+	 */
+	public Model getModel() {
+		return this.model;
+	}
+
+	/**
+	 * Run every queued operation and stop the writer thread
+	 */
+	@Override
+	public void close() {
+		this.closed = true;
+		boolean interrupted = false;
+		while (this.writer.isAlive()) {
+			try {
+				if (this.queue.offer(new Command(STOP, 0, 0), 10, TimeUnit.MILLISECONDS)) {
+					this.writer.join();
+				}
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void checkOpen() throws IllegalStateException {
+		if (this.closed) {
+			throw new IllegalStateException("Pipeline closed");
+		}
+	}
+
+	private static Command command(int operation, int key, int newKey) throws IllegalArgumentException {
+		if (operation < ADD || operation > CLEAR) {
+			throw new IllegalArgumentException("Unknown operation " + operation);
+		}
+		return new Command(operation, key, newKey);
+	}
+
+	/**
+	 * Body of the writer thread
+	 */
+	private void write() {
+		List<Command> batch = new ArrayList<Command>(MAX_BATCH);
+		publish();
+		long published = System.nanoTime();
+		boolean changed = false;
+		boolean running = true;
+		while (running) {
+			try {
+				if (changed && this.queue.isEmpty()) {
+					publish();
+					published = System.nanoTime();
+					changed = false;
+				}
+				batch.add(this.queue.take());
+			} catch (InterruptedException e) {
+				break;
+			}
+			this.queue.drainTo(batch, MAX_BATCH - 1);
+			for (Command command : batch) {
+				if (command.operation == STOP) {
+					running = false;
+				} else if (running) {
+					changed |= run(command);
+				} else if (command.task != null) {
+					command.task.cancel(false);
+				}
+			}
+			batch.clear();
+			if (changed && System.nanoTime() - published >= TimeUnit.MILLISECONDS.toNanos(PUBLISH_INTERVAL)) {
+				publish();
+				published = System.nanoTime();
+				changed = false;
+			}
+		}
+		if (changed) {
+			publish();
+		}
+		/*
+		 * Tasks queued after the stop would never be run
+		 */
+		for (Command command = this.queue.poll(); command != null; command = this.queue.poll()) {
+			if (command.task != null) {
+				command.task.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Run an operation on the model
+	 * @param command operation
+	 * @return whether the model could have been modified
+	 */
+	private boolean run(Command command) {
+		Exception error = null;
+		try {
+			switch (command.operation) {
+			case ADD:
+				this.model.addNode(command.key);
+				break;
+			case REMOVE_MIN:
+				this.model.removeMinNode();
+				break;
+			case DECREASE_KEY:
+				this.model.decreseKeyNode(command.key, command.newKey);
+				break;
+			case CLEAR:
+				this.model.clear();
+				break;
+			default:
+				/*
+				 * Tasks may modify the model through its handle methods
+				 */
+				command.task.run();
+				return true;
+			}
+		} catch (Exception e) {
+			error = e;
+		}
+		if (this.listener != null) {
+			this.listener.operationCompleted(command.operation, command.key, command.newKey, error);
+		}
+		return error == null;
+	}
+
+	/**
+	 * Build and publish a snapshot of the model
+	 */
+	private void publish() {
+		Snapshot snapshot = new Snapshot(this.model);
+		this.snapshot = snapshot;
+		if (this.listener != null) {
+			this.listener.snapshotPublished(snapshot);
+		}
+	}
+
+	/**
+	 * Queued operation
+	 */
+	private static class Command {
+
+		private final int operation;
+
+		private final int key;
+
+		private final int newKey;
+
+		/**
+		 * Task of a CALL operation
+		 */
+		private FutureTask<?> task;
+
+		private Command(int operation, int key, int newKey) {
+			this.operation = operation;
+			this.key = key;
+			this.newKey = newKey;
+		}
+	}
+
+	/**
+	 * Immutable summary of the model: size and heap visualization, limited to
+	 * {@link Model#INFO_NODES} nodes. The heap trees are not copied, the view
+	 * requests the nodes it shows through {@link ModelPipeline#call(Callable)}
+	 */
+	public static final class Snapshot {
+
+		private final int size;
+
+		private final String heapInfo;
+
+		private Snapshot(Model model) {
+			this.size = model.size();
+			this.heapInfo = model.getHeapInfo();
+		}
+
+		/**
+		 * Number of elements of the heap
+		 * @return heap size
+		 */
+		public int getSize() {
+			return this.size;
+		}
+
+		/**
+		 * Heap visualization information
+		 * @return heap visual representation
+		 */
+		public String getHeapInfo() {
+			return this.heapInfo;
+		}
+	}
+}
@@ -0,0 +1,525 @@
+package fibonacciHeap.model.algorithms;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Implementacin del montculo de Fibonacci cuyos nodos se almacenan fuera del
+ * heap de Java, en bloques de memoria directa. Cada nodo es un registro de
+ * tamao fijo identificado por un manejador entero, de modo que el recolector
+ * de basura no tiene que recorrer los nodos y sus pausas no dependen del
+ * tamao del montculo
+ *
+ * <p>
+ * La memoria crece por bloques de {@link #CHUNK_NODES} registros y las
+ * posiciones liberadas por {@link #removeMin()} se reutilizan en inserciones
+ * posteriores. El manejador devuelto por removeMin sigue siendo vlido para
+ * consultar su clave hasta la siguiente insercin
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class OffHeapFibonacciHeap {
+
+	/**
+	 * Manejador nulo, equivalente a una referencia a null
+	 */
+	public static final int NIL = -1;
+
+	/**
+	 * Logaritmo en base 2 del nmero de registros de cada bloque
+	 */
+	private static final int CHUNK_SHIFT = 16;
+
+	/**
+	 * Nmero de registros de cada bloque
+	 */
+	public static final int CHUNK_NODES = 1 << CHUNK_SHIFT;
+
+	/**
+	 * Mscara para obtener la posicin de un registro dentro de su bloque
+	 */
+	private static final int CHUNK_MASK = CHUNK_NODES - 1;
+
+	/**
+	 * Logaritmo en base 2 del tamao en bytes de un registro
+	 */
+	private static final int RECORD_SHIFT = 5;
+
+	/**
+	 * Tamao en bytes de un registro
+	 */
+	public static final int RECORD_BYTES = 1 << RECORD_SHIFT;
+
+	/*
+	 * Desplazamiento de cada campo dentro del registro
+	 */
+	private static final int LEFT = 0;
+	private static final int RIGHT = 4;
+	private static final int PARENT = 8;
+	private static final int CHILD = 12;
+	private static final int DEGREE = 16;
+	private static final int KEY = 20;
+	private static final int MARK = 24;
+
+	/**
+	 * Inverso del logaritmo de la razn urea, usado para acotar el grado
+	 * mximo de un nodo
+	 */
+	private static final double INV_LOG_PHI = 1.0 / Math.log((1.0 + Math.sqrt(5.0)) / 2.0);
+
+	/**
+	 * Bloques de memoria directa con los registros de los nodos
+	 */
+	private ByteBuffer[] chunks;
+
+	/**
+	 * Nmero de bloques reservados
+	 */
+	private int chunkCount;
+
+	/**
+	 * Array de grados usado durante la consolidacin. Se conserva entre
+	 * llamadas y sus posiciones quedan siempre a NIL al terminar
+	 */
+	private int[] degreeTable;
+
+	/**
+	 * Manejador del nodo con la menor clave del montculo
+	 */
+	private int min;
+
+	/**
+	 * Nmero de elementos del montculo
+	 */
+	private int cardinal;
+
+	/**
+	 * Primera posicin nunca utilizada
+	 */
+	private int top;
+
+	/**
+	 * Primera posicin de la lista de huecos libres
+	 */
+	private int free;
+
+	/**
+	 * Constructor por defecto
+	 */
+	public OffHeapFibonacciHeap() {
+		this.chunks = new ByteBuffer[4];
+		this.degreeTable = new int[0];
+		this.min = NIL;
+		this.free = NIL;
+	}
+
+	/**
+	 * Decrece la clave de un nodo dado su manejador y su nuevo valor.
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param node
+	 *            manejador del nodo cuya clave va a ser decrecida
+	 * @param newKey
+	 *            nueva clave para el nodo node
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que la nueva clave sea mayor que la
+	 *                actual.
+	 */
+	public void decreaseKey(int node, int newKey) throws IllegalArgumentException {
+		if (newKey >= get(node, KEY)) {
+			throw new IllegalArgumentException("New key value is higher that current");
+		}
+		set(node, KEY, newKey);
+		int p = get(node, PARENT);
+		if ((p != NIL) && (newKey < get(p, KEY))) {
+			cut(node, p);
+			cascadingCut(p);
+		}
+		if (newKey < get(this.min, KEY)) {
+			this.min = node;
+		}
+	}
+
+	/**
+	 * Eliminar todos los elementos del montculo. Los bloques reservados se
+	 * conservan para las siguientes inserciones
+	 */
+	public void clear() {
+		this.min = NIL;
+		this.cardinal = 0;
+		this.top = 0;
+		this.free = NIL;
+	}
+
+	/**
+	 * Devuelve el manejador del nodo con menor clave
+	 *
+	 * @return manejador del mnimo o NIL si el montculo est vaco
+	 */
+	public int getMin() {
+		return this.min;
+	}
+
+	/**
+	 * Devuelve la clave de un nodo
+	 *
+	 * @param node
+	 *            manejador del nodo
+	 * @return clave del nodo
+	 */
+	public int getKey(int node) {
+		return get(node, KEY);
+	}
+
+	/**
+	 * Comprueba si el montculo est vaco
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @return true si el montculo est vaco, false en cualquier otro caso
+	 */
+	public boolean isEmpty() {
+		return this.min == NIL;
+	}
+
+	/**
+	 * Nmero de elementos del montculo
+	 *
+	 * @return nmero de elementos
+	 */
+	public int size() {
+		return this.cardinal;
+	}
+
+	/**
+	 * Memoria directa reservada por el montculo
+	 *
+	 * @return bytes reservados fuera del heap de Java
+	 */
+	public long reservedBytes() {
+		return (long) this.chunkCount * CHUNK_NODES * RECORD_BYTES;
+	}
+
+	/**
+	 * Inserta un nuevo nodo con la clave indicada
+	 *
+	 * <p>
+	 * Coste amortizado en O(1)
+	 * </p>
+	 *
+	 * @param newKey
+	 *            clave del nodo a insertar
+	 * @return manejador del nuevo nodo
+	 */
+	public int insert(int newKey) {
+		int node = allocate();
+		set(node, KEY, newKey);
+		set(node, PARENT, NIL);
+		set(node, CHILD, NIL);
+		set(node, DEGREE, 0);
+		set(node, MARK, 0);
+		/*
+		 * Si el montculo est vaco el nodo pasa a ser el mnimo, en otro
+		 * caso se aade a la lista de raices por la derecha del mnimo
+		 */
+		if (this.min != NIL) {
+			addRoot(node);
+			if (newKey < get(this.min, KEY)) {
+				this.min = node;
+			}
+		} else {
+			set(node, LEFT, node);
+			set(node, RIGHT, node);
+			this.min = node;
+		}
+		this.cardinal++;
+		return node;
+	}
+
+	/**
+	 * Elimina el nodo con menor clave del montculo. Necesita consolidar el
+	 * montculo
+	 *
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 *
+	 * @return manejador del nodo con la clave ms pequea o NIL si el
+	 *         montculo est vaco
+	 */
+	public int removeMin() {
+		int tempMin = this.min;
+		if (tempMin == NIL) {
+			return NIL;
+		}
+		/*
+		 * Subimos todos los hijos del mnimo a la lista de raices
+		 */
+		int minChild = get(tempMin, CHILD);
+		for (int i = get(tempMin, DEGREE); i > 0; i--) {
+			int next = get(minChild, RIGHT);
+			set(minChild, PARENT, NIL);
+			addRoot(minChild);
+			minChild = next;
+		}
+		/*
+		 * Aislamos el mnimo y consolidamos a partir de su vecino derecho
+		 */
+		int l = get(tempMin, LEFT);
+		int r = get(tempMin, RIGHT);
+		set(l, RIGHT, r);
+		set(r, LEFT, l);
+		if (tempMin == r) {
+			this.min = NIL;
+		} else {
+			this.min = r;
+			consolidate();
+		}
+		this.cardinal--;
+		release(tempMin);
+		return tempMin;
+	}
+
+	/**
+	 * Desvincula sucesivamente nodos hijos de sus nodos padre
+	 *
+	 * <p>
+	 * Coste amortizado en O(1)
+	 * </p>
+	 *
+	 * @param node
+	 *            nodo a desvincular
+	 */
+	private void cascadingCut(int node) {
+		int p = get(node, PARENT);
+		while (p != NIL) {
+			if (get(node, MARK) == 0) {
+				set(node, MARK, 1);
+				return;
+			}
+			cut(node, p);
+			node = p;
+			p = get(node, PARENT);
+		}
+	}
+
+	/**
+	 * Consolida los rboles del montculo uniendo los de igual grado. La lista
+	 * de raices se recorre una nica vez y se reconstruye a partir del array
+	 * de grados
+	 *
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 */
+	private void consolidate() {
+		int[] table = degreeTable(this.cardinal);
+		int maxDegree = -1;
+
+		int node = this.min;
+		set(get(node, LEFT), RIGHT, NIL);
+		while (node != NIL) {
+			int next = get(node, RIGHT);
+			int d = get(node, DEGREE);
+			while (table[d] != NIL) {
+				int other = table[d];
+				if (get(other, KEY) < get(node, KEY)) {
+					int aux = other;
+					other = node;
+					node = aux;
+				}
+				link(other, node);
+				table[d] = NIL;
+				d++;
+			}
+			table[d] = node;
+			if (d > maxDegree) {
+				maxDegree = d;
+			}
+			node = next;
+		}
+
+		this.min = NIL;
+		for (int i = 0; i <= maxDegree; i++) {
+			int root = table[i];
+			if (root != NIL) {
+				table[i] = NIL;
+				if (this.min == NIL) {
+					set(root, LEFT, root);
+					set(root, RIGHT, root);
+					this.min = root;
+				} else {
+					addRoot(root);
+					if (get(root, KEY) < get(this.min, KEY)) {
+						this.min = root;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Devuelve el array de grados con tamao suficiente para un montculo de
+	 * n elementos, amplindolo si es necesario
+	 *
+	 * @param n
+	 *            nmero de elementos
+	 * @return array de grados con todas sus posiciones a NIL
+	 */
+	private int[] degreeTable(int n) {
+		int size = (int) (Math.log(Math.max(n, 1)) * INV_LOG_PHI) + 2;
+		if (this.degreeTable.length < size) {
+			int[] table = Arrays.copyOf(this.degreeTable, size);
+			Arrays.fill(table, this.degreeTable.length, size, NIL);
+			this.degreeTable = table;
+		}
+		return this.degreeTable;
+	}
+
+	/**
+	 * Desvincula un nodo hijo de su padre y lo aade a la lista de raices
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param node
+	 *            nodo hijo
+	 * @param p
+	 *            nodo padre
+	 */
+	private void cut(int node, int p) {
+		int l = get(node, LEFT);
+		int r = get(node, RIGHT);
+		set(l, RIGHT, r);
+		set(r, LEFT, l);
+		int d = get(p, DEGREE) - 1;
+		set(p, DEGREE, d);
+		if (d == 0) {
+			set(p, CHILD, NIL);
+		} else if (get(p, CHILD) == node) {
+			set(p, CHILD, r);
+		}
+		addRoot(node);
+		set(node, PARENT, NIL);
+		set(node, MARK, 0);
+	}
+
+	/**
+	 * Hace a node hijo de p. No modifica la lista en la que estuviera node
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param node
+	 *            nuevo nodo hijo
+	 * @param p
+	 *            nodo padre
+	 */
+	private void link(int node, int p) {
+		set(node, PARENT, p);
+		int c = get(p, CHILD);
+		if (c == NIL) {
+			set(p, CHILD, node);
+			set(node, LEFT, node);
+			set(node, RIGHT, node);
+		} else {
+			int r = get(c, RIGHT);
+			set(node, LEFT, c);
+			set(node, RIGHT, r);
+			set(c, RIGHT, node);
+			set(r, LEFT, node);
+		}
+		set(p, DEGREE, get(p, DEGREE) + 1);
+		set(node, MARK, 0);
+	}
+
+	/**
+	 * Aade un nodo a la lista de raices, a la derecha del mnimo
+	 *
+	 * @param node
+	 *            nodo a aadir
+	 */
+	private void addRoot(int node) {
+		int r = get(this.min, RIGHT);
+		set(node, LEFT, this.min);
+		set(node, RIGHT, r);
+		set(this.min, RIGHT, node);
+		set(r, LEFT, node);
+	}
+
+	/**
+	 * Obtiene una posicin libre, reutilizando huecos o reservando un nuevo
+	 * bloque de memoria
+	 *
+	 * @return posicin para el nuevo nodo
+	 */
+	private int allocate() {
+		if (this.free != NIL) {
+			int node = this.free;
+			this.free = get(node, RIGHT);
+			return node;
+		}
+		if (this.top == this.chunkCount << CHUNK_SHIFT) {
+			if (this.top < 0) {
+				throw new IllegalStateException("Heap capacity exceeded");
+			}
+			if (this.chunkCount == this.chunks.length) {
+				this.chunks = Arrays.copyOf(this.chunks, this.chunkCount << 1);
+			}
+			this.chunks[this.chunkCount++] = ByteBuffer.allocateDirect(CHUNK_NODES * RECORD_BYTES)
+					.order(ByteOrder.nativeOrder());
+		}
+		return this.top++;
+	}
+
+	/**
+	 * Aade una posicin a la lista de huecos libres
+	 *
+	 * @param node
+	 *            posicin liberada
+	 */
+	private void release(int node) {
+		set(node, PARENT, NIL);
+		set(node, CHILD, NIL);
+		set(node, RIGHT, this.free);
+		this.free = node;
+	}
+
+	/**
+	 * Lee un campo del registro de un nodo
+	 *
+	 * @param node
+	 *            manejador del nodo
+	 * @param field
+	 *            desplazamiento del campo
+	 * @return valor del campo
+	 */
+	private int get(int node, int field) {
+		return this.chunks[node >>> CHUNK_SHIFT].getInt(((node & CHUNK_MASK) << RECORD_SHIFT) + field);
+	}
+
+	/**
+	 * Escribe un campo del registro de un nodo
+	 *
+	 * @param node
+	 *            manejador del nodo
+	 * @param field
+	 *            desplazamiento del campo
+	 * @param value
+	 *            nuevo valor del campo
+	 */
+	private void set(int node, int field, int value) {
+		this.chunks[node >>> CHUNK_SHIFT].putInt(((node & CHUNK_MASK) << RECORD_SHIFT) + field, value);
+	}
+}
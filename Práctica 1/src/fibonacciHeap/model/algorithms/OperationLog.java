@@ -0,0 +1,421 @@
+package fibonacciHeap.model.algorithms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import fibonacciHeap.model.algorithms.AddressableHeap.Handle;
+
+/**
+ * Append-only log of model operations. Records are collected in a direct
+ * buffer and written with group commit: a background thread writes and syncs
+ * every pending record once per sync interval, so a crash loses at most the
+ * operations of the last interval. With a sync interval of 0 every record is
+ * synced before the operation returns
+ *
+ * <p>
+ * The buffer is doubled: a sync swaps the full buffer for an empty one under
+ * the log monitor and writes it outside the monitor, so records are appended
+ * while the disk is busy and only wait for it when the second buffer fills
+ * up too
+ * </p>
+ *
+ * <p>
+ * Handles do not survive a restart, so every inserted element is logged with
+ * its insertion sequence number and operations addressed by handle refer to
+ * that number, the same way traces address elements by id
+ * </p>
+ *
+ * <p>
+ * An error writing or syncing the file is kept, and every later operation
+ * fails with it until the log is reopened, since replaying the records after
+ * a lost one would rebuild a different heap
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class OperationLog implements Closeable {
+
+	/**
+	 * Record types, followed by their int arguments
+	 */
+	static final byte ADD = 1;
+	static final byte REMOVE_MIN = 2;
+	static final byte DECREASE_KEY = 3;
+	static final byte CLEAR = 4;
+	static final byte INSERT = 5;
+	static final byte DECREASE_HANDLE = 6;
+	static final byte DELETE = 7;
+
+	/**
+	 * Size of the largest record: type and two ints
+	 */
+	private static final int MAX_RECORD = 9;
+
+	/**
+	 * Size of the record buffer
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Log file
+	 */
+	private FileChannel channel;
+
+	/**
+	 * Records not written yet, guarded by the log monitor
+	 */
+	private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+	/**
+	 * Empty buffer swapped in by the next sync, only used while holding io
+	 */
+	private ByteBuffer spare = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+	/**
+	 * Lock held while writing or syncing the file, never acquired while
+	 * holding the log monitor
+	 */
+	private final Object io = new Object();
+
+	/**
+	 * Thread running the group commit, null when every record is synced
+	 */
+	private ScheduledExecutorService syncer;
+
+	/**
+	 * Whether there are records written but not synced, guarded by io
+	 */
+	private boolean dirty;
+
+	/**
+	 * First error writing or syncing the file, guarded by the log monitor.
+	 * Records may have been lost, so the ones after them could not be
+	 * replayed and every later operation fails until the log is reopened
+	 */
+	private IOException failure;
+
+	/**
+	 * Public constructor, records are appended to the end of the file
+	 * @param file log file, created if it does not exist
+	 * @param syncInterval milliseconds between syncs, 0 to sync every record
+	 * @throws IOException error opening the file
+	 */
+	public OperationLog(Path file, long syncInterval) throws IOException {
+		if (syncInterval < 0) {
+			throw new IllegalArgumentException("Negative sync interval");
+		}
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+		if (syncInterval > 0) {
+			this.syncer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "operation-log-sync");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			this.syncer.scheduleWithFixedDelay(new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						sync(true);
+					} catch (IOException e) {
+						// Kept by sync and reported by the next operation
+					}
+				}
+			}, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Log the insertion of a node added by key
+	 * @param key key of the node
+	 * @param id insertion sequence number of the node
+	 */
+	public void add(int key, int id) {
+		record(ADD, key, id, 9);
+	}
+
+	/**
+	 * Log the insertion of a node through the handle API
+	 * @param key key of the node
+	 * @param id insertion sequence number of the node
+	 */
+	public void insert(int key, int id) {
+		record(INSERT, key, id, 9);
+	}
+
+	/**
+	 * Log the removal of the minimum
+	 */
+	public void removeMin() {
+		record(REMOVE_MIN, 0, 0, 1);
+	}
+
+	/**
+	 * Log the decrease of a node added by key
+	 * @param nodeKey current key of the node
+	 * @param newKey new key of the node
+	 */
+	public void decreaseKey(int nodeKey, int newKey) {
+		record(DECREASE_KEY, nodeKey, newKey, 9);
+	}
+
+	/**
+	 * Log the decrease of a node addressed by handle
+	 * @param id insertion sequence number of the node
+	 * @param newKey new key of the node
+	 */
+	public void decreaseHandle(int id, int newKey) {
+		record(DECREASE_HANDLE, id, newKey, 9);
+	}
+
+	/**
+	 * Log the removal of a node addressed by handle
+	 * @param id insertion sequence number of the node
+	 */
+	public void delete(int id) {
+		record(DELETE, id, 0, 5);
+	}
+
+	/**
+	 * Log the reset of the heap
+	 */
+	public void clear() {
+		record(CLEAR, 0, 0, 1);
+	}
+
+	/**
+	 * Write and sync every pending record
+	 * @throws IOException error writing the file, or a previous error writing it
+	 */
+	public void flush() throws IOException {
+		synchronized (this) {
+			check();
+		}
+		sync(true);
+	}
+
+	/**
+	 * Discard every record, usually after saving a snapshot of the model
+	 * @throws IOException error truncating the file, or a previous error
+	 * writing it
+	 */
+	public void reset() throws IOException {
+		synchronized (this.io) {
+			synchronized (this) {
+				check();
+				this.buffer.clear();
+			}
+			this.channel.truncate(0);
+			this.channel.force(true);
+			this.dirty = false;
+		}
+	}
+
+	/**
+	 * Write and sync every pending record and close the file
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.syncer != null) {
+			this.syncer.shutdown();
+		}
+		synchronized (this.io) {
+			try {
+				synchronized (this) {
+					check();
+				}
+				sync(true);
+			} finally {
+				this.channel.close();
+			}
+		}
+	}
+
+	/**
+	 * Apply the operations of a log to a model. A record cut by a crash at
+	 * the end of the file is ignored. Inserted elements get back their
+	 * sequence numbers, so the model can keep logging to the same file
+	 * @param file log file
+	 * @param model model to update, which must not be logging to the same
+	 *        file
+	 * @return number of operations applied
+	 * @throws IOException error reading the file or invalid record
+	 */
+	public static long replay(Path file, Model model) throws IOException {
+		long operations = 0;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			long position = 0;
+			long size = channel.size();
+			while (position < size) {
+				/*
+				 * The file is mapped in windows so logs larger than 2 GB can be
+				 * read; a window never ends in the middle of a record
+				 */
+				long length = Math.min(size - position, Integer.MAX_VALUE - MAX_RECORD);
+				ByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+				int end = (position + length == size) ? records.limit() : records.limit() - MAX_RECORD;
+				while (records.position() < end) {
+					int start = records.position();
+					byte type = records.get();
+					int needed = (type == DELETE) ? 4 : (type == REMOVE_MIN || type == CLEAR) ? 0 : 8;
+					if (records.remaining() < needed) {
+						if (position + length == size) {
+							return operations;
+						}
+						records.position(start);
+						break;
+					}
+					apply(model, type, records);
+					operations++;
+				}
+				position += records.position();
+			}
+		}
+		return operations;
+	}
+
+	/**
+	 * Apply one record to a model
+	 */
+	private static void apply(Model model, byte type, ByteBuffer records) throws IOException {
+		try {
+			switch (type) {
+			case ADD:
+				int key = records.getInt();
+				model.addNode(key);
+				model.identify(model.getNode(key), records.getInt());
+				break;
+			case INSERT:
+				Handle handle = model.insert(records.getInt());
+				model.identify(handle, records.getInt());
+				break;
+			case DECREASE_HANDLE:
+				model.decreaseKey(logged(model, records.getInt()), records.getInt());
+				break;
+			case DELETE:
+				model.delete(logged(model, records.getInt()));
+				break;
+			case REMOVE_MIN:
+				model.removeMin();
+				break;
+			case DECREASE_KEY:
+				model.decreseKeyNode(records.getInt(), records.getInt());
+				break;
+			case CLEAR:
+				model.clear();
+				break;
+			default:
+				throw new IOException("Corrupted log");
+			}
+		} catch (IOException e) {
+			throw e;
+		} catch (Exception e) {
+			// Only operations that succeeded were logged
+			throw new IOException("Log does not match the model", e);
+		}
+	}
+
+	/**
+	 * Element of a model addressed by a record
+	 * @throws IOException no element in the model has the sequence number
+	 */
+	private static Handle logged(Model model, int id) throws IOException {
+		Handle handle = model.handle(id);
+		if (handle == null) {
+			throw new IOException("Log does not match the model: unknown element " + id);
+		}
+		return handle;
+	}
+
+	/**
+	 * Add a record to the buffer, writing it when full or syncing right away
+	 * without group commit. The disk is only touched outside the log monitor
+	 */
+	private void record(byte type, int first, int second, int size) {
+		try {
+			while (true) {
+				synchronized (this) {
+					check();
+					if (this.buffer.remaining() >= size) {
+						this.buffer.put(type);
+						if (size > 1) {
+							this.buffer.putInt(first);
+						}
+						if (size > 5) {
+							this.buffer.putInt(second);
+						}
+						break;
+					}
+				}
+				sync(false);
+			}
+			if (this.syncer == null) {
+				sync(true);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Report a previous error writing or syncing the file
+	 */
+	private void check() throws IOException {
+		if (this.failure != null) {
+			throw new IOException("Operation log failed, records may have been lost", this.failure);
+		}
+	}
+
+	/**
+	 * Swap the buffer for the spare one and write the buffered records,
+	 * syncing them if asked. Records appended meanwhile go to the new buffer
+	 * @param force whether to sync the file after writing
+	 */
+	private void sync(boolean force) throws IOException {
+		synchronized (this.io) {
+			ByteBuffer full;
+			synchronized (this) {
+				full = this.buffer;
+				this.buffer = this.spare;
+			}
+			try {
+				full.flip();
+				if (full.hasRemaining()) {
+					this.dirty = true;
+				}
+				while (full.hasRemaining()) {
+					this.channel.write(full);
+				}
+				if (force && this.dirty) {
+					this.channel.force(false);
+					this.dirty = false;
+				}
+			} catch (IOException e) {
+				synchronized (this) {
+					if (this.failure == null) {
+						this.failure = e;
+					}
+				}
+				throw e;
+			} finally {
+				full.clear();
+				this.spare = full;
+			}
+		}
+	}
+}
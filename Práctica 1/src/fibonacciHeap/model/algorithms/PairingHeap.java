@@ -0,0 +1,277 @@
+package fibonacciHeap.model.algorithms;
+
+/**
+ * Montculo de emparejamiento (pairing heap). Cada nodo guarda su primer hijo
+ * y su hermano derecho, y la extraccin del mnimo combina los hijos de la
+ * raiz en dos pasadas
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class PairingHeap implements AddressableHeap<PairingHeap.PairingNode> {
+
+	/**
+	 * Raiz del montculo, que contiene la menor clave
+	 */
+	private PairingNode root;
+
+	/**
+	 * Nmero de elementos del montculo
+	 */
+	private int cardinal;
+
+	/**
+	 * Inserta un nuevo nodo con la clave dada
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param key
+	 *            clave del nuevo nodo
+	 * @return nodo insertado
+	 */
+	@Override
+	public PairingNode insert(int key) {
+		PairingNode node = new PairingNode(key);
+		this.root = meld(this.root, node);
+		this.cardinal++;
+		return node;
+	}
+
+	@Override
+	public PairingNode getMin() {
+		return this.root;
+	}
+
+	/**
+	 * Elimina el nodo con menor clave y combina sus hijos en dos pasadas
+	 *
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 *
+	 * @return nodo con la clave ms pequea
+	 */
+	@Override
+	public PairingNode removeMin() {
+		PairingNode min = this.root;
+		if (min != null) {
+			this.root = twoPassMerge(min.child);
+			min.child = null;
+			this.cardinal--;
+		}
+		return min;
+	}
+
+	/**
+	 * Decrece la clave de un nodo. Si no es la raiz se separa su subrbol y se
+	 * une con la raiz
+	 *
+	 * <p>
+	 * Coste amortizado en O(log n), en la prctica muy cercano a O(1)
+	 * </p>
+	 *
+	 * @param node
+	 *            nodo cuya clave va a ser decrecida
+	 * @param key
+	 *            nueva clave para el nodo node
+	 * @return nodo modificado
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que la nueva clave sea mayor que la
+	 *                actual.
+	 */
+	@Override
+	public PairingNode decreaseKey(PairingNode node, int key) throws IllegalArgumentException {
+		if (key >= node.key) {
+			throw new IllegalArgumentException("New key value is higher that current");
+		}
+		node.key = key;
+		if (node != this.root) {
+			detach(node);
+			this.root = meld(this.root, node);
+		}
+		return node;
+	}
+
+	/**
+	 * Elimina un nodo cualquiera. Sus hijos se combinan en dos pasadas y el
+	 * resultado se une con la raiz
+	 *
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 *
+	 * @param node
+	 *            nodo a eliminar
+	 * @return nodo eliminado
+	 */
+	@Override
+	public PairingNode delete(PairingNode node) {
+		if (node == this.root) {
+			return removeMin();
+		}
+		detach(node);
+		this.root = meld(this.root, twoPassMerge(node.child));
+		node.child = null;
+		this.cardinal--;
+		return node;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.root == null;
+	}
+
+	@Override
+	public int size() {
+		return this.cardinal;
+	}
+
+	@Override
+	public void clear() {
+		this.root = null;
+		this.cardinal = 0;
+	}
+
+	/**
+	 * Separa el subrbol de un nodo que no es la raiz
+	 *
+	 * @param node
+	 *            nodo a separar
+	 */
+	private void detach(PairingNode node) {
+		if (node.previous.child == node) {
+			node.previous.child = node.next;
+		} else {
+			node.previous.next = node.next;
+		}
+		if (node.next != null) {
+			node.next.previous = node.previous;
+		}
+		node.next = null;
+		node.previous = null;
+	}
+
+	/**
+	 * Une dos rboles haciendo que el de mayor clave sea el primer hijo del
+	 * otro. Ambos deben ser raices sin hermanos
+	 *
+	 * @param a
+	 *            primer rbol
+	 * @param b
+	 *            segundo rbol
+	 * @return raiz del rbol resultante
+	 */
+	private static PairingNode meld(PairingNode a, PairingNode b) {
+		if (a == null) {
+			return b;
+		}
+		if (b == null) {
+			return a;
+		}
+		if (b.key < a.key) {
+			PairingNode aux = a;
+			a = b;
+			b = aux;
+		}
+		b.next = a.child;
+		if (a.child != null) {
+			a.child.previous = b;
+		}
+		b.previous = a;
+		a.child = b;
+		return a;
+	}
+
+	/**
+	 * Combina una lista de hermanos: primero de izquierda a derecha por
+	 * parejas y despus de derecha a izquierda sobre el resultado
+	 *
+	 * @param first
+	 *            primer nodo de la lista
+	 * @return raiz del rbol resultante
+	 */
+	private static PairingNode twoPassMerge(PairingNode first) {
+		if (first == null) {
+			return null;
+		}
+		/*
+		 * Primera pasada: unimos los nodos por parejas y apilamos el
+		 * resultado usando el puntero al hermano
+		 */
+		PairingNode stack = null;
+		while (first != null) {
+			PairingNode a = first;
+			PairingNode b = a.next;
+			first = (b != null) ? b.next : null;
+			a.next = null;
+			a.previous = null;
+			if (b != null) {
+				b.next = null;
+				b.previous = null;
+			}
+			PairingNode merged = meld(a, b);
+			merged.next = stack;
+			stack = merged;
+		}
+		/*
+		 * Segunda pasada: desapilamos, es decir de derecha a izquierda,
+		 * uniendo cada rbol con el acumulado
+		 */
+		PairingNode result = stack;
+		stack = stack.next;
+		result.next = null;
+		while (stack != null) {
+			PairingNode next = stack.next;
+			stack.next = null;
+			result = meld(result, stack);
+			stack = next;
+		}
+		return result;
+	}
+
+	/**
+	 * Nodo del montculo de emparejamiento
+	 *
+	 * @author Javier Corts Tejada
+	 *
+	 */
+	public static class PairingNode implements AddressableHeap.Handle {
+
+		/**
+		 * Primer hijo
+		 */
+		PairingNode child;
+
+		/**
+		 * Hermano derecho
+		 */
+		PairingNode next;
+
+		/**
+		 * Hermano izquierdo, o el padre si es el primer hijo
+		 */
+		PairingNode previous;
+
+		/**
+		 * Valor del nodo
+		 */
+		int key;
+
+		PairingNode(int key) {
+			this.key = key;
+		}
+
+		@Override
+		public int getKey() {
+			return this.key;
+		}
+
+		@Override
+		public String toString() {
+			return "Node = [key = " + Integer.toString(key) + "]";
+		}
+	}
+}
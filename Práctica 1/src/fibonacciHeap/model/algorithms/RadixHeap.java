@@ -0,0 +1,365 @@
+package fibonacciHeap.model.algorithms;
+
+/**
+ * Montculo radix para prioridades montonas: las claves insertadas o
+ * decrecidas nunca pueden ser menores que la ltima clave extrada, como
+ * ocurre en el algoritmo de Dijkstra con pesos no negativos o en los relojes
+ * de una simulacin. A cambio no compara claves entre s salvo al vaciar una
+ * cubeta
+ *
+ * <p>
+ * Cada nodo est en la cubeta que corresponde al bit ms significativo en el
+ * que su clave difiere de la ltima extrada: la cubeta 0 contiene las claves
+ * iguales a ella y la cubeta i las que difieren por primera vez en el bit
+ * i - 1. Al extraer, si la cubeta 0 est vaca se busca el mnimo de la
+ * primera cubeta no vaca, que pasa a ser la ltima clave extrada, y sus
+ * nodos se reparten en cubetas menores. Cada nodo baja de cubeta como mucho 32
+ * veces
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class RadixHeap implements AddressableHeap<RadixHeap.RadixNode> {
+
+	/**
+	 * Nmero de cubetas: una por bit de la clave ms la de claves iguales a la
+	 * ltima extrada
+	 */
+	private static final int BUCKETS = 33;
+
+	/**
+	 * Primer nodo de cada cubeta
+	 */
+	private final RadixNode[] buckets = new RadixNode[BUCKETS];
+
+	/**
+	 * ltima clave extrada, sin signo tras desplazarla con
+	 * Integer.MIN_VALUE para que el orden sin signo coincida con el de las
+	 * claves
+	 */
+	private int last;
+
+	/**
+	 * Nmero de elementos del montculo
+	 */
+	private int cardinal;
+
+	/**
+	 * Inserta un nuevo nodo en su cubeta
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param key
+	 *            clave del nuevo nodo
+	 * @return nodo insertado
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que la clave sea menor que la ltima
+	 *                extrada.
+	 */
+	@Override
+	public RadixNode insert(int key) throws IllegalArgumentException {
+		checkMonotone(key);
+		RadixNode node = new RadixNode(key);
+		add(node);
+		this.cardinal++;
+		return node;
+	}
+
+	/**
+	 * Devuelve el nodo con menor clave sin extraerlo
+	 *
+	 * <p>
+	 * Coste en O(1) si hay claves iguales a la ltima extrada, en otro caso
+	 * proporcional al tamao de la primera cubeta no vaca
+	 * </p>
+	 *
+	 * @return nodo con la menor clave o null si el montculo est vaco
+	 */
+	@Override
+	public RadixNode getMin() {
+		int bucket = firstBucket();
+		return (bucket < 0) ? null : minimum(bucket);
+	}
+
+	/**
+	 * Elimina el nodo con menor clave, repartiendo la primera cubeta no vaca
+	 * si no hay claves iguales a la ltima extrada
+	 *
+	 * <p>
+	 * Coste amortizado en O(log C), siendo C el rango de las claves
+	 * </p>
+	 *
+	 * @return nodo con la clave ms pequea o null si el montculo est vaco
+	 */
+	@Override
+	public RadixNode removeMin() {
+		int bucket = firstBucket();
+		if (bucket < 0) {
+			return null;
+		}
+		if (bucket > 0) {
+			/*
+			 * El mnimo de la cubeta pasa a ser la ltima clave extrada y
+			 * todos sus nodos difieren de l en un bit menor, as que bajan
+			 * de cubeta
+			 */
+			this.last = minimum(bucket).key ^ Integer.MIN_VALUE;
+			RadixNode node = this.buckets[bucket];
+			this.buckets[bucket] = null;
+			while (node != null) {
+				RadixNode next = node.next;
+				add(node);
+				node = next;
+			}
+		}
+		RadixNode min = this.buckets[0];
+		remove(min);
+		this.cardinal--;
+		return min;
+	}
+
+	/**
+	 * Decrece la clave de un nodo y lo mueve a su nueva cubeta
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param node
+	 *            nodo cuya clave va a ser decrecida
+	 * @param key
+	 *            nueva clave para el nodo node
+	 * @return nodo modificado
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que la nueva clave sea mayor o igual
+	 *                que la actual, sea menor que la ltima extrada o el nodo
+	 *                no est en el montculo.
+	 */
+	@Override
+	public RadixNode decreaseKey(RadixNode node, int key) throws IllegalArgumentException {
+		checkContains(node);
+		if (key >= node.key) {
+			throw new IllegalArgumentException("New key value is higher that current");
+		}
+		checkMonotone(key);
+		node.key = key;
+		if (bucket(key) != node.bucket) {
+			remove(node);
+			add(node);
+		}
+		return node;
+	}
+
+	/**
+	 * Elimina un nodo cualquiera sacndolo de su cubeta
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param node
+	 *            nodo a eliminar
+	 * @return nodo eliminado
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que el nodo no est en el montculo.
+	 */
+	@Override
+	public RadixNode delete(RadixNode node) throws IllegalArgumentException {
+		checkContains(node);
+		remove(node);
+		this.cardinal--;
+		return node;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.cardinal == 0;
+	}
+
+	@Override
+	public int size() {
+		return this.cardinal;
+	}
+
+	/**
+	 * Eliminar todos los elementos del montculo. La ltima clave extrada
+	 * vuelve a ser Integer.MIN_VALUE
+	 */
+	@Override
+	public void clear() {
+		for (int i = 0; i < BUCKETS; i++) {
+			for (RadixNode node = this.buckets[i]; node != null; node = node.next) {
+				node.bucket = -1;
+			}
+			this.buckets[i] = null;
+		}
+		this.cardinal = 0;
+		this.last = 0;
+	}
+
+	/**
+	 * ltima clave extrada, cota inferior de las claves que se pueden
+	 * insertar
+	 *
+	 * @return ltima clave extrada o Integer.MIN_VALUE si no se ha extrado
+	 *         ninguna
+	 */
+	public int getLastKey() {
+		return this.last ^ Integer.MIN_VALUE;
+	}
+
+	/**
+	 * Comprueba que una clave no es menor que la ltima extrada
+	 *
+	 * @param key
+	 *            clave a comprobar
+	 */
+	private void checkMonotone(int key) throws IllegalArgumentException {
+		if (key < getLastKey()) {
+			throw new IllegalArgumentException("Key lower than last extracted minimum");
+		}
+	}
+
+	/**
+	 * Comprueba que un nodo pertenece al montculo
+	 *
+	 * @param node
+	 *            nodo a comprobar
+	 */
+	private void checkContains(RadixNode node) throws IllegalArgumentException {
+		if (node.bucket < 0) {
+			throw new IllegalArgumentException("Node not in heap");
+		}
+	}
+
+	/**
+	 * Cubeta que corresponde a una clave
+	 *
+	 * @param key
+	 *            clave no menor que la ltima extrada
+	 * @return posicin de la cubeta
+	 */
+	private int bucket(int key) {
+		return 32 - Integer.numberOfLeadingZeros((key ^ Integer.MIN_VALUE) ^ this.last);
+	}
+
+	/**
+	 * Primera cubeta no vaca
+	 *
+	 * @return posicin de la cubeta o -1 si el montculo est vaco
+	 */
+	private int firstBucket() {
+		if (this.cardinal == 0) {
+			return -1;
+		}
+		int bucket = 0;
+		while (this.buckets[bucket] == null) {
+			bucket++;
+		}
+		return bucket;
+	}
+
+	/**
+	 * Nodo con menor clave de una cubeta
+	 *
+	 * @param bucket
+	 *            cubeta no vaca
+	 * @return nodo con menor clave
+	 */
+	private RadixNode minimum(int bucket) {
+		RadixNode min = this.buckets[bucket];
+		for (RadixNode node = min.next; node != null; node = node.next) {
+			if (node.key < min.key) {
+				min = node;
+			}
+		}
+		return min;
+	}
+
+	/**
+	 * Aade un nodo al principio de la cubeta de su clave
+	 *
+	 * @param node
+	 *            nodo fuera de cualquier cubeta
+	 */
+	private void add(RadixNode node) {
+		int bucket = bucket(node.key);
+		RadixNode first = this.buckets[bucket];
+		node.bucket = bucket;
+		node.previous = null;
+		node.next = first;
+		if (first != null) {
+			first.previous = node;
+		}
+		this.buckets[bucket] = node;
+	}
+
+	/**
+	 * Saca un nodo de su cubeta
+	 *
+	 * @param node
+	 *            nodo de alguna cubeta
+	 */
+	private void remove(RadixNode node) {
+		if (node.previous != null) {
+			node.previous.next = node.next;
+		} else {
+			this.buckets[node.bucket] = node.next;
+		}
+		if (node.next != null) {
+			node.next.previous = node.previous;
+		}
+		node.previous = null;
+		node.next = null;
+		node.bucket = -1;
+	}
+
+	/**
+	 * Nodo del montculo radix
+	 *
+	 * @author Javier Corts Tejada
+	 *
+	 */
+	public static class RadixNode implements AddressableHeap.Handle {
+
+		/**
+		 * Nodo anterior de la cubeta
+		 */
+		RadixNode previous;
+
+		/**
+		 * Nodo siguiente de la cubeta
+		 */
+		RadixNode next;
+
+		/**
+		 * Cubeta del nodo, -1 si no est en el montculo
+		 */
+		int bucket = -1;
+
+		/**
+		 * Valor del nodo
+		 */
+		int key;
+
+		RadixNode(int key) {
+			this.key = key;
+		}
+
+		@Override
+		public int getKey() {
+			return this.key;
+		}
+
+		@Override
+		public String toString() {
+			return "Node = [key = " + Integer.toString(key) + "]";
+		}
+	}
+}
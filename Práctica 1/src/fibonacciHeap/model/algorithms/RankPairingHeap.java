@@ -0,0 +1,399 @@
+package fibonacciHeap.model.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Montculo rank-pairing de tipo 1. Los elementos se organizan en medios
+ * rboles (half-trees): rboles binarios cuya raiz solo tiene hijo izquierdo y
+ * en los que cada nodo tiene una clave menor o igual que la de todos los nodos
+ * de su subrbol izquierdo. Las raices forman una lista circular enlazada por
+ * su puntero derecho
+ *
+ * <p>
+ * Ofrece las mismas cotas que el montculo de Fibonacci: insercin y
+ * decremento de clave en O(1) amortizado y extraccin del mnimo en O(log n)
+ * amortizado, con un nico enlace por pareja de raices del mismo rango
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class RankPairingHeap implements AddressableHeap<RankPairingHeap.RankPairingNode> {
+
+	/**
+	 * Raiz con la menor clave del montculo
+	 */
+	private RankPairingNode min;
+
+	/**
+	 * Nmero de elementos del montculo
+	 */
+	private int cardinal;
+
+	/**
+	 * Cubetas por rango usadas al enlazar raices. Se conservan entre llamadas
+	 * y todas sus posiciones quedan a null al terminar
+	 */
+	private RankPairingNode[] buckets = new RankPairingNode[16];
+
+	/**
+	 * Inserta un nuevo nodo como raiz de rango 0
+	 *
+	 * <p>
+	 * Coste en O(1)
+	 * </p>
+	 *
+	 * @param key
+	 *            clave del nuevo nodo
+	 * @return nodo insertado
+	 */
+	@Override
+	public RankPairingNode insert(int key) {
+		RankPairingNode node = new RankPairingNode(key);
+		addRoot(node);
+		this.cardinal++;
+		return node;
+	}
+
+	@Override
+	public RankPairingNode getMin() {
+		return this.min;
+	}
+
+	/**
+	 * Elimina la raiz con menor clave
+	 *
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 *
+	 * @return nodo con la clave ms pequea
+	 */
+	@Override
+	public RankPairingNode removeMin() {
+		RankPairingNode node = this.min;
+		if (node != null) {
+			removeRoot(node);
+		}
+		return node;
+	}
+
+	/**
+	 * Decrece la clave de un nodo. Si no es una raiz se separa junto con su
+	 * subrbol izquierdo, su hijo derecho ocupa su lugar y se recalculan los
+	 * rangos de sus antecesores
+	 *
+	 * <p>
+	 * Coste amortizado en O(1)
+	 * </p>
+	 *
+	 * @param node
+	 *            nodo cuya clave va a ser decrecida
+	 * @param key
+	 *            nueva clave para el nodo node
+	 * @return nodo modificado
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que la nueva clave sea mayor que la
+	 *                actual.
+	 */
+	@Override
+	public RankPairingNode decreaseKey(RankPairingNode node, int key) throws IllegalArgumentException {
+		if (key >= node.key) {
+			throw new IllegalArgumentException("New key value is higher that current");
+		}
+		node.key = key;
+		if (node.parent == null) {
+			if (key < this.min.key) {
+				this.min = node;
+			}
+		} else {
+			cut(node);
+		}
+		return node;
+	}
+
+	/**
+	 * Elimina un nodo cualquiera. Se convierte en raiz como en decreaseKey y
+	 * se extrae como si fuera el mnimo
+	 *
+	 * <p>
+	 * Coste amortizado en O(log n)
+	 * </p>
+	 *
+	 * @param node
+	 *            nodo a eliminar
+	 * @return nodo eliminado
+	 */
+	@Override
+	public RankPairingNode delete(RankPairingNode node) {
+		if (node.parent != null) {
+			cut(node);
+		}
+		removeRoot(node);
+		return node;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.min == null;
+	}
+
+	@Override
+	public int size() {
+		return this.cardinal;
+	}
+
+	@Override
+	public void clear() {
+		this.min = null;
+		this.cardinal = 0;
+	}
+
+	/**
+	 * Aade una raiz a la lista de raices, a la derecha del mnimo
+	 *
+	 * @param node
+	 *            nodo a aadir
+	 */
+	private void addRoot(RankPairingNode node) {
+		if (this.min == null) {
+			node.right = node;
+			this.min = node;
+		} else {
+			node.right = this.min.right;
+			this.min.right = node;
+			if (node.key < this.min.key) {
+				this.min = node;
+			}
+		}
+	}
+
+	/**
+	 * Separa un nodo que no es raiz junto con su subrbol izquierdo, lo aade
+	 * a la lista de raices y restaura la regla de rangos de tipo 1 en sus
+	 * antecesores
+	 *
+	 * @param node
+	 *            nodo a separar
+	 */
+	private void cut(RankPairingNode node) {
+		RankPairingNode parent = node.parent;
+		RankPairingNode right = node.right;
+		/*
+		 * El hijo derecho de node ocupa su lugar en el padre
+		 */
+		if (parent.left == node) {
+			parent.left = right;
+		} else {
+			parent.right = right;
+		}
+		if (right != null) {
+			right.parent = parent;
+		}
+		node.parent = null;
+		node.rank = rank(node.left) + 1;
+		addRoot(node);
+
+		/*
+		 * Recalculamos los rangos hacia arriba mientras disminuyan. La raiz
+		 * tiene siempre el rango de su hijo izquierdo ms uno
+		 */
+		RankPairingNode current = parent;
+		while (current.parent != null) {
+			int newRank = childRank(current);
+			if (newRank >= current.rank) {
+				return;
+			}
+			current.rank = newRank;
+			current = current.parent;
+		}
+		current.rank = rank(current.left) + 1;
+	}
+
+	/**
+	 * Extrae una raiz del montculo. Los nodos de la espina derecha de su hijo
+	 * izquierdo pasan a ser raices y todas las raices se enlazan en una nica
+	 * pasada, uniendo cada pareja de raices del mismo rango una sola vez
+	 *
+	 * @param target
+	 *            raiz a extraer
+	 */
+	private void removeRoot(RankPairingNode target) {
+		RankPairingNode result = null;
+
+		/*
+		 * Procesamos primero las dems raices y despus la espina derecha del
+		 * hijo izquierdo de target
+		 */
+		RankPairingNode node = target.right;
+		while (node != target) {
+			RankPairingNode next = node.right;
+			result = place(node, result);
+			node = next;
+		}
+		node = target.left;
+		while (node != null) {
+			RankPairingNode next = node.right;
+			node.parent = null;
+			node.rank = rank(node.left) + 1;
+			result = place(node, result);
+			node = next;
+		}
+
+		/*
+		 * Vaciamos las cubetas y reconstruimos la lista de raices
+		 */
+		RankPairingNode[] bucket = this.buckets;
+		this.min = null;
+		for (int i = 0; i < bucket.length; i++) {
+			if (bucket[i] != null) {
+				addRoot(bucket[i]);
+				bucket[i] = null;
+			}
+		}
+		while (result != null) {
+			RankPairingNode next = result.right;
+			addRoot(result);
+			result = next;
+		}
+
+		target.left = null;
+		target.right = target;
+		target.rank = 0;
+		this.cardinal--;
+	}
+
+	/**
+	 * Coloca una raiz en la cubeta de su rango. Si ya estaba ocupada ambas
+	 * raices se enlazan y el resultado se aade a la lista de salida
+	 *
+	 * @param node
+	 *            raiz a colocar
+	 * @param result
+	 *            primer nodo de la lista de salida
+	 * @return nuevo primer nodo de la lista de salida
+	 */
+	private RankPairingNode place(RankPairingNode node, RankPairingNode result) {
+		int rank = node.rank;
+		if (rank >= this.buckets.length) {
+			this.buckets = Arrays.copyOf(this.buckets, Math.max(rank + 1, this.buckets.length << 1));
+		}
+		RankPairingNode other = this.buckets[rank];
+		if (other == null) {
+			this.buckets[rank] = node;
+			return result;
+		}
+		this.buckets[rank] = null;
+		RankPairingNode linked = link(node, other);
+		linked.right = result;
+		return linked;
+	}
+
+	/**
+	 * Enlaza dos raices del mismo rango. La de mayor clave pasa a ser hijo
+	 * izquierdo de la otra y su antiguo hijo izquierdo pasa a ser su hijo
+	 * derecho
+	 *
+	 * @param a
+	 *            primera raiz
+	 * @param b
+	 *            segunda raiz
+	 * @return raiz resultante
+	 */
+	private static RankPairingNode link(RankPairingNode a, RankPairingNode b) {
+		if (b.key < a.key) {
+			RankPairingNode aux = a;
+			a = b;
+			b = aux;
+		}
+		b.right = a.left;
+		if (b.right != null) {
+			b.right.parent = b;
+		}
+		b.parent = a;
+		a.left = b;
+		a.rank++;
+		return a;
+	}
+
+	/**
+	 * Rango de un nodo que no es raiz segn la regla de tipo 1: si los rangos
+	 * de sus hijos difieren en ms de uno toma el mayor, en otro caso el mayor
+	 * ms uno
+	 *
+	 * @param node
+	 *            nodo
+	 * @return rango que le corresponde
+	 */
+	private static int childRank(RankPairingNode node) {
+		int left = rank(node.left);
+		int right = rank(node.right);
+		if (left > right + 1) {
+			return left;
+		}
+		if (right > left + 1) {
+			return right;
+		}
+		return Math.max(left, right) + 1;
+	}
+
+	/**
+	 * Rango de un nodo, siendo -1 el de un nodo inexistente
+	 *
+	 * @param node
+	 *            nodo
+	 * @return rango del nodo
+	 */
+	private static int rank(RankPairingNode node) {
+		return (node == null) ? -1 : node.rank;
+	}
+
+	/**
+	 * Nodo del montculo rank-pairing
+	 *
+	 * @author Javier Corts Tejada
+	 *
+	 */
+	public static class RankPairingNode implements AddressableHeap.Handle {
+
+		/**
+		 * Hijo izquierdo
+		 */
+		RankPairingNode left;
+
+		/**
+		 * Hijo derecho, o la siguiente raiz si el nodo es una raiz
+		 */
+		RankPairingNode right;
+
+		/**
+		 * Nodo padre, null en las raices
+		 */
+		RankPairingNode parent;
+
+		/**
+		 * Valor del nodo
+		 */
+		int key;
+
+		/**
+		 * Rango del nodo
+		 */
+		int rank;
+
+		RankPairingNode(int key) {
+			this.key = key;
+		}
+
+		@Override
+		public int getKey() {
+			return this.key;
+		}
+
+		@Override
+		public String toString() {
+			return "Node = [key = " + Integer.toString(key) + ", rank = " + Integer.toString(rank) + "]";
+		}
+	}
+}
@@ -0,0 +1,345 @@
+package fibonacciHeap.model.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Grafo con pesos enteros no negativos almacenado en formato CSR (compressed
+ * sparse row): las aristas que salen del vrtice v ocupan las posiciones
+ * [offsets[v], offsets[v + 1]) de targets y weights, de modo que recorrer los
+ * vecinos de un vrtice es recorrer un tramo contiguo de dos arrays
+ *
+ * <p>
+ * Los ficheros pueden estar en el formato de los retos DIMACS de caminos
+ * mnimos, con una lnea "p sp n m" y una lnea "a u v w" por arista con
+ * vrtices numerados desde 1, o ser listas de aristas "u v [w]" con vrtices
+ * numerados desde 0 y peso 1 si se omite, como las de SNAP. Las lneas que
+ * empiezan por c, # o % son comentarios
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class Graph {
+
+	/**
+	 * Inicio de las aristas de cada vrtice, con una posicin ms al final
+	 */
+	final int[] offsets;
+
+	/**
+	 * Destino de cada arista
+	 */
+	final int[] targets;
+
+	/**
+	 * Peso de cada arista
+	 */
+	final int[] weights;
+
+	/**
+	 * Constructor a partir de una lista de aristas
+	 *
+	 * @param vertices
+	 *            nmero de vrtices
+	 * @param edges
+	 *            nmero de aristas de la lista
+	 * @param sources
+	 *            origen de cada arista
+	 * @param targets
+	 *            destino de cada arista
+	 * @param weights
+	 *            peso de cada arista
+	 * @param undirected
+	 *            true para aadir cada arista en los dos sentidos
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que algn vrtice est fuera de rango,
+	 *                algn peso sea negativo o haya demasiadas aristas.
+	 */
+	public Graph(int vertices, int edges, int[] sources, int[] targets, int[] weights, boolean undirected)
+			throws IllegalArgumentException {
+		long arcs = undirected ? 2L * edges : edges;
+		if (vertices < 0 || arcs > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Invalid graph size");
+		}
+		this.offsets = new int[vertices + 1];
+		this.targets = new int[(int) arcs];
+		this.weights = new int[(int) arcs];
+		for (int i = 0; i < edges; i++) {
+			if (sources[i] < 0 || sources[i] >= vertices || targets[i] < 0 || targets[i] >= vertices) {
+				throw new IllegalArgumentException("Vertex out of range in edge " + i);
+			}
+			if (weights[i] < 0) {
+				throw new IllegalArgumentException("Negative weight in edge " + i);
+			}
+			this.offsets[sources[i] + 1]++;
+			if (undirected) {
+				this.offsets[targets[i] + 1]++;
+			}
+		}
+		for (int v = 0; v < vertices; v++) {
+			this.offsets[v + 1] += this.offsets[v];
+		}
+		/*
+		 * Cada vrtice rellena su tramo avanzando una copia de su inicio
+		 */
+		int[] next = Arrays.copyOf(this.offsets, vertices);
+		for (int i = 0; i < edges; i++) {
+			int arc = next[sources[i]]++;
+			this.targets[arc] = targets[i];
+			this.weights[arc] = weights[i];
+			if (undirected) {
+				arc = next[targets[i]]++;
+				this.targets[arc] = sources[i];
+				this.weights[arc] = weights[i];
+			}
+		}
+	}
+
+	/**
+	 * Lee un grafo de un fichero proyectado en memoria
+	 *
+	 * @param file
+	 *            fichero DIMACS o lista de aristas
+	 * @param undirected
+	 *            true para aadir cada arista en los dos sentidos
+	 * @return grafo ledo
+	 * @throws IOException
+	 *             error al leer el fichero o fichero no vlido
+	 */
+	public static Graph read(Path file, boolean undirected) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Graph file too large");
+			}
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new EdgeList(buffer).toGraph(undirected);
+		} catch (IllegalArgumentException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Genera un grafo aleatorio conexo: un camino que recorre todos los
+	 * vrtices ms aristas entre vrtices elegidos al azar
+	 *
+	 * @param vertices
+	 *            nmero de vrtices
+	 * @param edges
+	 *            nmero total de aristas, al menos vertices - 1
+	 * @param maxWeight
+	 *            peso mximo de una arista
+	 * @param undirected
+	 *            true para aadir cada arista en los dos sentidos
+	 * @param seed
+	 *            semilla del generador
+	 * @return grafo generado
+	 */
+	public static Graph random(int vertices, int edges, int maxWeight, boolean undirected, long seed) {
+		Random random = new Random(seed);
+		edges = Math.max(edges, vertices - 1);
+		int[] sources = new int[edges];
+		int[] targets = new int[edges];
+		int[] weights = new int[edges];
+		for (int i = 0; i < edges; i++) {
+			if (i < vertices - 1) {
+				sources[i] = i;
+				targets[i] = i + 1;
+			} else {
+				sources[i] = random.nextInt(vertices);
+				targets[i] = random.nextInt(vertices);
+			}
+			weights[i] = 1 + random.nextInt(maxWeight);
+		}
+		return new Graph(vertices, edges, sources, targets, weights, undirected);
+	}
+
+	/**
+	 * Nmero de vrtices
+	 *
+	 * @return nmero de vrtices
+	 */
+	public int vertices() {
+		return this.offsets.length - 1;
+	}
+
+	/**
+	 * Nmero de aristas, contando dos veces las de los grafos no dirigidos
+	 *
+	 * @return nmero de aristas
+	 */
+	public int edges() {
+		return this.targets.length;
+	}
+
+	/**
+	 * Nmero de aristas que salen de un vrtice
+	 *
+	 * @param vertex
+	 *            vrtice
+	 * @return grado de salida del vrtice
+	 */
+	public int degree(int vertex) {
+		return this.offsets[vertex + 1] - this.offsets[vertex];
+	}
+
+	/**
+	 * Lista de aristas leda de un fichero, que crece como las trazas de
+	 * operaciones
+	 */
+	private static class EdgeList {
+
+		private int[] sources = new int[1024];
+
+		private int[] targets = new int[1024];
+
+		private int[] weights = new int[1024];
+
+		private int size;
+
+		/**
+		 * Nmero de vrtices de la cabecera DIMACS o -1 si no hay cabecera
+		 */
+		private int declared = -1;
+
+		/**
+		 * Mayor vrtice encontrado
+		 */
+		private int maxVertex = -1;
+
+		EdgeList(ByteBuffer buffer) throws IOException {
+			int line = 1;
+			while (buffer.hasRemaining()) {
+				skipSpaces(buffer);
+				if (!buffer.hasRemaining()) {
+					break;
+				}
+				byte c = buffer.get(buffer.position());
+				if (c == '\n') {
+					buffer.get();
+				} else if (c == 'c' || c == '#' || c == '%') {
+					while (buffer.hasRemaining() && buffer.get() != '\n') {
+					}
+				} else if (c == 'p') {
+					/*
+					 * p sp n m: solo interesa el nmero de vrtices
+					 */
+					buffer.get();
+					word(buffer);
+					this.declared = number(buffer, line);
+					number(buffer, line);
+					endOfLine(buffer, line);
+				} else if (c == 'a') {
+					buffer.get();
+					add(number(buffer, line) - 1, number(buffer, line) - 1, number(buffer, line), line);
+					endOfLine(buffer, line);
+				} else {
+					int source = number(buffer, line);
+					int target = number(buffer, line);
+					skipSpaces(buffer);
+					int weight = 1;
+					if (buffer.hasRemaining() && buffer.get(buffer.position()) != '\n') {
+						weight = number(buffer, line);
+					}
+					add(source, target, weight, line);
+					endOfLine(buffer, line);
+				}
+				line++;
+			}
+		}
+
+		Graph toGraph(boolean undirected) throws IOException {
+			int vertices = this.maxVertex + 1;
+			if (this.declared >= 0) {
+				if (this.maxVertex >= this.declared) {
+					throw new IOException("Vertex " + (this.maxVertex + 1) + " out of range");
+				}
+				vertices = this.declared;
+			}
+			return new Graph(vertices, this.size, this.sources, this.targets, this.weights, undirected);
+		}
+
+		private void add(int source, int target, int weight, int line) throws IOException {
+			if (source < 0 || target < 0) {
+				throw new IOException("Invalid vertex at line " + line);
+			}
+			if (weight < 0) {
+				throw new IOException("Negative weight at line " + line);
+			}
+			if (this.size == this.sources.length) {
+				this.sources = Arrays.copyOf(this.sources, this.size << 1);
+				this.targets = Arrays.copyOf(this.targets, this.size << 1);
+				this.weights = Arrays.copyOf(this.weights, this.size << 1);
+			}
+			this.sources[this.size] = source;
+			this.targets[this.size] = target;
+			this.weights[this.size] = weight;
+			this.size++;
+			this.maxVertex = Math.max(this.maxVertex, Math.max(source, target));
+		}
+
+		/**
+		 * Salta una palabra precedida de espacios
+		 */
+		private static void word(ByteBuffer buffer) {
+			skipSpaces(buffer);
+			while (buffer.hasRemaining() && buffer.get(buffer.position()) > ' ') {
+				buffer.get();
+			}
+		}
+
+		/**
+		 * Lee un nmero entero no negativo precedido de espacios
+		 */
+		private static int number(ByteBuffer buffer, int line) throws IOException {
+			skipSpaces(buffer);
+			long value = 0;
+			int digits = 0;
+			while (buffer.hasRemaining()) {
+				byte c = buffer.get(buffer.position());
+				if (c < '0' || c > '9') {
+					break;
+				}
+				value = value * 10 + (c - '0');
+				if (value > Integer.MAX_VALUE) {
+					throw new IOException("Number out of range at line " + line);
+				}
+				buffer.get();
+				digits++;
+			}
+			if (digits == 0) {
+				throw new IOException("Invalid number at line " + line);
+			}
+			return (int) value;
+		}
+
+		/**
+		 * Comprueba que no quedan ms argumentos en la lnea
+		 */
+		private static void endOfLine(ByteBuffer buffer, int line) throws IOException {
+			skipSpaces(buffer);
+			if (buffer.hasRemaining() && buffer.get() != '\n') {
+				throw new IOException("Unexpected argument at line " + line);
+			}
+		}
+
+		/**
+		 * Salta espacios, tabuladores y retornos de carro
+		 */
+		private static void skipSpaces(ByteBuffer buffer) {
+			while (buffer.hasRemaining()) {
+				byte c = buffer.get(buffer.position());
+				if (c != ' ' && c != '\t' && c != '\r') {
+					return;
+				}
+				buffer.get();
+			}
+		}
+	}
+}
@@ -0,0 +1,368 @@
+package fibonacciHeap.model.graph;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import fibonacciHeap.model.algorithms.AddressableHeap;
+import fibonacciHeap.model.algorithms.AddressableHeap.Handle;
+import fibonacciHeap.model.algorithms.IndexedFibonacciHeap;
+
+/**
+ * Algoritmo de Dijkstra y algoritmo de Prim sobre un {@link Graph}, con
+ * cualquier implementacin de {@link AddressableHeap} o con
+ * {@link IndexedFibonacciHeap}. Cada vrtice entra en el montculo al
+ * descubrirse y las mejoras posteriores se hacen con decreaseKey, por lo que
+ * se hacen como mucho n inserciones y extracciones y m decrementos
+ *
+ * <p>
+ * Las claves del montculo son enteras, as que las distancias mayores o
+ * iguales que Integer.MAX_VALUE no se pueden representar
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class GraphAlgorithms {
+
+	/**
+	 * Distancia o peso de los vrtices no alcanzados
+	 */
+	public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+	private GraphAlgorithms() {
+	}
+
+	/**
+	 * Distancias mnimas desde un vrtice a todos los dems.
+	 *
+	 * <p>
+	 * Coste en O(m + n log n) con un montculo de Fibonacci
+	 * </p>
+	 *
+	 * @param graph
+	 *            grafo
+	 * @param source
+	 *            vrtice de origen
+	 * @param heap
+	 *            montculo vaco
+	 * @param predecessor
+	 *            array de n posiciones en el que se guarda el vrtice anterior
+	 *            en el camino mnimo, -1 para el origen y los no alcanzados, o
+	 *            null
+	 * @return distancia a cada vrtice o UNREACHABLE
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que el origen no exista, el montculo
+	 *                no est vaco o predecessor sea demasiado pequeo.
+	 * @exception ArithmeticException
+	 *                Lanzada en caso de que alguna distancia no se pueda
+	 *                representar.
+	 */
+	public static <H extends Handle> int[] dijkstra(Graph graph, int source, AddressableHeap<H> heap,
+			int[] predecessor) throws IllegalArgumentException, ArithmeticException {
+		checkArguments(graph, source, heap.isEmpty(), predecessor);
+		int[] offsets = graph.offsets;
+		int[] targets = graph.targets;
+		int[] weights = graph.weights;
+		int[] distance = new int[graph.vertices()];
+		Arrays.fill(distance, UNREACHABLE);
+		/*
+		 * Manejador de cada vrtice mientras est en el montculo, y vrtice
+		 * de cada manejador para saber cul se ha extrado
+		 */
+		Object[] handles = new Object[graph.vertices()];
+		IdentityHashMap<H, Integer> vertices = new IdentityHashMap<H, Integer>();
+		distance[source] = 0;
+		H first = heap.insert(0);
+		handles[source] = first;
+		vertices.put(first, source);
+		while (!heap.isEmpty()) {
+			int u = vertices.remove(heap.removeMin());
+			handles[u] = null;
+			long base = distance[u];
+			for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+				int v = targets[arc];
+				long alternative = base + weights[arc];
+				/*
+				 * Los vrtices ya extrados tienen una distancia menor o igual
+				 * que la de u, as que nunca se mejoran
+				 */
+				if (alternative >= distance[v]) {
+					continue;
+				}
+				if (alternative >= UNREACHABLE) {
+					throw new ArithmeticException("Distance overflow");
+				}
+				distance[v] = (int) alternative;
+				if (predecessor != null) {
+					predecessor[v] = u;
+				}
+				@SuppressWarnings("unchecked")
+				H handle = (H) handles[v];
+				if (handle == null) {
+					handle = heap.insert((int) alternative);
+					handles[v] = handle;
+					vertices.put(handle, v);
+				} else {
+					heap.decreaseKey(handle, (int) alternative);
+				}
+			}
+		}
+		return distance;
+	}
+
+	/**
+	 * Distancias mnimas desde un vrtice a todos los dems con el montculo
+	 * de Fibonacci sobre arrays.
+	 *
+	 * <p>
+	 * Coste en O(m + n log n)
+	 * </p>
+	 *
+	 * @param graph
+	 *            grafo
+	 * @param source
+	 *            vrtice de origen
+	 * @param heap
+	 *            montculo vaco
+	 * @param predecessor
+	 *            array de n posiciones en el que se guarda el vrtice anterior
+	 *            en el camino mnimo, -1 para el origen y los no alcanzados, o
+	 *            null
+	 * @return distancia a cada vrtice o UNREACHABLE
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que el origen no exista, el montculo
+	 *                no est vaco o predecessor sea demasiado pequeo.
+	 * @exception ArithmeticException
+	 *                Lanzada en caso de que alguna distancia no se pueda
+	 *                representar.
+	 */
+	public static int[] dijkstra(Graph graph, int source, IndexedFibonacciHeap heap, int[] predecessor)
+			throws IllegalArgumentException, ArithmeticException {
+		checkArguments(graph, source, heap.isEmpty(), predecessor);
+		int[] offsets = graph.offsets;
+		int[] targets = graph.targets;
+		int[] weights = graph.weights;
+		int[] distance = new int[graph.vertices()];
+		Arrays.fill(distance, UNREACHABLE);
+		/*
+		 * Vaciado, el montculo vuelve a repartir manejadores desde 0 aunque
+		 * se haya usado antes. Nunca tiene ms de n nodos, as que sus
+		 * manejadores son menores que n
+		 */
+		heap.clear();
+		int[] handles = new int[graph.vertices()];
+		Arrays.fill(handles, IndexedFibonacciHeap.NIL);
+		int[] vertices = new int[graph.vertices()];
+		distance[source] = 0;
+		int first = heap.insert(0);
+		handles[source] = first;
+		vertices[first] = source;
+		while (!heap.isEmpty()) {
+			int u = vertices[heap.removeMin()];
+			handles[u] = IndexedFibonacciHeap.NIL;
+			long base = distance[u];
+			for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+				int v = targets[arc];
+				long alternative = base + weights[arc];
+				if (alternative >= distance[v]) {
+					continue;
+				}
+				if (alternative >= UNREACHABLE) {
+					throw new ArithmeticException("Distance overflow");
+				}
+				distance[v] = (int) alternative;
+				if (predecessor != null) {
+					predecessor[v] = u;
+				}
+				if (handles[v] == IndexedFibonacciHeap.NIL) {
+					int handle = heap.insert((int) alternative);
+					handles[v] = handle;
+					vertices[handle] = v;
+				} else {
+					heap.decreaseKey(handles[v], (int) alternative);
+				}
+			}
+		}
+		return distance;
+	}
+
+	/**
+	 * rbol de recubrimiento mnimo de la componente conexa de un vrtice. El
+	 * grafo debe ser no dirigido, es decir, tener cada arista en los dos
+	 * sentidos.
+	 *
+	 * <p>
+	 * Coste en O(m + n log n) con un montculo de Fibonacci
+	 * </p>
+	 *
+	 * @param graph
+	 *            grafo no dirigido
+	 * @param source
+	 *            vrtice por el que se empieza el rbol
+	 * @param heap
+	 *            montculo vaco
+	 * @param parent
+	 *            array de n posiciones en el que se guarda el padre de cada
+	 *            vrtice en el rbol, -1 para la raiz y los no alcanzados, o
+	 *            null
+	 * @return peso de la arista que une cada vrtice con su padre, 0 para la
+	 *         raiz y UNREACHABLE para los vrtices de otras componentes
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que el origen no exista, el montculo
+	 *                no est vaco o parent sea demasiado pequeo.
+	 */
+	public static <H extends Handle> int[] prim(Graph graph, int source, AddressableHeap<H> heap, int[] parent)
+			throws IllegalArgumentException {
+		checkArguments(graph, source, heap.isEmpty(), parent);
+		int[] offsets = graph.offsets;
+		int[] targets = graph.targets;
+		int[] weights = graph.weights;
+		int[] cost = new int[graph.vertices()];
+		Arrays.fill(cost, UNREACHABLE);
+		boolean[] inTree = new boolean[graph.vertices()];
+		Object[] handles = new Object[graph.vertices()];
+		IdentityHashMap<H, Integer> vertices = new IdentityHashMap<H, Integer>();
+		cost[source] = 0;
+		H first = heap.insert(0);
+		handles[source] = first;
+		vertices.put(first, source);
+		while (!heap.isEmpty()) {
+			int u = vertices.remove(heap.removeMin());
+			handles[u] = null;
+			inTree[u] = true;
+			for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+				int v = targets[arc];
+				int weight = weights[arc];
+				if (inTree[v] || weight >= cost[v]) {
+					continue;
+				}
+				cost[v] = weight;
+				if (parent != null) {
+					parent[v] = u;
+				}
+				@SuppressWarnings("unchecked")
+				H handle = (H) handles[v];
+				if (handle == null) {
+					handle = heap.insert(weight);
+					handles[v] = handle;
+					vertices.put(handle, v);
+				} else {
+					heap.decreaseKey(handle, weight);
+				}
+			}
+		}
+		return cost;
+	}
+
+	/**
+	 * rbol de recubrimiento mnimo de la componente conexa de un vrtice con
+	 * el montculo de Fibonacci sobre arrays. El grafo debe ser no dirigido.
+	 *
+	 * <p>
+	 * Coste en O(m + n log n)
+	 * </p>
+	 *
+	 * @param graph
+	 *            grafo no dirigido
+	 * @param source
+	 *            vrtice por el que se empieza el rbol
+	 * @param heap
+	 *            montculo vaco
+	 * @param parent
+	 *            array de n posiciones en el que se guarda el padre de cada
+	 *            vrtice en el rbol, -1 para la raiz y los no alcanzados, o
+	 *            null
+	 * @return peso de la arista que une cada vrtice con su padre, 0 para la
+	 *         raiz y UNREACHABLE para los vrtices de otras componentes
+	 *
+	 * @exception IllegalArgumentException
+	 *                Lanzada en caso de que el origen no exista, el montculo
+	 *                no est vaco o parent sea demasiado pequeo.
+	 */
+	public static int[] prim(Graph graph, int source, IndexedFibonacciHeap heap, int[] parent)
+			throws IllegalArgumentException {
+		checkArguments(graph, source, heap.isEmpty(), parent);
+		int[] offsets = graph.offsets;
+		int[] targets = graph.targets;
+		int[] weights = graph.weights;
+		int[] cost = new int[graph.vertices()];
+		Arrays.fill(cost, UNREACHABLE);
+		boolean[] inTree = new boolean[graph.vertices()];
+		/*
+		 * Igual que en dijkstra, los manejadores de un montculo vaciado son
+		 * menores que n
+		 */
+		heap.clear();
+		int[] handles = new int[graph.vertices()];
+		Arrays.fill(handles, IndexedFibonacciHeap.NIL);
+		int[] vertices = new int[graph.vertices()];
+		cost[source] = 0;
+		int first = heap.insert(0);
+		handles[source] = first;
+		vertices[first] = source;
+		while (!heap.isEmpty()) {
+			int u = vertices[heap.removeMin()];
+			handles[u] = IndexedFibonacciHeap.NIL;
+			inTree[u] = true;
+			for (int arc = offsets[u]; arc < offsets[u + 1]; arc++) {
+				int v = targets[arc];
+				int weight = weights[arc];
+				if (inTree[v] || weight >= cost[v]) {
+					continue;
+				}
+				cost[v] = weight;
+				if (parent != null) {
+					parent[v] = u;
+				}
+				if (handles[v] == IndexedFibonacciHeap.NIL) {
+					int handle = heap.insert(weight);
+					handles[v] = handle;
+					vertices[handle] = v;
+				} else {
+					heap.decreaseKey(handles[v], weight);
+				}
+			}
+		}
+		return cost;
+	}
+
+	/**
+	 * Suma de los pesos devueltos por prim, sin contar los vrtices no
+	 * alcanzados
+	 *
+	 * @param cost
+	 *            pesos devueltos por prim
+	 * @return peso total del rbol
+	 */
+	public static long totalWeight(int[] cost) {
+		long total = 0;
+		for (int weight : cost) {
+			if (weight != UNREACHABLE) {
+				total += weight;
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Comprueba los argumentos comunes e inicializa el array de predecesores
+	 */
+	private static void checkArguments(Graph graph, int source, boolean empty, int[] predecessor)
+			throws IllegalArgumentException {
+		if (source < 0 || source >= graph.vertices()) {
+			throw new IllegalArgumentException("Invalid source vertex");
+		}
+		if (!empty) {
+			throw new IllegalArgumentException("Heap is not empty");
+		}
+		if (predecessor != null) {
+			if (predecessor.length < graph.vertices()) {
+				throw new IllegalArgumentException("Predecessor array too small");
+			}
+			Arrays.fill(predecessor, 0, graph.vertices(), -1);
+		}
+	}
+}
@@ -0,0 +1,501 @@
+package fibonacciHeap.view;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.SwingWorker;
+import javax.swing.event.EventListenerList;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
+
+import fibonacciHeap.controller.Controller;
+import fibonacciHeap.model.algorithms.AddressableHeap.Handle;
+
+/**
+ * Tree model that asks the controller for the children of a node only when
+ * the node is expanded, so a heap with millions of nodes can be inspected
+ * without traversing it. Requests run on the model writer, so they are made
+ * off the event dispatch thread and their result is inserted when it arrives.
+ * The root list is split in pages of {@link #PAGE_SIZE} roots, each page
+ * ending with a node that holds the next one
+ *
+ * <p>
+ * When the heap changes only the nodes already loaded are requested again,
+ * and the tree is told which children were removed, inserted or changed, so
+ * expanded nodes stay expanded
+ * </p>
+ *
+ * @author Javier Corts Tejada
+ *
+ */
+public class HeapTreeModel implements TreeModel {
+
+	/**
+	 * Number of roots shown in each page of the root list
+	 */
+	public static final int PAGE_SIZE = 100;
+
+	/**
+	 * Tree event types
+	 */
+	private static final int INSERTED = 0;
+	private static final int CHANGED = 1;
+	private static final int REMOVED = 2;
+	private static final int STRUCTURE_CHANGED = 3;
+
+	/**
+	 * Application controller
+	 */
+	private Controller controller;
+
+	/**
+	 * Page holding the first roots
+	 */
+	private Page root = new Page(0);
+
+	/**
+	 * Children loaded for each node
+	 */
+	private IdentityHashMap<Object, List<Object>> children = new IdentityHashMap<Object, List<Object>>();
+
+	/**
+	 * Parent of each node shown
+	 */
+	private IdentityHashMap<Object, Object> parents = new IdentityHashMap<Object, Object>();
+
+	/**
+	 * Nodes whose children have been requested for the first time
+	 */
+	private Set<Object> loading = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+	/**
+	 * Whether the loaded nodes are being requested again
+	 */
+	private boolean refreshing;
+
+	/**
+	 * Whether the heap has changed again during a refresh
+	 */
+	private boolean stale;
+
+	/**
+	 * Registered listeners
+	 */
+	private EventListenerList listeners = new EventListenerList();
+
+	/**
+	 * Public constructor
+	 * @param controller application controller
+	 */
+	public HeapTreeModel(Controller controller) {
+		this.controller = controller;
+	}
+
+	/**
+	 * Request again the children of every loaded node after the heap has
+	 * changed. Must be called on the event dispatch thread, and while a
+	 * refresh is running further calls are merged into a single one
+	 * @param size number of elements of the heap
+	 */
+	public void refresh(int size) {
+		this.root.size = size;
+		fire(new TreePath(this.root), null, null, CHANGED);
+		if (this.refreshing) {
+			this.stale = true;
+			return;
+		}
+		if (this.children.isEmpty()) {
+			return;
+		}
+		this.refreshing = true;
+		/*
+		 * Parents are updated first, so nodes they remove are skipped
+		 */
+		final List<Object> nodes = new ArrayList<Object>(this.children.keySet());
+		Collections.sort(nodes, new Comparator<Object>() {
+
+			@Override
+			public int compare(Object a, Object b) {
+				return Integer.compare(path(a).getPathCount(), path(b).getPathCount());
+			}
+		});
+		new SwingWorker<List<List<Object>>, Void>() {
+
+			@Override
+			protected List<List<Object>> doInBackground() throws Exception {
+				List<List<Object>> result = new ArrayList<List<Object>>();
+				for (Object node : nodes) {
+					try {
+						result.add(request(node));
+					} catch (RuntimeException e) {
+						/*
+						 * The element may have left the heap, its parent
+						 * removes it
+						 */
+						result.add(null);
+					}
+				}
+				return result;
+			}
+
+			@Override
+			protected void done() {
+				refreshing = false;
+				try {
+					List<List<Object>> result = get();
+					for (int i = 0; i < nodes.size(); i++) {
+						if (result.get(i) != null && children.containsKey(nodes.get(i))) {
+							update(nodes.get(i), result.get(i));
+						}
+					}
+				} catch (InterruptedException | ExecutionException e) {
+					// The pipeline has been closed, loaded nodes are kept
+				}
+				if (stale) {
+					stale = false;
+					refresh(root.size);
+				}
+			}
+		}.execute();
+	}
+
+	@Override
+	public Object getRoot() {
+		return this.root;
+	}
+
+	@Override
+	public Object getChild(Object parent, int index) {
+		return childrenOf(parent).get(index);
+	}
+
+	@Override
+	public int getChildCount(Object parent) {
+		return childrenOf(parent).size();
+	}
+
+	@Override
+	public boolean isLeaf(Object node) {
+		if (node instanceof Page) {
+			return false;
+		}
+		List<Object> list = this.children.get(node);
+		return list != null && list.isEmpty();
+	}
+
+	@Override
+	public int getIndexOfChild(Object parent, Object child) {
+		if (parent == null || child == null || !this.children.containsKey(parent)) {
+			return -1;
+		}
+		List<Object> list = this.children.get(parent);
+		for (int i = 0; i < list.size(); i++) {
+			if (list.get(i) == child) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public void valueForPathChanged(TreePath path, Object newValue) {
+		// Nodes can not be edited from the tree
+	}
+
+	@Override
+	public void addTreeModelListener(TreeModelListener listener) {
+		this.listeners.add(TreeModelListener.class, listener);
+	}
+
+	@Override
+	public void removeTreeModelListener(TreeModelListener listener) {
+		this.listeners.remove(TreeModelListener.class, listener);
+	}
+
+	/**
+	 * Children of a node. The first time they are requested in the background
+	 * and the node has no children until they arrive
+	 * @param node page or heap node
+	 * @return node children
+	 */
+	private List<Object> childrenOf(final Object node) {
+		List<Object> list = this.children.get(node);
+		if (list != null) {
+			return list;
+		}
+		if (this.loading.add(node)) {
+			new SwingWorker<List<Object>, Void>() {
+
+				@Override
+				protected List<Object> doInBackground() throws Exception {
+					return request(node);
+				}
+
+				@Override
+				protected void done() {
+					loading.remove(node);
+					if (node != root && !parents.containsKey(node)) {
+						return;
+					}
+					try {
+						List<Object> list = get();
+						children.put(node, new ArrayList<Object>());
+						if (list.isEmpty()) {
+							fire(path(node), null, null, STRUCTURE_CHANGED);
+						} else {
+							update(node, list);
+						}
+					} catch (InterruptedException | ExecutionException e) {
+						// The pipeline has been closed, the node stays empty
+					}
+				}
+			}.execute();
+		}
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Request the children of a node to the controller, off the event
+	 * dispatch thread
+	 * @param node page or heap node
+	 * @return node children, new elements that update will match with the
+	 * shown ones
+	 * @throws Exception interrupted while waiting
+	 */
+	private List<Object> request(Object node) throws Exception {
+		List<Handle> handles;
+		Page next = null;
+		if (node instanceof Page) {
+			/*
+			 * One extra root is requested to know if there is a next page
+			 */
+			int from = ((Page) node).from;
+			handles = this.controller.getRoots(from, PAGE_SIZE + 1);
+			if (handles.size() > PAGE_SIZE) {
+				handles = handles.subList(0, PAGE_SIZE);
+				next = new Page(from + PAGE_SIZE);
+			}
+		} else {
+			handles = this.controller.getChildren(((Element) node).handle);
+		}
+		List<String> labels = this.controller.describe(handles);
+		List<Object> list = new ArrayList<Object>();
+		for (int i = 0; i < handles.size(); i++) {
+			list.add(new Element(handles.get(i), labels.get(i)));
+		}
+		if (next != null) {
+			list.add(next);
+		}
+		return list;
+	}
+
+	/**
+	 * Replace the children of a loaded node, keeping the nodes still present
+	 * so the tree keeps their expansion, and notify the differences
+	 * @param node page or heap node
+	 * @param list new children
+	 */
+	private void update(Object node, List<Object> list) {
+		List<Object> old = this.children.get(node);
+		IdentityHashMap<Object, Object> shown = new IdentityHashMap<Object, Object>();
+		for (Object child : old) {
+			shown.put(key(child), child);
+		}
+		IdentityHashMap<Object, Integer> positions = new IdentityHashMap<Object, Integer>();
+		for (int i = 0; i < list.size(); i++) {
+			Object child = list.get(i);
+			Object kept = shown.get(key(child));
+			if (kept != null) {
+				if (kept instanceof Element) {
+					((Element) kept).label = ((Element) child).label;
+				}
+				list.set(i, kept);
+				child = kept;
+			}
+			positions.put(child, i);
+		}
+
+		List<Object> remaining = new ArrayList<Object>();
+		List<Integer> removed = new ArrayList<Integer>();
+		int last = -1;
+		boolean ordered = true;
+		for (int i = 0; i < old.size(); i++) {
+			Integer position = positions.get(old.get(i));
+			if (position == null) {
+				removed.add(i);
+				forget(old.get(i));
+			} else {
+				remaining.add(old.get(i));
+				ordered &= position > last;
+				last = position;
+			}
+		}
+		for (Object child : list) {
+			this.parents.put(child, node);
+		}
+		TreePath path = path(node);
+		if (!ordered) {
+			this.children.put(node, list);
+			fire(path, null, null, STRUCTURE_CHANGED);
+			return;
+		}
+
+		if (!removed.isEmpty()) {
+			int[] indices = new int[removed.size()];
+			Object[] nodes = new Object[removed.size()];
+			for (int i = 0; i < indices.length; i++) {
+				indices[i] = removed.get(i);
+				nodes[i] = old.get(indices[i]);
+			}
+			this.children.put(node, remaining);
+			fire(path, indices, nodes, REMOVED);
+		}
+		this.children.put(node, list);
+		List<Integer> inserted = new ArrayList<Integer>();
+		List<Integer> changed = new ArrayList<Integer>();
+		for (int i = 0; i < list.size(); i++) {
+			(shown.get(key(list.get(i))) == list.get(i) ? changed : inserted).add(i);
+		}
+		fireChildren(path, list, inserted, INSERTED);
+		fireChildren(path, list, changed, CHANGED);
+	}
+
+	/**
+	 * Identity used to match a new child with a shown one: the heap element
+	 * or, for pages, the single next page of the list
+	 */
+	private Object key(Object child) {
+		return (child instanceof Element) ? ((Element) child).handle : Page.class;
+	}
+
+	/**
+	 * Forget a node removed from the tree and everything loaded below it
+	 * @param node removed node
+	 */
+	private void forget(Object node) {
+		this.parents.remove(node);
+		List<Object> list = this.children.remove(node);
+		if (list != null) {
+			for (Object child : list) {
+				forget(child);
+			}
+		}
+	}
+
+	/**
+	 * Path from the root to a node shown
+	 * @param node page or heap node
+	 * @return node path
+	 */
+	private TreePath path(Object node) {
+		List<Object> nodes = new ArrayList<Object>();
+		for (Object current = node; current != null; current = this.parents.get(current)) {
+			nodes.add(0, current);
+		}
+		return new TreePath(nodes.toArray());
+	}
+
+	/**
+	 * Send an event for some children of a node
+	 * @param path path of the node
+	 * @param list node children
+	 * @param positions positions of the children in the list
+	 * @param type INSERTED or CHANGED
+	 */
+	private void fireChildren(TreePath path, List<Object> list, List<Integer> positions, int type) {
+		if (positions.isEmpty()) {
+			return;
+		}
+		int[] indices = new int[positions.size()];
+		Object[] nodes = new Object[positions.size()];
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = positions.get(i);
+			nodes[i] = list.get(indices[i]);
+		}
+		fire(path, indices, nodes, type);
+	}
+
+	/**
+	 * Send an event to the listeners
+	 * @param path path of the parent node
+	 * @param indices indices of the children, null for the node itself
+	 * @param nodes children, null for the node itself
+	 * @param type event type
+	 */
+	private void fire(TreePath path, int[] indices, Object[] nodes, int type) {
+		TreeModelEvent event = new TreeModelEvent(this, path, indices, nodes);
+		for (TreeModelListener listener : this.listeners.getListeners(TreeModelListener.class)) {
+			switch (type) {
+			case INSERTED:
+				listener.treeNodesInserted(event);
+				break;
+			case CHANGED:
+				listener.treeNodesChanged(event);
+				break;
+			case REMOVED:
+				listener.treeNodesRemoved(event);
+				break;
+			default:
+				listener.treeStructureChanged(event);
+			}
+		}
+	}
+
+	/**
+	 * Heap node shown in the tree
+	 */
+	private static class Element {
+
+		/**
+		 * Handle of the element
+		 */
+		private final Handle handle;
+
+		/**
+		 * Description read when the children of its parent were requested
+		 */
+		private String label;
+
+		private Element(Handle handle, String label) {
+			this.handle = handle;
+			this.label = label;
+		}
+
+		@Override
+		public String toString() {
+			return this.label;
+		}
+	}
+
+	/**
+	 * Page of the root list
+	 */
+	private static class Page {
+
+		/**
+		 * Position of the first root of the page
+		 */
+		private final int from;
+
+		/**
+		 * Number of elements of the heap, shown by the first page
+		 */
+		private int size;
+
+		private Page(int from) {
+			this.from = from;
+		}
+
+		@Override
+		public String toString() {
+			return (this.from == 0) ? "Roots (" + this.size + " elements)" : "Roots from " + this.from;
+		}
+	}
+}
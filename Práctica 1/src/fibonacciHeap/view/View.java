@@ -7,6 +7,7 @@ import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.BoxLayout;
 import javax.swing.JFrame;
@@ -14,8 +15,13 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
+import javax.swing.JTree;
+import javax.swing.SwingUtilities;
+import javax.swing.tree.TreeModel;
 
 import fibonacciHeap.controller.Controller;
+import fibonacciHeap.model.algorithms.ModelPipeline;
+import fibonacciHeap.model.algorithms.ModelPipeline.Snapshot;
 
 /**
  * This class defines the visualization of Fibonacci Heap
@@ -23,7 +29,7 @@ import fibonacciHeap.controller.Controller;
  * @author Javier Corts Tejada
  *
  */
-public class View extends JFrame {
+public class View extends JFrame implements ModelPipeline.Listener {
 
 	/**
 	 * 
@@ -76,9 +82,14 @@ public class View extends JFrame {
 	private JTextArea heapVisualization;
 	
 	/**
-	 * Node information representation
+	 * Node information representation, expanded on demand
 	 */
-	private JTextArea nodeInformation;
+	private JTree nodeInformation;
+
+	/**
+	 * Model of the node information tree
+	 */
+	private HeapTreeModel nodeTreeModel;
 
 	/**
 	 * Heap operations
@@ -95,6 +106,11 @@ public class View extends JFrame {
 	 */
 	private Controller controller;
 
+	/**
+	 * Snapshot published by the model writer and not shown yet
+	 */
+	private final AtomicReference<Snapshot> pending = new AtomicReference<Snapshot>();
+
 	/**
 	 * Public constructor
 	 */
@@ -133,16 +149,12 @@ public class View extends JFrame {
 
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				disableComponents();
 				try {
-					controller.addNode(Integer.parseInt(inputNode.getText()));
-					consoleLog.append("\nInserted node with key = " + Integer.parseInt(inputNode.getText()));
-				} catch (Exception exception) {
+					submitted(controller.addNode(Integer.parseInt(inputNode.getText())));
+				} catch (NumberFormatException exception) {
 					consoleLog.append("\nInvalid input for Insert");
 				}
-				enableComponents();
 				resetInput();
-				repaintComponents();
 			}
 		});
 		this.removeMinNode = new Button("Remove min");
@@ -150,16 +162,8 @@ public class View extends JFrame {
 
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				disableComponents();
-				try {
-					controller.removeMinNode();
-					consoleLog.append("\nRemoved minimun node");
-				} catch (Exception exception) {
-					consoleLog.append("\nEmpty heap");
-				}
-				enableComponents();
+				submitted(controller.removeMinNode());
 				resetInput();
-				repaintComponents();
 			}
 		});
 		this.decreaseKeyNode = new Button("Decrease key");
@@ -167,19 +171,13 @@ public class View extends JFrame {
 
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				disableComponents();
 				try {
-					controller.decreseKeyNode(Integer.parseInt(inputNode.getText()),
-							Integer.parseInt(inputKey.getText()));
-					consoleLog.append("\nDecreased node " + Integer.parseInt(inputNode.getText()) + " to "
-							+ Integer.parseInt(inputKey.getText()));
-				} catch (Exception exception) {
+					submitted(controller.decreseKeyNode(Integer.parseInt(inputNode.getText()),
+							Integer.parseInt(inputKey.getText())));
+				} catch (NumberFormatException exception) {
 					consoleLog.append("\nInvalid input for Decrease key");
-
 				}
-				enableComponents();
 				resetInput();
-				repaintComponents();
 			}
 		});
 		this.clear = new Button("Clear");
@@ -187,12 +185,8 @@ public class View extends JFrame {
 
 			@Override
 			public void actionPerformed(ActionEvent e) {
-				disableComponents();
-				controller.clear();
-				enableComponents();
+				submitted(controller.clear());
 				resetInput();
-				consoleLog.setText("Console log:");
-				repaintComponents();
 			}
 		});
 		
@@ -221,9 +215,17 @@ public class View extends JFrame {
 		JScrollPane heapVisualizationScroll = new JScrollPane(heapVisualization);
 		verticalContainer.add(heapVisualizationScroll);
 
-		this.nodeInformation = new JTextArea();
-		this.generateTextPane(nodeInformation, "", 20, Color.BLACK);
-		this.nodeInformation.setPreferredSize(new Dimension(1000, 1000));
+		this.nodeInformation = new JTree((TreeModel) null) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public String convertValueToText(Object value, boolean selected, boolean expanded, boolean leaf, int row,
+					boolean hasFocus) {
+				return (value == null) ? "" : value.toString().trim();
+			}
+		};
+		this.nodeInformation.setFont(new Font("Monospaced", Font.PLAIN, 14));
 
 		JScrollPane nodeInformationScroll = new JScrollPane(nodeInformation);
 		verticalContainer.add(nodeInformationScroll);
@@ -259,23 +261,13 @@ public class View extends JFrame {
 	}
 
 	/**
-	 * Enable component after operations execution
+	 * Report an operation rejected because too many are pending
+	 * @param accepted whether the operation was queued
 	 */
-	private void enableComponents() {
-		addNode.setEnabled(true);
-		removeMinNode.setEnabled(true);
-		decreaseKeyNode.setEnabled(true);
-		clear.setEnabled(true);
-	}
-
-	/**
-	 * Disable component while operations execution
-	 */
-	private void disableComponents() {
-		addNode.setEnabled(false);
-		removeMinNode.setEnabled(false);
-		decreaseKeyNode.setEnabled(false);
-		clear.setEnabled(false);
+	private void submitted(boolean accepted) {
+		if (!accepted) {
+			consoleLog.append("\nBusy, operation discarded");
+		}
 	}
 
 	/**
@@ -306,12 +298,12 @@ public class View extends JFrame {
 
 	/**
 	 * Repaint application logs
+	 * @param snapshot last model snapshot
 	 */
-	private void repaintComponents() {
-		this.heapVisualization.setText(this.controller.getHeapInfo() + "\n");
-		this.nodeInformation.setText(this.controller.getNodesInfo() + "\n");
+	private void repaintComponents(Snapshot snapshot) {
+		this.heapVisualization.setText(snapshot.getHeapInfo() + "\n");
+		this.nodeTreeModel.refresh(snapshot.getSize());
 		this.heapVisualization.repaint();
-		this.nodeInformation.repaint();
 	}
 
 	/*
@@ -319,5 +311,58 @@ public class View extends JFrame {
 	 */
 	public void setController(Controller controller) {
 		this.controller = controller;
+		this.nodeTreeModel = new HeapTreeModel(controller);
+		this.nodeInformation.setModel(this.nodeTreeModel);
+		Snapshot snapshot = controller.getSnapshot();
+		if (snapshot != null) {
+			repaintComponents(snapshot);
+		}
+	}
+
+	/*
+	 * Called on the model writer thread, the log is updated on the event
+	 * dispatch thread
+	 */
+	@Override
+	public void operationCompleted(final int operation, final int key, final int newKey, final Exception error) {
+		SwingUtilities.invokeLater(new Runnable() {
+
+			@Override
+			public void run() {
+				switch (operation) {
+				case ModelPipeline.ADD:
+					consoleLog.append((error == null) ? "\nInserted node with key = " + key
+							: "\nInvalid input for Insert");
+					break;
+				case ModelPipeline.REMOVE_MIN:
+					consoleLog.append((error == null) ? "\nRemoved minimun node" : "\nEmpty heap");
+					break;
+				case ModelPipeline.DECREASE_KEY:
+					consoleLog.append((error == null) ? "\nDecreased node " + key + " to " + newKey
+							: "\nInvalid input for Decrease key");
+					break;
+				default:
+					consoleLog.setText("Console log:");
+				}
+			}
+		});
+	}
+
+	/*
+	 * Called on the model writer thread, only the latest snapshot is shown
+	 */
+	@Override
+	public void snapshotPublished(Snapshot snapshot) {
+		this.pending.set(snapshot);
+		SwingUtilities.invokeLater(new Runnable() {
+
+			@Override
+			public void run() {
+				Snapshot latest = pending.getAndSet(null);
+				if (latest != null && nodeTreeModel != null) {
+					repaintComponents(latest);
+				}
+			}
+		});
 	}
 }